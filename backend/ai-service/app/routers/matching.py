@@ -39,6 +39,7 @@ class SimpleMatchRequest(BaseModel):
     """Simple match request - just provide IDs, data is fetched automatically."""
     brand_id: str = Field(..., description="UUID of the brand intake request")
     athlete_ids: Optional[List[str]] = Field(None, description="List of athlete profile UUIDs. If not provided, matches against all athletes.")
+    candidate_ids: Optional[List[str]] = Field(None, description="Shortlist from the NIL API's in-process filtering and rule scoring. When set, only these roster athletes are considered.")
     campaign_requirements: Optional[Dict[str, Any]] = Field(None, description="Optional campaign-specific requirements")
     max_results: int = Field(10, description="Maximum number of matches to return", ge=1, le=50)
     use_hybrid: bool = Field(True, description="Use hybrid matching (rule-based filter + AI). Set to False for AI-only.")
@@ -190,8 +191,12 @@ async def find_athlete_matches_hybrid(request: SimpleMatchRequest):
         if request.athlete_ids:
             athletes_raw = await api_client.get_athlete_profiles(request.athlete_ids)
         else:
-            athletes_response = await api_client.get_all_athletes(size=500)  # Fetch more for filtering
-            athletes_raw = athletes_response.get("content", [])
+            # Compact rows for the whole roster, synced incrementally
+            athletes_raw = await api_client.get_athlete_roster()
+            if request.candidate_ids is not None:
+                # Already narrowed by the API's hard filters; the rule engine still applies them all
+                candidate_ids = set(request.candidate_ids)
+                athletes_raw = [a for a in athletes_raw if str(a.get("id", "")) in candidate_ids]
         
         logger.info(f"Fetched {len(athletes_raw) if athletes_raw else 0} athletes for brand {request.brand_id}")
         
@@ -239,7 +244,11 @@ async def find_athlete_matches_hybrid(request: SimpleMatchRequest):
         
         # Get original athlete data for the top candidates
         top_athlete_ids = {c.athlete_id for c in top_candidates}
-        top_athletes_raw = [a for a in athletes_raw if str(a.get("id", "")) in top_athlete_ids]
+        if request.athlete_ids:
+            top_athletes_raw = [a for a in athletes_raw if str(a.get("id", "")) in top_athlete_ids]
+        else:
+            # Roster rows are compact; Claude needs the full profiles
+            top_athletes_raw = await api_client.get_athlete_profiles(list(top_athlete_ids))
         
         # Format for Claude
         athletes_formatted = []
@@ -5,16 +5,25 @@ HTTP client for fetching athlete and brand data from the main Spring Boot API.
 This allows the AI service to retrieve full profiles using just IDs.
 """
 
+import asyncio
 import logging
 import json
 import re
-from typing import Dict, Any, Optional, List
+import time
+from typing import AsyncIterator, Dict, Any, Optional, List
 import httpx
 from app.config import get_settings
 
 logger = logging.getLogger(__name__)
 settings = get_settings()
 
+# Process-wide athlete roster, kept in sync through the NDJSON export endpoint
+ROSTER_FULL_SYNC_SECONDS = 3600
+_roster: Dict[str, Dict[str, Any]] = {}
+_roster_watermark: Optional[str] = None
+_roster_full_sync_at: float = 0.0
+_roster_lock = asyncio.Lock()
+
 
 class NILApiClient:
     """Client for interacting with the main NIL Platform API (Spring Boot)."""
@@ -127,6 +136,74 @@ class NILApiClient:
             logger.error(f"Request error fetching athletes: {e}")
             return {"content": [], "totalElements": 0}
 
+    async def stream_athlete_export(
+        self,
+        updated_since: Optional[str] = None
+    ) -> AsyncIterator[Dict[str, Any]]:
+        """
+        Stream compact athlete rows from the NDJSON export endpoint.
+
+        Args:
+            updated_since: Optional ISO-8601 instant; only athletes updated at or after it are returned
+
+        Yields:
+            One athlete row per line, ordered by updatedAt
+
+        Raises:
+            httpx.HTTPStatusError: if the export responds with an error status, so callers
+                never mistake a failed export for an empty roster
+        """
+        url = f"{self.base_url}/api/v1/athletes/export"
+        params = {"updatedSince": updated_since} if updated_since else {}
+
+        async with httpx.AsyncClient(timeout=self.timeout) as client:
+            async with client.stream("GET", url, params=params) as response:
+                response.raise_for_status()
+                async for line in response.aiter_lines():
+                    if line:
+                        yield json.loads(line)
+
+    async def get_athlete_roster(self) -> List[Dict[str, Any]]:
+        """
+        Return all active athletes as compact rows.
+
+        The roster is cached per process. Each call fetches only athletes updated or deleted
+        since the previous sync; a full resync runs every ROSTER_FULL_SYNC_SECONDS to correct
+        any drift. If the API is unreachable the last known roster is returned.
+
+        Returns:
+            List of compact athlete rows (fields used by the rule engine)
+        """
+        global _roster_watermark, _roster_full_sync_at
+
+        async with _roster_lock:
+            full_sync = time.monotonic() - _roster_full_sync_at > ROSTER_FULL_SYNC_SECONDS
+            since = None if full_sync else _roster_watermark
+            synced: Dict[str, Dict[str, Any]] = {} if full_sync else _roster
+            watermark = since
+
+            try:
+                async for row in self.stream_athlete_export(since):
+                    athlete_id = str(row.get("id", ""))
+                    if row.get("isActive") is False:
+                        synced.pop(athlete_id, None)
+                    else:
+                        synced[athlete_id] = row
+                    # Rows arrive in updatedAt order, so the last one is the new watermark
+                    watermark = row.get("updatedAt") or watermark
+            except (httpx.RequestError, httpx.HTTPStatusError, json.JSONDecodeError) as e:
+                logger.error(f"Athlete roster sync failed, serving cached roster: {e}")
+                return list(_roster.values())
+
+            if full_sync:
+                _roster.clear()
+                _roster.update(synced)
+                _roster_full_sync_at = time.monotonic()
+            _roster_watermark = watermark
+
+            logger.info(f"Athlete roster synced ({'full' if full_sync else 'incremental'}): {len(_roster)} athletes")
+            return list(_roster.values())
+
     async def get_brand_profile(self, brand_id: str) -> Optional[Dict[str, Any]]:
         """
         Fetch a brand profile by ID.
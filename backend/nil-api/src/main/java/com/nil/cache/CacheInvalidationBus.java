@@ -0,0 +1,77 @@
+package com.nil.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Broadcasts L1 cache invalidations to the other API nodes over Redis pub/sub.
+ *
+ * Message format: {@code <nodeId>|<cacheName>|<key>}, where a key of {@code *} clears the
+ * whole cache. Messages published by this node are ignored on receipt since the local L1
+ * was already updated.
+ */
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final String CLEAR_ALL = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private Function<String, TwoTierCache> cacheLookup = name -> null;
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    void bind(Function<String, TwoTierCache> cacheLookup) {
+        this.cacheLookup = cacheLookup;
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(cacheName + "|" + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(cacheName + "|" + CLEAR_ALL);
+    }
+
+    private void publish(String body) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "|" + body);
+        } catch (Exception e) {
+            // Other nodes fall back to their L1 TTL
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = cacheLookup.apply(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR_ALL.equals(parts[2])) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+        log.debug("Invalidated L1 {}:{} from node {}", parts[1], parts[2], parts[0]);
+    }
+}
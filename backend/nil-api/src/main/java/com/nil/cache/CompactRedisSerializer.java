@@ -0,0 +1,202 @@
+package com.nil.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis value serializer using binary Smile instead of JSON, with optional Deflate compression.
+ *
+ * Every payload starts with a 4 byte header: magic, schema version, flags and a type tag.
+ * Registered types are written without any type information in the body; other values fall
+ * back to Smile with embedded class names, like {@code GenericJackson2JsonRedisSerializer}.
+ *
+ * Payloads written with a different schema version (or by the old JSON serializer) read as
+ * a cache miss, so nodes on different versions can run side by side during a deploy and
+ * simply reload the entry. Corrupt payloads, or bodies that do not fit their type, are logged
+ * and read as a miss too, so a bad entry costs a reload rather than a failed request.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactRedisSerializer.class);
+
+    /**
+     * Bump when a registered type changes incompatibly (e.g. a field changes type).
+     * Added or removed fields do not need a bump.
+     */
+    public static final byte SCHEMA_VERSION = 1;
+
+    private static final byte MAGIC = (byte) 0xCE;
+    private static final int HEADER_SIZE = 4;
+    private static final byte FLAG_DEFLATE = 0x01;
+    private static final int GENERIC_TAG = 0;
+
+    private final ObjectMapper typedMapper;
+    private final ObjectMapper genericMapper;
+    private final int compressionThreshold;
+    private final Map<Class<?>, Integer> tagsByType = new HashMap<>();
+    private final Class<?>[] typesByTag = new Class<?>[256];
+
+    /**
+     * @param compressionThreshold body size in bytes above which the body is deflated; 0 or less disables compression
+     */
+    public CompactRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        this.typedMapper = newMapper();
+        this.genericMapper = newMapper();
+        this.genericMapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.EVERYTHING);
+    }
+
+    /**
+     * Register a type to be written with a one byte tag instead of its class name.
+     * Tags are part of the stored format and must never be reused for another type.
+     */
+    public CompactRedisSerializer register(int tag, Class<?> type) {
+        if (tag <= GENERIC_TAG || tag > 255) {
+            throw new IllegalArgumentException("Type tag must be between 1 and 255: " + tag);
+        }
+        if (typesByTag[tag] != null) {
+            throw new IllegalArgumentException("Type tag " + tag + " already registered for " + typesByTag[tag].getName());
+        }
+        typesByTag[tag] = type;
+        tagsByType.put(type, tag);
+        return this;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        Integer tag = tagsByType.get(value.getClass());
+        byte[] body;
+        try {
+            body = tag != null
+                    ? typedMapper.writeValueAsBytes(value)
+                    : genericMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + value.getClass().getName(), e);
+        }
+
+        byte flags = 0;
+        if (compressionThreshold > 0 && body.length > compressionThreshold) {
+            byte[] deflated = deflate(body);
+            if (deflated.length < body.length) {
+                body = deflated;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        byte[] payload = new byte[HEADER_SIZE + body.length];
+        payload[0] = MAGIC;
+        payload[1] = SCHEMA_VERSION;
+        payload[2] = flags;
+        payload[3] = (byte) (tag != null ? tag : GENERIC_TAG);
+        System.arraycopy(body, 0, payload, HEADER_SIZE, body.length);
+        return payload;
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC) {
+            // Written by the previous JSON serializer; treat as a miss and let the caller reload
+            log.debug("Ignoring cache payload without compact header");
+            return null;
+        }
+        if (bytes[1] != SCHEMA_VERSION) {
+            log.debug("Ignoring cache payload with schema version {}", bytes[1]);
+            return null;
+        }
+
+        int tag = bytes[3] & 0xFF;
+        Class<?> type = tag == GENERIC_TAG ? Object.class : typesByTag[tag];
+        if (type == null) {
+            log.debug("Ignoring cache payload with unknown type tag {}", tag);
+            return null;
+        }
+
+        byte[] body = Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length);
+        try {
+            if ((bytes[2] & FLAG_DEFLATE) != 0) {
+                body = inflate(body);
+            }
+            return tag == GENERIC_TAG
+                    ? genericMapper.readValue(body, Object.class)
+                    : typedMapper.readValue(body, type);
+        } catch (IOException | DataFormatException e) {
+            log.warn("Ignoring unreadable cache payload for {}: {}", type.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static ObjectMapper newMapper() {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        // Dates as epoch numbers are smaller than ISO strings
+        mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Lets an older node read entries written by a newer one with extra fields
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated compressed cache payload");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
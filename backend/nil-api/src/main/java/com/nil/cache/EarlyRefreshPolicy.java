@@ -0,0 +1,61 @@
+package com.nil.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Probabilistic early expiration ("XFetch") for one cache.
+ *
+ * For every key loaded on this node we remember how long the load took and when the entry
+ * expires. On each hit, {@link #shouldRefresh(String)} returns true with a probability that
+ * rises sharply as expiry approaches, scaled by the load time. One request then recomputes
+ * the entry ahead of time, and the other requests do not all miss together at expiry.
+ */
+final class EarlyRefreshPolicy {
+
+    private final double beta;
+    private final long ttlNanos;
+    private final Cache<String, LoadStats> stats;
+
+    /**
+     * @param ttl  lifetime of entries in the tier whose expiry causes the stampede
+     * @param beta values above 1 favour earlier refreshes, below 1 later ones
+     */
+    EarlyRefreshPolicy(Duration ttl, double beta, long maxSize) {
+        this.beta = beta;
+        this.ttlNanos = ttl.toNanos();
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    void recordLoad(String key, long loadNanos) {
+        stats.put(key, new LoadStats(loadNanos, System.nanoTime() + ttlNanos));
+    }
+
+    boolean shouldRefresh(String key) {
+        LoadStats s = stats.getIfPresent(key);
+        if (s == null) {
+            // Loaded by another node; we don't know its expiry
+            return false;
+        }
+        // -ln(u) for u in (0, 1] is an exponential sample with mean 1
+        double gap = s.loadNanos * beta * -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return System.nanoTime() + gap >= s.expiresAt;
+    }
+
+    void forget(String key) {
+        stats.invalidate(key);
+    }
+
+    void clear() {
+        stats.invalidateAll();
+    }
+
+    private record LoadStats(long loadNanos, long expiresAt) {
+    }
+}
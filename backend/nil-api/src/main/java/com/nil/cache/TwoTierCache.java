@@ -0,0 +1,228 @@
+package com.nil.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Cache with an in-process L1 in front of an optional shared L2 (Redis).
+ *
+ * Reads check L1, then L2 (promoting hits into L1), then the loader. Writes and evictions
+ * go to both tiers and are broadcast so other nodes drop their L1 copy of the key.
+ * Null values are never cached, matching the Redis configuration.
+ *
+ * {@link #get(Object, Callable)} (used by {@code @Cacheable(sync = true)}) coalesces
+ * concurrent misses for the same key on this node, so a single loader runs and the other
+ * callers wait for its result. With an {@link EarlyRefreshPolicy}, a hit may also reload
+ * the entry shortly before it expires.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    @Nullable
+    private final Cache remote;
+    @Nullable
+    private final CacheInvalidationBus invalidationBus;
+    @Nullable
+    private final EarlyRefreshPolicy earlyRefresh;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                        @Nullable Cache remote,
+                        @Nullable CacheInvalidationBus invalidationBus) {
+        this(name, local, remote, invalidationBus, null);
+    }
+
+    TwoTierCache(String name,
+                 com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                 @Nullable Cache remote,
+                 @Nullable CacheInvalidationBus invalidationBus,
+                 @Nullable EarlyRefreshPolicy earlyRefresh) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.earlyRefresh = earlyRefresh;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+        if (remote != null) {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                local.put(localKey, wrapper.get());
+                return wrapper.get();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object cached = lookup(key);
+        if (cached == null) {
+            return (T) load(key, localKey, valueLoader);
+        }
+        if (earlyRefresh != null && !inFlight.containsKey(localKey) && earlyRefresh.shouldRefresh(localKey)) {
+            // This caller reloads ahead of expiry; concurrent callers keep getting the cached value
+            log.debug("Early refresh of {}:{}", name, localKey);
+            try {
+                Object refreshed = load(key, localKey, valueLoader);
+                return (T) (refreshed != null ? refreshed : cached);
+            } catch (ValueRetrievalException e) {
+                log.warn("Early refresh of {}:{} failed, serving cached value: {}", name, localKey, e.getMessage());
+            }
+        }
+        return (T) cached;
+    }
+
+    /**
+     * Run the loader for a key at most once at a time on this node. Callers arriving while a
+     * load is in flight wait for it and share its result (or its failure).
+     */
+    @Nullable
+    private Object load(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, flight);
+        if (existing != null) {
+            return await(existing, key, valueLoader);
+        }
+        try {
+            long start = System.nanoTime();
+            Object value = valueLoader.call();
+            if (value != null) {
+                store(key, value);
+                if (earlyRefresh != null) {
+                    earlyRefresh.recordLoad(localKey, System.nanoTime() - start);
+                }
+            }
+            flight.complete(value);
+            return value;
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(localKey, flight);
+        }
+    }
+
+    @Nullable
+    private Object await(CompletableFuture<Object> flight, Object key, Callable<?> valueLoader) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (ExecutionException e) {
+            // Rethrow the loader's own exception so callers see the same error as the loading thread
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        store(key, value);
+        publishEvict(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (remote != null) {
+            remote.evict(key);
+        }
+        local.invalidate(localKey(key));
+        if (earlyRefresh != null) {
+            earlyRefresh.forget(localKey(key));
+        }
+        publishEvict(key);
+    }
+
+    @Override
+    public void clear() {
+        if (remote != null) {
+            remote.clear();
+        }
+        local.invalidateAll();
+        if (earlyRefresh != null) {
+            earlyRefresh.clear();
+        }
+        if (invalidationBus != null) {
+            invalidationBus.publishClear(name);
+        }
+    }
+
+    /**
+     * Drop a key from L1 only. Called when another node reports a change.
+     */
+    void evictLocal(String key) {
+        local.invalidate(key);
+        if (earlyRefresh != null) {
+            earlyRefresh.forget(key);
+        }
+    }
+
+    /**
+     * Drop all of L1 only. Called when another node clears the cache.
+     */
+    void clearLocal() {
+        local.invalidateAll();
+        if (earlyRefresh != null) {
+            earlyRefresh.clear();
+        }
+    }
+
+    private void store(Object key, Object value) {
+        if (remote != null) {
+            remote.put(key, value);
+        }
+        local.put(localKey(key), value);
+    }
+
+    private void publishEvict(Object key) {
+        if (invalidationBus != null) {
+            invalidationBus.publishEvict(name, localKey(key));
+        }
+    }
+
+    /**
+     * L1 keys use the same string form Redis uses, so invalidation messages can name them.
+     */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,95 @@
+package com.nil.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache manager combining a bounded in-process L1 (Caffeine) with an optional Redis L2.
+ *
+ * When Redis is disabled the L1 tier works on its own. When it is enabled, evictions on one
+ * node are propagated to the other nodes' L1 through a {@link CacheInvalidationBus}.
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final long localMaxSize;
+    private final Duration localTtl;
+    @Nullable
+    private final CacheManager remoteCacheManager;
+    @Nullable
+    private final CacheInvalidationBus invalidationBus;
+    private Duration remoteTtl;
+    private Set<String> earlyRefreshCaches = Set.of();
+    private double earlyRefreshBeta = 1.0;
+
+    public TwoTierCacheManager(long localMaxSize,
+                               Duration localTtl,
+                               @Nullable CacheManager remoteCacheManager,
+                               @Nullable CacheInvalidationBus invalidationBus) {
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.remoteTtl = localTtl;
+        if (invalidationBus != null) {
+            invalidationBus.bind(this::getTwoTierCache);
+        }
+    }
+
+    /**
+     * Lifetime of entries in the remote cache. Used as the expiry for early refresh.
+     */
+    public void setRemoteTtl(Duration remoteTtl) {
+        this.remoteTtl = remoteTtl;
+    }
+
+    /**
+     * Enable probabilistic early refresh for the named caches. Only applies to lookups that
+     * go through {@code Cache#get(key, loader)}, i.e. {@code @Cacheable(sync = true)}.
+     */
+    public void setEarlyRefresh(Collection<String> cacheNames, double beta) {
+        this.earlyRefreshCaches = Set.copyOf(cacheNames);
+        this.earlyRefreshBeta = beta;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        // Caches are created on first use
+        return List.of();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = remoteCacheManager != null ? remoteCacheManager.getCache(name) : null;
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        // The stampede happens when the shared tier expires; without one it is the L1 expiry
+        Duration expiry = remote != null ? remoteTtl : localTtl;
+        EarlyRefreshPolicy earlyRefresh = earlyRefreshCaches.contains(name)
+                ? new EarlyRefreshPolicy(expiry, earlyRefreshBeta, localMaxSize)
+                : null;
+        return new TwoTierCache(name, local, remote, invalidationBus, earlyRefresh);
+    }
+
+    /**
+     * Look up the undecorated cache, e.g. to apply an invalidation received from another node.
+     */
+    @Nullable
+    TwoTierCache getTwoTierCache(String name) {
+        Cache cache = lookupCache(name);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return cache instanceof TwoTierCache twoTier ? twoTier : null;
+    }
+}
@@ -1,9 +1,18 @@
 package com.nil.config;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nil.cache.CacheInvalidationBus;
+import com.nil.cache.CompactRedisSerializer;
+import com.nil.cache.TwoTierCacheManager;
+import com.nil.dto.AthleteProfileResponse;
+import com.nil.dto.BrandProfileResponse;
+import com.nil.dto.UserResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -13,11 +22,16 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @EnableCaching
@@ -43,33 +57,101 @@ public class RedisConfig {
         return template;
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = false)
+    public CacheInvalidationBus cacheInvalidationBus(
+            RedisConnectionFactory connectionFactory,
+            @Value("${cache.invalidation-channel:nil:cache:invalidate}") String channel) {
+        return new CacheInvalidationBus(new StringRedisTemplate(connectionFactory), channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = false)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.getChannel()));
+        return container;
+    }
+
+    /**
+     * Two-tier cache: bounded in-process L1 in front of Redis (L2).
+     * L1 entries are dropped on every node when a @CacheEvict fires anywhere.
+     */
     @Bean
     @Primary
     @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = false)
-    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager redisCacheManager(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${cache.local.max-size:10000}") long localMaxSize,
+            @Value("${cache.local.ttl:PT2M}") Duration localTtl,
+            @Value("${cache.redis.serializer:compact}") String serializer,
+            @Value("${cache.redis.compression-threshold:4096}") int compressionThreshold,
+            @Value("${cache.early-refresh.caches:athletes,brands}") List<String> earlyRefreshCaches,
+            @Value("${cache.early-refresh.beta:1.0}") double earlyRefreshBeta) {
+        Duration ttl = Duration.ofMinutes(10); // Default TTL: 10 minutes
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10)) // Default TTL: 10 minutes
+                .entryTtl(ttl)
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                        .fromSerializer(cacheValueSerializer(serializer, compressionThreshold)))
                 .disableCachingNullValues(); // Don't cache null values
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redis = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
-                .transactionAware()
                 .build();
+        redis.afterPropertiesSet();
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(
+                localMaxSize, localTtl, redis, cacheInvalidationBus);
+        cacheManager.setRemoteTtl(ttl);
+        cacheManager.setEarlyRefresh(earlyRefreshCaches, earlyRefreshBeta);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /**
+     * Value serializer for cached entries, selected by cache.redis.serializer.
+     * "compact" (default) writes binary Smile with a schema-version header; "json" keeps the
+     * previous GenericJackson2JsonRedisSerializer format, with java.time support added since
+     * the cached DTOs carry dates.
+     */
+    static RedisSerializer<Object> cacheValueSerializer(String serializer, int compressionThreshold) {
+        if ("json".equalsIgnoreCase(serializer)) {
+            ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+            mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+                    ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+            GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
+            return new GenericJackson2JsonRedisSerializer(mapper);
+        }
+        if (!"compact".equalsIgnoreCase(serializer)) {
+            throw new IllegalArgumentException("Unknown cache.redis.serializer: " + serializer);
+        }
+        // Tags are persisted in Redis: append new types, never renumber existing ones
+        return new CompactRedisSerializer(compressionThreshold)
+                .register(1, AthleteProfileResponse.class)
+                .register(2, BrandProfileResponse.class)
+                .register(3, UserResponse.class);
     }
 
     /**
      * Fallback cache manager when Redis is disabled.
-     * Uses NoOpCacheManager which does nothing (no caching, but doesn't fail).
+     * Only the in-process L1 tier is used, so each node caches independently.
      */
     @Bean
     @Primary
     @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "false", matchIfMissing = true)
-    public CacheManager noOpCacheManager() {
-        return new NoOpCacheManager();
+    public CacheManager localCacheManager(
+            @Value("${cache.local.max-size:10000}") long localMaxSize,
+            @Value("${cache.local.ttl:PT2M}") Duration localTtl,
+            @Value("${cache.early-refresh.caches:athletes,brands}") List<String> earlyRefreshCaches,
+            @Value("${cache.early-refresh.beta:1.0}") double earlyRefreshBeta) {
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(localMaxSize, localTtl, null, null);
+        cacheManager.setEarlyRefresh(earlyRefreshCaches, earlyRefreshBeta);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
     }
 }
-
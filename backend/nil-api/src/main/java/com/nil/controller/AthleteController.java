@@ -1,6 +1,11 @@
 package com.nil.controller;
 
 import com.nil.dto.*;
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.Sport;
+import com.nil.search.AthleteFacetIndex;
+import com.nil.search.TextSearchService;
+import com.nil.service.AthleteExportService;
 import com.nil.service.AthleteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,13 +14,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -28,9 +41,16 @@ import java.util.UUID;
 public class AthleteController {
 
     private final AthleteService athleteService;
+    private final AthleteExportService athleteExportService;
+    private final AthleteFacetIndex athleteFacetIndex;
+    private final TextSearchService textSearchService;
 
-    public AthleteController(AthleteService athleteService) {
+    public AthleteController(AthleteService athleteService, AthleteExportService athleteExportService,
+                             AthleteFacetIndex athleteFacetIndex, TextSearchService textSearchService) {
         this.athleteService = athleteService;
+        this.athleteExportService = athleteExportService;
+        this.athleteFacetIndex = athleteFacetIndex;
+        this.textSearchService = textSearchService;
     }
 
     // ============= Profile CRUD =============
@@ -79,6 +99,87 @@ public class AthleteController {
         return ResponseEntity.ok(profiles);
     }
 
+    @GetMapping("/cursor")
+    @Operation(
+        summary = "List athlete profiles with cursor pagination",
+        description = "Returns profiles in creation order without a total count. " +
+                "Pass nextCursor from the previous response as cursor to get the next page."
+    )
+    public ResponseEntity<CursorPage<AthleteProfileResponse>> listProfilesByCursor(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<AthleteProfileResponse> page = athleteService.getProfilesAfter(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Stream athlete export as NDJSON",
+        description = "Streams one compact JSON object per line for every athlete updated at or after " +
+                "updatedSince (all athletes if omitted), ordered by updatedAt. With updatedSince, athletes " +
+                "deleted since follow as rows with only id, isActive=false and updatedAt. Intended for bulk sync."
+    )
+    public ResponseEntity<StreamingResponseBody> exportProfiles(
+            @Parameter(description = "Only athletes updated at or after this ISO-8601 instant")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince) {
+
+        StreamingResponseBody body = out -> athleteExportService.exportNdjson(updatedSince, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // ============= Search =============
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Faceted athlete search",
+        description = "Returns a page of active athletes matching the filters, most complete profiles first, " +
+                "with the number of athletes per sport, conference, class year and completeness bucket. " +
+                "Repeat a filter parameter to match any of several values."
+    )
+    public ResponseEntity<AthleteFacetPage> searchProfiles(
+            @RequestParam(required = false) List<Sport> sport,
+            @RequestParam(required = false) List<Conference> conference,
+            @RequestParam(required = false) List<String> classYear,
+            @Parameter(description = "Minimum profile completeness score (0-100)") @RequestParam(required = false) Integer minCompleteness,
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        int pageSize = Math.max(1, Math.min(size, 100));
+        int pageNumber = Math.max(0, page);
+        AthleteFacetIndex.Filter filter = new AthleteFacetIndex.Filter(
+                toSet(sport), toSet(conference), toSet(classYear), minCompleteness);
+        Optional<AthleteFacetIndex.Result> result = athleteFacetIndex.search(filter, pageNumber, pageSize);
+        if (result.isEmpty()) {
+            // Index still loading at startup
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        AthleteFacetIndex.Result found = result.get();
+        return ResponseEntity.ok(AthleteFacetPage.builder()
+                .content(athleteService.getProfiles(found.ids()))
+                .page(pageNumber)
+                .size(pageSize)
+                .totalElements(found.total())
+                .totalPages((found.total() + pageSize - 1) / pageSize)
+                .facets(found.facets())
+                .build());
+    }
+
+    @GetMapping("/search/school")
+    @Operation(
+        summary = "Search athletes by school",
+        description = "Ranked, typeahead-friendly match on school name: schools starting with the text first, " +
+                "then schools with a word starting with it, then schools containing it or spelled similarly."
+    )
+    public ResponseEntity<List<SearchHit>> searchBySchool(
+            @Parameter(description = "School name or its beginning") @RequestParam String q,
+            @Parameter(description = "Maximum hits (default 10, max 50)") @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(textSearchService.searchAthletesBySchool(q, limit));
+    }
+
     @PutMapping("/{id}")
     @Operation(
         summary = "Update athlete profile",
@@ -161,6 +262,10 @@ public class AthleteController {
         return "temp-" + UUID.randomUUID().toString().substring(0, 8);
     }
 
+    private static <T> Set<T> toSet(List<T> values) {
+        return values == null || values.isEmpty() ? null : new HashSet<>(values);
+    }
+
     private String getCompletenessMessage(int score) {
         if (score >= 90) return "Excellent! Your profile is nearly complete.";
         if (score >= 80) return "Great job! Your profile is ready for brand matching.";
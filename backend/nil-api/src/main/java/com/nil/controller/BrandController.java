@@ -2,8 +2,11 @@ package com.nil.controller;
 
 import com.nil.dto.BrandProfileRequest;
 import com.nil.dto.BrandProfileResponse;
+import com.nil.dto.CursorPage;
+import com.nil.dto.SearchHit;
 import com.nil.dto.SocialAccountRequest;
 import com.nil.dto.SocialAccountResponse;
+import com.nil.search.TextSearchService;
 import com.nil.service.BrandService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +21,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -31,9 +35,11 @@ import java.util.UUID;
 public class BrandController {
 
     private final BrandService brandService;
+    private final TextSearchService textSearchService;
 
-    public BrandController(BrandService brandService) {
+    public BrandController(BrandService brandService, TextSearchService textSearchService) {
         this.brandService = brandService;
+        this.textSearchService = textSearchService;
     }
 
     // ============= Profile CRUD =============
@@ -82,6 +88,33 @@ public class BrandController {
         return ResponseEntity.ok(profiles);
     }
 
+    @GetMapping("/cursor")
+    @Operation(
+        summary = "List brand profiles with cursor pagination",
+        description = "Returns profiles in creation order without a total count. " +
+                "Pass nextCursor from the previous response as cursor to get the next page."
+    )
+    public ResponseEntity<CursorPage<BrandProfileResponse>> listProfilesByCursor(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<BrandProfileResponse> page = brandService.getProfilesAfter(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search brands by company name",
+        description = "Ranked, typeahead-friendly match on company name: names starting with the text first, " +
+                "then names with a word starting with it, then names containing it or spelled similarly."
+    )
+    public ResponseEntity<List<SearchHit>> searchByCompanyName(
+            @Parameter(description = "Company name or its beginning") @RequestParam String q,
+            @Parameter(description = "Maximum hits (default 10, max 50)") @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(textSearchService.searchBrandsByCompanyName(q, limit));
+    }
+
     @PutMapping("/{id}")
     @Operation(
         summary = "Update brand profile",
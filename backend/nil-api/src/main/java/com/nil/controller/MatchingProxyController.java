@@ -1,5 +1,19 @@
 package com.nil.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nil.dto.RuleMatchResponse;
+import com.nil.exception.AiServiceBusyException;
+import com.nil.exception.AiServiceCircuitOpenException;
+import com.nil.matching.BatchMatchJob;
+import com.nil.matching.MatchRequestCoalescer;
+import com.nil.matching.MatchResultCache;
+import com.nil.matching.RuleMatcher;
+import com.nil.service.AiCircuitBreaker;
+import com.nil.service.AiServiceClient;
+import com.nil.service.BrandMatchResultService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,9 +22,19 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 /**
  * Proxies matching requests to the FastAPI AI service.
@@ -18,6 +42,12 @@ import java.util.Map;
  * The frontend calls this endpoint with a Clerk JWT.
  * Spring Boot authenticates the request, then forwards it
  * to the internal AI service (which has no auth of its own).
+ * Proxied calls are asynchronous: the servlet thread is released while the
+ * AI service works, and the response is written when its reply arrives.
+ *
+ * Requests that match against the whole roster are first filtered and rule-scored
+ * in-process, so the AI service only evaluates a shortlist of the best candidates.
+ * Rule-only matching is answered here without calling the AI service.
  */
 @RestController
 @RequestMapping("/api/v1/matching")
@@ -27,87 +57,244 @@ public class MatchingProxyController {
 
     private static final Logger log = LoggerFactory.getLogger(MatchingProxyController.class);
 
-    private final RestTemplate restTemplate;
-    private final String aiServiceUrl;
+    private static final String FIND_HYBRID_PATH = "/api/v1/matching/find-hybrid";
+    private static final String FIND_LOCAL_PATH = "/api/v1/matching/find-local";
+    private static final String FALLBACK_HEADER = "X-Matching-Fallback";
+    private static final Duration DEFERRED_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+    private final AiServiceClient aiServiceClient;
+    private final AiCircuitBreaker circuitBreaker;
+    private final RuleMatcher ruleMatcher;
+    private final MatchResultCache matchResultCache;
+    private final MatchRequestCoalescer requestCoalescer;
+    private final BatchMatchJob batchMatchJob;
+    private final BrandMatchResultService brandMatchResultService;
+    private final ObjectMapper objectMapper;
+    private final boolean prefilterEnabled;
+    private final int shortlistSize;
+    private final boolean ruleFallbackEnabled;
+    private final Counter ruleFallbacks;
 
     public MatchingProxyController(
-            @Value("${ai.service.url}") String aiServiceUrl) {
-        this.restTemplate = new RestTemplate();
-        this.aiServiceUrl = aiServiceUrl;
+            AiServiceClient aiServiceClient,
+            AiCircuitBreaker circuitBreaker,
+            RuleMatcher ruleMatcher,
+            MatchResultCache matchResultCache,
+            MatchRequestCoalescer requestCoalescer,
+            BatchMatchJob batchMatchJob,
+            BrandMatchResultService brandMatchResultService,
+            ObjectMapper objectMapper,
+            @Value("${matching.prefilter.enabled:true}") boolean prefilterEnabled,
+            @Value("${matching.prefilter.shortlist-size:50}") int shortlistSize,
+            @Value("${matching.rule-fallback.enabled:true}") boolean ruleFallbackEnabled,
+            MeterRegistry meterRegistry) {
+        this.aiServiceClient = aiServiceClient;
+        this.circuitBreaker = circuitBreaker;
+        this.ruleMatcher = ruleMatcher;
+        this.matchResultCache = matchResultCache;
+        this.requestCoalescer = requestCoalescer;
+        this.batchMatchJob = batchMatchJob;
+        this.brandMatchResultService = brandMatchResultService;
+        this.objectMapper = objectMapper;
+        this.prefilterEnabled = prefilterEnabled;
+        this.shortlistSize = shortlistSize;
+        this.ruleFallbackEnabled = ruleFallbackEnabled;
+        this.ruleFallbacks = Counter.builder("matching.rule.fallback")
+                .description("Match requests answered by the rule engine while the AI service circuit was open")
+                .register(meterRegistry);
     }
 
     @PostMapping("/find")
     @Operation(summary = "Find matching athletes for a brand",
                description = "Proxies to AI service hybrid matching: rule-based filtering + Claude analysis")
-    public ResponseEntity<String> findMatches(@RequestBody String requestBody) {
-        String url = aiServiceUrl + "/api/v1/matching/find-hybrid";
-        log.info("Proxying match request to AI service: {}", url);
-
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url, HttpMethod.POST, entity, String.class);
+    public DeferredResult<ResponseEntity<String>> findMatches(@RequestBody String requestBody) {
+        Optional<String> cacheKey = matchResultCache.key("find-hybrid", requestBody);
+        Optional<String> cached = cacheKey.flatMap(matchResultCache::get);
+        if (cached.isPresent()) {
+            log.info("Serving match request from cache");
+            DeferredResult<ResponseEntity<String>> result = new DeferredResult<>();
+            result.setResult(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cached.get()));
+            return result;
+        }
 
-            return ResponseEntity.status(response.getStatusCode())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(response.getBody());
+        CompletableFuture<HttpResponse<String>> call = cacheKey
+                .map(key -> requestCoalescer.execute(key, () -> findHybrid(requestBody, cacheKey)))
+                .orElseGet(() -> findHybrid(requestBody, cacheKey));
+        return proxy(call, "AI service request failed", () -> ruleFallback(requestBody));
+    }
 
-        } catch (Exception e) {
-            log.error("AI service request failed: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body("{\"error\": \"AI service unavailable\", \"detail\": \""
-                            + e.getMessage().replace("\"", "'") + "\"}");
-        }
+    private CompletableFuture<HttpResponse<String>> findHybrid(String requestBody, Optional<String> cacheKey) {
+        log.info("Proxying match request to AI service: {}{}", aiServiceClient.getBaseUrl(), FIND_HYBRID_PATH);
+        String body = prefilterEnabled ? withCandidateIds(requestBody) : requestBody;
+        return aiServiceClient.postJson(FIND_HYBRID_PATH, body, "find-hybrid")
+                .thenApply(response -> {
+                    // Keyed by the roster version read before the call, so a write made meanwhile invalidates it
+                    if (response.statusCode() == HttpStatus.OK.value()) {
+                        cacheKey.ifPresent(key -> matchResultCache.put(key, response.body()));
+                    }
+                    return response;
+                });
     }
 
     @PostMapping("/find-local")
     @Operation(summary = "Find matching athletes using local LLM",
                description = "Proxies to AI service local matching (LM Studio)")
-    public ResponseEntity<String> findMatchesLocal(@RequestBody String requestBody) {
-        String url = aiServiceUrl + "/api/v1/matching/find-local";
-        log.info("Proxying local match request to AI service: {}", url);
+    public DeferredResult<ResponseEntity<String>> findMatchesLocal(@RequestBody String requestBody) {
+        log.info("Proxying local match request to AI service: {}{}", aiServiceClient.getBaseUrl(), FIND_LOCAL_PATH);
+        return proxy(aiServiceClient.postJson(FIND_LOCAL_PATH, requestBody, "find-local"), "AI service local request failed",
+                () -> ruleFallback(requestBody));
+    }
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+    /**
+     * Complete the response when the AI service call does, releasing the request thread
+     * in the meantime. The deferred result outlives the call's own timeout so the call's
+     * outcome is always what the client sees. While the circuit breaker is open the
+     * {@code fallback} answers instead, if it can.
+     */
+    private DeferredResult<ResponseEntity<String>> proxy(CompletableFuture<HttpResponse<String>> call, String failureMessage,
+                                                         Supplier<Optional<ResponseEntity<String>>> fallback) {
+        DeferredResult<ResponseEntity<String>> result =
+                new DeferredResult<>(aiServiceClient.getReadTimeout().plus(DEFERRED_TIMEOUT_MARGIN).toMillis());
+        call.whenComplete((response, error) -> {
+            if (error == null && response.statusCode() < 400) {
+                result.setResult(ResponseEntity.status(response.statusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(response.body()));
+            } else if (error == null) {
+                log.error("{}: {} {}", failureMessage, response.statusCode(), response.body());
+                result.setResult(errorResponse(HttpStatus.BAD_GATEWAY, "AI service unavailable",
+                        response.statusCode() + ": " + response.body()));
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof AiServiceCircuitOpenException) {
+                    result.setResult(fallback.get().orElseGet(() -> failureResponse(cause)));
+                    return;
+                }
+                log.error("{}: {}", failureMessage, cause.toString());
+                result.setResult(failureResponse(cause));
+            }
+        });
+        return result;
+    }
 
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url, HttpMethod.POST, entity, String.class);
+    private static ResponseEntity<String> failureResponse(Throwable cause) {
+        if (cause instanceof AiServiceBusyException) {
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "AI service busy", cause.getMessage());
+        }
+        if (cause instanceof AiServiceCircuitOpenException) {
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "AI service unavailable", cause.getMessage());
+        }
+        if (cause instanceof HttpTimeoutException) {
+            return errorResponse(HttpStatus.GATEWAY_TIMEOUT, "AI service timed out", cause.getMessage());
+        }
+        return errorResponse(HttpStatus.BAD_GATEWAY, "AI service unavailable", String.valueOf(cause.getMessage()));
+    }
 
-            return ResponseEntity.status(response.getStatusCode())
+    /**
+     * Rule-only results for a proxied request, marked with the {@value #FALLBACK_HEADER} header.
+     * Empty if disabled or the rules cannot answer (index loading, unknown brand).
+     */
+    private Optional<ResponseEntity<String>> ruleFallback(String requestBody) {
+        if (!ruleFallbackEnabled) {
+            return Optional.empty();
+        }
+        try {
+            Map<String, Object> request = objectMapper.readValue(requestBody, new TypeReference<Map<String, Object>>() {});
+            Optional<RuleMatchResponse> response = ruleMatcher.match(request);
+            if (response.isEmpty()) {
+                return Optional.empty();
+            }
+            ruleFallbacks.increment();
+            log.info("AI service circuit open, answering with rule-based matches");
+            return Optional.of(ResponseEntity.ok()
+                    .header(FALLBACK_HEADER, "rules")
                     .contentType(MediaType.APPLICATION_JSON)
-                    .body(response.getBody());
-
+                    .body(objectMapper.writeValueAsString(response.get())));
         } catch (Exception e) {
-            log.error("AI service local request failed: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body("{\"error\": \"AI service unavailable\", \"detail\": \""
-                            + e.getMessage().replace("\"", "'") + "\"}");
+            log.warn("Rule-based fallback failed: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
-    @GetMapping("/health")
-    @Operation(summary = "Check AI service health")
-    public ResponseEntity<Map<String, Object>> aiHealth() {
+    private static ResponseEntity<String> errorResponse(HttpStatus status, String error, String detail) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"error\": \"" + error + "\", \"detail\": \""
+                        + String.valueOf(detail).replace("\"", "'") + "\"}");
+    }
+
+    @PostMapping("/find-rules")
+    @Operation(summary = "Find matching athletes using rule-based scoring only",
+               description = "Filters and scores athletes in-process with the same rules as the AI service, without Claude analysis")
+    public ResponseEntity<RuleMatchResponse> findMatchesByRules(@RequestBody Map<String, Object> request) {
+        return ruleMatcher.match(request)
+                .map(ResponseEntity::ok)
+                // Index still loading
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Re-match all active brands now",
+               description = "Starts the batch matching job in the background; it also runs nightly")
+    public ResponseEntity<Map<String, Object>> runBatchMatching() {
+        if (!batchMatchJob.trigger()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("status", "RUNNING"));
+        }
+        return ResponseEntity.accepted().body(Map.of("status", "STARTED"));
+    }
+
+    @GetMapping("/brands/{brandId}/results")
+    @Operation(summary = "Get a brand's stored batch match results",
+               description = "Rule-based matches from the latest batch matching run, best first")
+    public ResponseEntity<RuleMatchResponse> getBatchResults(@PathVariable UUID brandId) {
+        return ResponseEntity.ok(brandMatchResultService.getResults(brandId));
+    }
+
+    /**
+     * Add the rule-scored shortlist as {@code candidate_ids} to a request that has no
+     * explicit {@code athlete_ids}. Any failure forwards the request unchanged and leaves
+     * all filtering to the AI service.
+     */
+    private String withCandidateIds(String requestBody) {
         try {
-            ResponseEntity<String> response = restTemplate.getForEntity(
-                    aiServiceUrl + "/api/v1/health", String.class);
-
-            return ResponseEntity.ok(Map.of(
-                    "status", "UP",
-                    "ai_service_url", aiServiceUrl,
-                    "ai_service_status", response.getStatusCode().value()
-            ));
+            Map<String, Object> request = objectMapper.readValue(requestBody, new TypeReference<Map<String, Object>>() {});
+            if (request.get("athlete_ids") instanceof Collection<?> ids && !ids.isEmpty()) {
+                return requestBody;
+            }
+            Optional<List<UUID>> candidates = ruleMatcher.shortlist(request, shortlistSize);
+            if (candidates.isEmpty()) {
+                return requestBody;
+            }
+            request.put("candidate_ids", candidates.get().stream().map(UUID::toString).toList());
+            return objectMapper.writeValueAsString(request);
         } catch (Exception e) {
-            return ResponseEntity.ok(Map.of(
-                    "status", "DOWN",
-                    "ai_service_url", aiServiceUrl,
-                    "error", e.getMessage()
-            ));
+            log.warn("Skipping candidate pre-filter: {}", e.getMessage());
+            return requestBody;
         }
     }
+
+    @GetMapping("/health")
+    @Operation(summary = "Check AI service health")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> aiHealth() {
+        String url = aiServiceClient.getBaseUrl();
+        String circuit = circuitBreaker.getState().name();
+        return aiServiceClient.checkHealth()
+                .handle((response, error) -> {
+                    if (error == null && AiServiceClient.isHealthy(response)) {
+                        return ResponseEntity.ok(Map.<String, Object>of(
+                                "status", "UP",
+                                "ai_service_url", url,
+                                "ai_service_status", response.statusCode(),
+                                "circuit", circuit
+                        ));
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    return ResponseEntity.ok(Map.<String, Object>of(
+                            "status", "DOWN",
+                            "ai_service_url", url,
+                            "error", cause != null ? String.valueOf(cause.getMessage()) : "HTTP " + response.statusCode(),
+                            "circuit", circuit
+                    ));
+                });
+    }
 }
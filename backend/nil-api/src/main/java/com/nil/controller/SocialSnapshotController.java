@@ -0,0 +1,78 @@
+package com.nil.controller;
+
+import com.nil.dto.CurrentSocialMetrics;
+import com.nil.dto.SocialMetricSeries;
+import com.nil.dto.SocialSnapshotRequest;
+import com.nil.entity.enums.MetricResolution;
+import com.nil.service.SocialSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST Controller for social account snapshots and metric history.
+ */
+@RestController
+@RequestMapping("/api/v1/athletes/{profileId}/socials")
+@Tag(name = "Social Metrics", description = "Social account snapshot and metric history endpoints")
+public class SocialSnapshotController {
+
+    private final SocialSnapshotService socialSnapshotService;
+
+    public SocialSnapshotController(SocialSnapshotService socialSnapshotService) {
+        this.socialSnapshotService = socialSnapshotService;
+    }
+
+    @PostMapping("/{socialId}/snapshots")
+    @Operation(
+        summary = "Record social snapshot",
+        description = "Stores point-in-time metrics for the social account and updates its daily and weekly rollups"
+    )
+    @SecurityRequirement(name = "bearer-jwt")
+    public ResponseEntity<Map<String, Object>> recordSnapshot(
+            @Parameter(description = "Profile ID") @PathVariable UUID profileId,
+            @Parameter(description = "Social Account ID") @PathVariable UUID socialId,
+            @RequestBody SocialSnapshotRequest request) {
+
+        UUID id = socialSnapshotService.recordSnapshot(profileId, socialId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", id));
+    }
+
+    @GetMapping("/current-metrics")
+    @Operation(
+        summary = "Get current social metrics",
+        description = "Returns the metrics of the latest snapshot of each of the athlete's social accounts"
+    )
+    public ResponseEntity<List<CurrentSocialMetrics>> getCurrentMetrics(
+            @Parameter(description = "Profile ID") @PathVariable UUID profileId) {
+
+        return ResponseEntity.ok(socialSnapshotService.getCurrentMetrics(profileId));
+    }
+
+    @GetMapping("/{socialId}/metrics")
+    @Operation(
+        summary = "Get social metric history",
+        description = "Returns the account's metrics between from and to (default: the last 30 days). " +
+                "Without a resolution, short recent ranges return every snapshot, ranges up to 180 days " +
+                "one point per day, and longer ranges one point per week."
+    )
+    public ResponseEntity<SocialMetricSeries> getMetrics(
+            @Parameter(description = "Profile ID") @PathVariable UUID profileId,
+            @Parameter(description = "Social Account ID") @PathVariable UUID socialId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "RAW, DAY or WEEK") @RequestParam(required = false) MetricResolution resolution) {
+
+        return ResponseEntity.ok(socialSnapshotService.getSeries(profileId, socialId, from, to, resolution));
+    }
+}
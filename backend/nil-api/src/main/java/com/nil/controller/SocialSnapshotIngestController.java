@@ -0,0 +1,41 @@
+package com.nil.controller;
+
+import com.nil.dto.SnapshotIngestReport;
+import com.nil.service.SocialSnapshotIngestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST Controller for bulk social snapshot ingestion by the metrics collector.
+ */
+@RestController
+@RequestMapping("/api/v1/socials/snapshots")
+@Tag(name = "Social Metrics", description = "Social account snapshot and metric history endpoints")
+public class SocialSnapshotIngestController {
+
+    private final SocialSnapshotIngestService ingestService;
+
+    public SocialSnapshotIngestController(SocialSnapshotIngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Bulk ingest social snapshots",
+        description = "Accepts one snapshot JSON object with a socialAccountId per line and stores them in batches. " +
+                "Snapshots repeating a (socialAccountId, snapshotTimestamp) pair already stored or earlier in the " +
+                "same batch are counted as duplicates, so a failed upload can be resent. Returns counts and " +
+                "throughput per batch."
+    )
+    public ResponseEntity<SnapshotIngestReport> ingest(InputStream body) throws IOException {
+        return ResponseEntity.ok(ingestService.ingestNdjson(body));
+    }
+}
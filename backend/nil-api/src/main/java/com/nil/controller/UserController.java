@@ -6,6 +6,7 @@ import com.nil.exception.ResourceNotFoundException;
 import com.nil.repository.AthleteProfileRepository;
 import com.nil.repository.BrandProfileRepository;
 import com.nil.service.ClerkUserService;
+import com.nil.service.UserSyncQueue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,11 +36,13 @@ public class UserController {
     private final ClerkUserService clerkUserService;
     private final AthleteProfileRepository athleteProfileRepository;
     private final BrandProfileRepository brandProfileRepository;
+    private final UserSyncQueue userSyncQueue;
 
-    public UserController(ClerkUserService clerkUserService, AthleteProfileRepository athleteProfileRepository, BrandProfileRepository brandProfileRepository) {
+    public UserController(ClerkUserService clerkUserService, AthleteProfileRepository athleteProfileRepository, BrandProfileRepository brandProfileRepository, UserSyncQueue userSyncQueue) {
         this.clerkUserService = clerkUserService;
         this.athleteProfileRepository = athleteProfileRepository;
         this.brandProfileRepository = brandProfileRepository;
+        this.userSyncQueue = userSyncQueue;
     }
 
     @GetMapping("/me")
@@ -53,8 +56,8 @@ public class UserController {
             String clerkId = getAuthenticatedClerkId();
             log.info("Getting user data for clerkId: {}", clerkId);
             
-            // Try to get user, or sync if they don't exist
-            User user = clerkUserService.getUserByClerkId(clerkId)
+            // Try to get user once any queued sync for them has landed, or sync if they don't exist
+            User user = userSyncQueue.findUser(clerkId)
                     .orElseGet(() -> {
                         log.warn("User not found for clerkId: {}, attempting to sync", clerkId);
                         // Get email from authentication details if available
@@ -0,0 +1,62 @@
+package com.nil.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.SocialPlatform;
+import com.nil.entity.enums.Sport;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact athlete row for the NDJSON export consumed by the AI matching service.
+ * Limited to the fields its rule engine reads; field names match AthleteProfileResponse.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AthleteExportRow {
+
+    private UUID id;
+    private String fullName;
+    private Sport sport;
+    private String position;
+    private String schoolName;
+    private Conference conference;
+    private String hometown;
+    private String state;
+    private LocalDate dateOfBirth;
+    private String gender;
+
+    // Social reach
+    private Double engagementRate; // Follower-weighted across accounts
+    private List<SocialMetric> socialAccounts;
+
+    // Preferences
+    private List<String> interestTags;
+    private List<String> excludedCategories;
+    private Double minimumDealValue;
+
+    // Status, so incremental consumers can drop deactivated athletes
+    private Boolean isActive;
+    private Boolean isAcceptingDeals;
+    private Instant updatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SocialMetric {
+        private SocialPlatform platform;
+        private Long followerCount;
+    }
+}
@@ -0,0 +1,27 @@
+package com.nil.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a faceted athlete search with the counts for every facet.
+ * Facets are keyed by name (sport, conference, classYear, completeness), then by value;
+ * each facet's counts apply all the other filters but not its own.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AthleteFacetPage {
+    private List<AthleteProfileResponse> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -1,8 +1,10 @@
 package com.nil.dto;
 
 import com.nil.entity.enums.MediaType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -12,6 +14,8 @@ import java.util.UUID;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class AthleteMediaResponse {
     
     private UUID id;
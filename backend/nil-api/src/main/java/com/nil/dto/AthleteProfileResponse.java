@@ -2,8 +2,10 @@ package com.nil.dto;
 
 import com.nil.entity.enums.Conference;
 import com.nil.entity.enums.Sport;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -16,6 +18,8 @@ import java.util.UUID;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class AthleteProfileResponse {
     
     private UUID id;
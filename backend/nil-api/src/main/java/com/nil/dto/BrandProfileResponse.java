@@ -1,8 +1,10 @@
 package com.nil.dto;
 
 import com.nil.entity.enums.BrandCategory;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.util.List;
@@ -13,6 +15,8 @@ import java.util.UUID;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class BrandProfileResponse {
     
     private UUID id;
@@ -0,0 +1,34 @@
+package com.nil.dto;
+
+import com.nil.entity.enums.SocialPlatform;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Metrics of a social account's latest snapshot.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrentSocialMetrics {
+
+    private UUID socialAccountId;
+    private SocialPlatform platform;
+    private UUID snapshotId;
+    private Instant snapshotTimestamp;
+    private Long followers;
+    private Long following;
+    private Long postsCount;
+    private Double engagementRate;
+    private Long avgLikes;
+    private Long avgComments;
+    private Long avgViews;
+    private Long avgShares;
+    private Long avgSaves;
+}
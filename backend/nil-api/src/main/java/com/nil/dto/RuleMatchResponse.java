@@ -0,0 +1,42 @@
+package com.nil.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result of rule-only matching, answered in-process without the AI service.
+ * Mirrors the AI service's hybrid match response without the AI fields.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleMatchResponse {
+
+    private UUID brandId;
+    private String brandName;
+    private int totalCandidates;
+    private int passedFilters;
+    private int totalMatches;
+    private List<Match> matches;
+    private Instant generatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Match {
+        private UUID athleteId;
+        private String athleteName;
+        private double matchScore; // 0-100
+        private long estimatedReach; // Total followers
+        private Map<String, Double> componentScores;
+    }
+}
@@ -0,0 +1,22 @@
+package com.nil.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One ranked result of a name search (athlete school or brand company name).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    private UUID id;
+    private String matched; // The school or company name that matched
+    private String label; // Athlete name, or the company name for brands
+    private double score; // Higher is better: 3 prefix, 2 word prefix, 1 substring, plus trigram similarity
+}
@@ -0,0 +1,42 @@
+package com.nil.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk snapshot upload: totals, per-batch counts and throughput, and the first
+ * rejected lines.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotIngestReport {
+
+    private int lines;
+    private int inserted;
+    private int duplicates; // Repeated within the upload or already stored
+    private int rejected;   // Unparseable, missing the social account ID, or for an unknown account
+    private long durationMs;
+    private double rowsPerSecond;
+    private List<Batch> batches;
+    private List<String> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Batch {
+        private int batch;
+        private int lines;
+        private int inserted;
+        private int duplicates;
+        private int rejected;
+        private long durationMs;
+        private double rowsPerSecond;
+    }
+}
@@ -0,0 +1,49 @@
+package com.nil.dto;
+
+import com.nil.entity.enums.MetricResolution;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Metrics of one social account over a time range, at the resolution chosen for the range.
+ * RAW points are single snapshots; DAY and WEEK points aggregate every snapshot in the bucket.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SocialMetricSeries {
+
+    private UUID socialAccountId;
+    private MetricResolution resolution;
+    private Instant from;
+    private Instant to;
+    private List<Point> points;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private Instant timestamp; // Snapshot time, or bucket start
+        private int samples;
+        private Long followers; // Last value in the bucket
+        private Long followersMin;
+        private Long followersMax;
+        private Long following;
+        private Long postsCount;
+        // Means over the bucket's snapshots
+        private Double engagementRate;
+        private Double avgLikes;
+        private Double avgComments;
+        private Double avgViews;
+        private Double avgShares;
+        private Double avgSaves;
+    }
+}
@@ -0,0 +1,39 @@
+package com.nil.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Request DTO for recording a point-in-time snapshot of a social account's metrics.
+ */
+@Data
+public class SocialSnapshotRequest {
+
+    private UUID socialAccountId; // Bulk ingest only; the single snapshot endpoint takes it from the path
+    private Instant snapshotTimestamp; // Defaults to now
+
+    private Long followers;
+    private Long following;
+    private Long postsCount;
+
+    private Double engagementRate;
+    private Long avgLikes;
+    private Long avgComments;
+    private Long avgViews;
+    private Long avgShares;
+    private Long avgSaves;
+    private Double postingFrequency;
+
+    // Audience and content details, stored as JSON
+    private JsonNode audienceAgeDistribution;
+    private JsonNode audienceGenderDistribution;
+    private JsonNode audienceTopLocations;
+    private JsonNode audienceTopCountries;
+    private JsonNode topContent;
+
+    private String source; // API, MANUAL, SCRAPE
+    private JsonNode rawData;
+}
@@ -18,7 +18,9 @@ import java.util.List;
     @Index(name = "idx_athlete_user", columnList = "user_id"),
     @Index(name = "idx_athlete_school", columnList = "school"),
     @Index(name = "idx_athlete_sport", columnList = "sport"),
-    @Index(name = "idx_athlete_conference", columnList = "conference")
+    @Index(name = "idx_athlete_conference", columnList = "conference"),
+    @Index(name = "idx_athlete_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_athlete_updated_id", columnList = "updated_at, id")
 })
 @Getter
 @Setter
@@ -0,0 +1,88 @@
+package com.nil.entity;
+
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.Sport;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Athlete Read Model - Denormalized copy of an athlete profile for reads.
+ *
+ * Holds the fully assembled profile response (profile, user, social accounts and media) as
+ * JSON, plus the columns athletes are filtered on. Rewritten in the same transaction as
+ * every athlete write, so reading a profile is a single primary-key lookup.
+ */
+@Entity
+@Table(name = "athlete_read_model", indexes = {
+    @Index(name = "idx_read_model_clerk", columnList = "clerk_id"),
+    @Index(name = "idx_read_model_sport", columnList = "sport"),
+    @Index(name = "idx_read_model_conference", columnList = "conference"),
+    @Index(name = "idx_read_model_class_year", columnList = "class_year")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AthleteReadModel {
+
+    /**
+     * Same as the athlete profile ID.
+     */
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "clerk_id", length = 100)
+    private String clerkId;
+
+    // ==================== Filterable Columns ====================
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "sport", length = 50)
+    private Sport sport;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "conference", length = 50)
+    private Conference conference;
+
+    @Column(name = "class_year", length = 20)
+    private String classYear;
+
+    @Column(name = "school", length = 200)
+    private String school;
+
+    @Column(name = "gender", length = 20)
+    private String gender;
+
+    @Column(name = "completeness_score")
+    private Integer completenessScore;
+
+    @Column(name = "total_followers")
+    private Long totalFollowers;
+
+    @Column(name = "is_verified")
+    private Boolean isVerified;
+
+    @Column(name = "is_active")
+    private Boolean isActive;
+
+    @Column(name = "is_accepting_deals")
+    private Boolean isAcceptingDeals;
+
+    // ==================== Response ====================
+
+    /**
+     * Serialized AthleteProfileResponse.
+     */
+    @Column(name = "response_json", columnDefinition = "TEXT", nullable = false)
+    private String responseJson;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private Instant refreshedAt;
+}
@@ -4,8 +4,10 @@ import com.nil.entity.enums.SocialPlatform;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Athlete Social Account - Connected social media platforms.
@@ -79,6 +81,15 @@ public class AthleteSocialAccount extends BaseEntity {
     @Column(name = "avg_views")
     private Long avgViews; // For video platforms
 
+    /**
+     * Most recent snapshot by timestamp, maintained on ingest; the metrics above are copied from it.
+     */
+    @Column(name = "latest_snapshot_id")
+    private UUID latestSnapshotId;
+
+    @Column(name = "latest_snapshot_at")
+    private Instant latestSnapshotAt;
+
     // ==================== Snapshots ====================
     
     @OneToMany(mappedBy = "socialAccount", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
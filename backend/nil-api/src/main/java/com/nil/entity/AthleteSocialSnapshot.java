@@ -1,5 +1,7 @@
 package com.nil.entity;
 
+import com.nil.entity.converter.CompressedJson;
+import com.nil.entity.converter.CompressedJsonConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,10 +14,14 @@ import java.time.Instant;
  * - Captures "point in time" metrics for deals
  * - Enables tracking growth over time
  * - Required for accurate ML training data
+ *
+ * Raw data, audience age and location distributions and top content are stored compressed
+ * (see {@link com.nil.entity.converter.SnapshotJsonCodec}). An account has at most one
+ * snapshot per timestamp, so retried writes cannot be counted twice.
  */
 @Entity
 @Table(name = "athlete_social_snapshots", indexes = {
-    @Index(name = "idx_snapshot_account", columnList = "social_account_id"),
+    @Index(name = "uk_snapshot_account_timestamp", columnList = "social_account_id, snapshot_timestamp", unique = true),
     @Index(name = "idx_snapshot_timestamp", columnList = "snapshot_timestamp")
 })
 @Getter
@@ -70,7 +76,8 @@ public class AthleteSocialSnapshot extends BaseEntity {
      * Example: {"13-17": 5, "18-24": 45, "25-34": 35, "35-44": 10, "45+": 5}
      */
     @Column(name = "audience_age_distribution", columnDefinition = "TEXT")
-    private String audienceAgeDistribution;
+    @Convert(converter = CompressedJsonConverter.class)
+    private CompressedJson audienceAgeDistribution;
 
     /**
      * Audience gender distribution as JSON.
@@ -84,7 +91,8 @@ public class AthleteSocialSnapshot extends BaseEntity {
      * Example: [{"city": "New York", "percentage": 15}, {"city": "Los Angeles", "percentage": 12}]
      */
     @Column(name = "audience_top_locations", columnDefinition = "TEXT")
-    private String audienceTopLocations;
+    @Convert(converter = CompressedJsonConverter.class)
+    private CompressedJson audienceTopLocations;
 
     /**
      * Top audience countries as JSON.
@@ -98,7 +106,8 @@ public class AthleteSocialSnapshot extends BaseEntity {
      * Top performing content IDs/URLs as JSON.
      */
     @Column(name = "top_content", columnDefinition = "TEXT")
-    private String topContent;
+    @Convert(converter = CompressedJsonConverter.class)
+    private CompressedJson topContent;
 
     /**
      * Posting frequency (posts per week).
@@ -118,6 +127,69 @@ public class AthleteSocialSnapshot extends BaseEntity {
      * Raw API response for debugging/auditing.
      */
     @Column(name = "raw_data", columnDefinition = "TEXT")
-    private String rawData;
+    @Convert(converter = CompressedJsonConverter.class)
+    private CompressedJson rawData;
+
+    // ==================== Compressed JSON Accessors ====================
+    // The large JSON columns are stored compressed and only decompressed when read here
+
+    public String getAudienceAgeDistribution() {
+        return json(audienceAgeDistribution);
+    }
+
+    public void setAudienceAgeDistribution(String json) {
+        this.audienceAgeDistribution = CompressedJson.of(json);
+    }
+
+    public String getAudienceTopLocations() {
+        return json(audienceTopLocations);
+    }
+
+    public void setAudienceTopLocations(String json) {
+        this.audienceTopLocations = CompressedJson.of(json);
+    }
+
+    public String getTopContent() {
+        return json(topContent);
+    }
+
+    public void setTopContent(String json) {
+        this.topContent = CompressedJson.of(json);
+    }
+
+    public String getRawData() {
+        return json(rawData);
+    }
+
+    public void setRawData(String json) {
+        this.rawData = CompressedJson.of(json);
+    }
+
+    private static String json(CompressedJson value) {
+        return value != null ? value.json() : null;
+    }
+
+    public static class AthleteSocialSnapshotBuilder {
+
+        public AthleteSocialSnapshotBuilder audienceAgeDistribution(String json) {
+            this.audienceAgeDistribution = CompressedJson.of(json);
+            return this;
+        }
+
+        public AthleteSocialSnapshotBuilder audienceTopLocations(String json) {
+            this.audienceTopLocations = CompressedJson.of(json);
+            return this;
+        }
+
+        public AthleteSocialSnapshotBuilder topContent(String json) {
+            this.topContent = CompressedJson.of(json);
+            return this;
+        }
+
+        public AthleteSocialSnapshotBuilder rawData(String json) {
+            this.rawData = CompressedJson.of(json);
+            return this;
+        }
+    }
 }
 
@@ -0,0 +1,36 @@
+package com.nil.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Athlete Tombstone - Marker left by a hard-deleted athlete profile.
+ *
+ * Incremental exports emit each tombstone newer than the caller's watermark as an inactive
+ * row, so consumers syncing by {@code updated_at} drop the athlete without a full resync.
+ * Purged by retention once every consumer has done a full sync since.
+ */
+@Entity
+@Table(name = "athlete_tombstones", indexes = {
+    @Index(name = "idx_athlete_tombstone_deleted_id", columnList = "deleted_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AthleteTombstone {
+
+    /**
+     * ID of the deleted athlete profile.
+     */
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,79 @@
+package com.nil.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Brand Match Result - One ranked athlete from the nightly batch matching run.
+ *
+ * Rows are replaced wholesale by each run, so a brand's dashboard can read its latest
+ * rule-based matches without calling the AI service.
+ */
+@Entity
+@Table(name = "brand_match_results", indexes = {
+    @Index(name = "idx_match_result_brand_rank", columnList = "brand_id, match_rank"),
+    @Index(name = "idx_match_result_run", columnList = "run_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BrandMatchResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Batch run that produced this row; rows from earlier runs are deleted when a run commits.
+     */
+    @Column(name = "run_id", nullable = false)
+    private UUID runId;
+
+    @Column(name = "brand_id", nullable = false)
+    private UUID brandId;
+
+    @Column(name = "brand_name", length = 255)
+    private String brandName;
+
+    @Column(name = "athlete_id", nullable = false)
+    private UUID athleteId;
+
+    @Column(name = "athlete_name", length = 255)
+    private String athleteName;
+
+    /**
+     * Position in the brand's ranking, starting at 1.
+     */
+    @Column(name = "match_rank", nullable = false)
+    private Integer rank;
+
+    @Column(name = "match_score", nullable = false)
+    private Double matchScore;
+
+    @Column(name = "estimated_reach")
+    private Long estimatedReach;
+
+    /**
+     * Per-component scores as JSON.
+     * Example: {"sport_match": 25.0, "follower_reach": 15.0, ...}
+     */
+    @Column(name = "component_scores", columnDefinition = "TEXT")
+    private String componentScores;
+
+    /**
+     * Roster size and athletes passing the brand's hard filters when the run scored it.
+     */
+    @Column(name = "total_candidates")
+    private Integer totalCandidates;
+
+    @Column(name = "passed_filters")
+    private Integer passedFilters;
+
+    @Column(name = "generated_at", nullable = false)
+    private Instant generatedAt;
+}
@@ -16,7 +16,8 @@ import java.util.UUID;
 @Table(name = "brand_profiles", indexes = {
     @Index(name = "idx_brand_user", columnList = "user_id"),
     @Index(name = "idx_brand_company", columnList = "company_name"),
-    @Index(name = "idx_brand_industry", columnList = "industry")
+    @Index(name = "idx_brand_industry", columnList = "industry"),
+    @Index(name = "idx_brand_created_id", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -0,0 +1,61 @@
+package com.nil.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Retention Checkpoint - Progress of the current or last purge run of one retention policy.
+ *
+ * Records the run's cutoff and the (timestamp, id) key of the last chunk purged, committed
+ * with each chunk, so a run interrupted by a restart resumes after that key with the same
+ * cutoff instead of starting over.
+ */
+@Entity
+@Table(name = "retention_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RetentionCheckpoint {
+
+    /**
+     * Policy name, e.g. social_snapshots.
+     */
+    @Id
+    @Column(name = "policy", length = 50)
+    private String policy;
+
+    /**
+     * Rows with a timestamp before this are purged by the run.
+     */
+    @Column(name = "cutoff", nullable = false)
+    private Instant cutoff;
+
+    /**
+     * Key of the last row covered by a committed chunk; null before the first chunk.
+     */
+    @Column(name = "last_timestamp")
+    private Instant lastTimestamp;
+
+    @Column(name = "last_id")
+    private UUID lastId;
+
+    @Column(name = "rows_purged", nullable = false)
+    private long rowsPurged;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Null while the run is in progress.
+     */
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
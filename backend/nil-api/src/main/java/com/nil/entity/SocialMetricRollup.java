@@ -0,0 +1,115 @@
+package com.nil.entity;
+
+import com.nil.entity.enums.MetricResolution;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Social Metric Rollup - Aggregated snapshot metrics of one social account for one day or week.
+ *
+ * Updated as snapshots are ingested, so growth charts over long ranges read one narrow row
+ * per bucket instead of every snapshot. Follower counts keep their first, last, lowest and
+ * highest value in the bucket; averaged metrics keep a sum and a sample count so later
+ * snapshots can be merged in. Rollups outlive the raw snapshots they were built from.
+ */
+@Entity
+@Table(name = "social_metric_rollups", uniqueConstraints = {
+    @UniqueConstraint(
+        name = "uk_rollup_account_bucket",
+        columnNames = {"social_account_id", "resolution", "bucket_start"}
+    )
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SocialMetricRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "social_account_id", nullable = false)
+    private UUID socialAccountId;
+
+    /**
+     * DAY or WEEK.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 10)
+    private MetricResolution resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    @Column(name = "first_at")
+    private Instant firstAt;
+
+    @Column(name = "last_at")
+    private Instant lastAt;
+
+    // ==================== Counts (as of first / last snapshot) ====================
+
+    @Column(name = "followers_open")
+    private Long followersOpen;
+
+    @Column(name = "followers_close")
+    private Long followersClose;
+
+    @Column(name = "followers_min")
+    private Long followersMin;
+
+    @Column(name = "followers_max")
+    private Long followersMax;
+
+    @Column(name = "following_close")
+    private Long followingClose;
+
+    @Column(name = "posts_count_close")
+    private Long postsCountClose;
+
+    // ==================== Averaged Metrics (sum / samples) ====================
+
+    @Column(name = "engagement_rate_sum")
+    private double engagementRateSum;
+
+    @Column(name = "engagement_rate_samples")
+    private int engagementRateSamples;
+
+    @Column(name = "avg_likes_sum")
+    private double avgLikesSum;
+
+    @Column(name = "avg_likes_samples")
+    private int avgLikesSamples;
+
+    @Column(name = "avg_comments_sum")
+    private double avgCommentsSum;
+
+    @Column(name = "avg_comments_samples")
+    private int avgCommentsSamples;
+
+    @Column(name = "avg_views_sum")
+    private double avgViewsSum;
+
+    @Column(name = "avg_views_samples")
+    private int avgViewsSamples;
+
+    @Column(name = "avg_shares_sum")
+    private double avgSharesSum;
+
+    @Column(name = "avg_shares_samples")
+    private int avgSharesSamples;
+
+    @Column(name = "avg_saves_sum")
+    private double avgSavesSum;
+
+    @Column(name = "avg_saves_samples")
+    private int avgSavesSamples;
+}
@@ -0,0 +1,74 @@
+package com.nil.entity.converter;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A JSON value stored through {@link SnapshotJsonCodec}. Values loaded from the database keep
+ * the column form and are only decompressed when {@link #json()} is first called, so loading
+ * snapshots for their metrics never pays for the payloads; new values are compressed when
+ * written.
+ *
+ * Immutable, so Hibernate compares instances instead of copying them for dirty checking.
+ */
+@Immutable
+public final class CompressedJson {
+
+    private volatile String stored;
+    private volatile String json;
+
+    private CompressedJson(String stored, String json) {
+        this.stored = stored;
+        this.json = json;
+    }
+
+    public static CompressedJson of(String json) {
+        return json != null ? new CompressedJson(null, json) : null;
+    }
+
+    static CompressedJson fromColumn(String stored) {
+        return stored != null ? new CompressedJson(stored, null) : null;
+    }
+
+    public String json() {
+        String value = json;
+        if (value == null) {
+            value = SnapshotJsonCodec.decode(stored);
+            json = value;
+        }
+        return value;
+    }
+
+    String columnValue() {
+        String value = stored;
+        if (value == null) {
+            value = SnapshotJsonCodec.encode(json);
+            stored = value;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompressedJson other)) {
+            return false;
+        }
+        // Equal column values hold equal JSON, but a plain and a compressed one may too
+        if (stored != null && stored.equals(other.stored)) {
+            return true;
+        }
+        return json().equals(other.json());
+    }
+
+    @Override
+    public int hashCode() {
+        return json().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json();
+    }
+}
@@ -0,0 +1,21 @@
+package com.nil.entity.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link CompressedJson} attributes to TEXT columns holding {@link SnapshotJsonCodec} values.
+ */
+@Converter
+public class CompressedJsonConverter implements AttributeConverter<CompressedJson, String> {
+
+    @Override
+    public String convertToDatabaseColumn(CompressedJson attribute) {
+        return attribute != null ? attribute.columnValue() : null;
+    }
+
+    @Override
+    public CompressedJson convertToEntityAttribute(String dbData) {
+        return CompressedJson.fromColumn(dbData);
+    }
+}
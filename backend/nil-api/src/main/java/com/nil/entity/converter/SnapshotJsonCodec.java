@@ -0,0 +1,122 @@
+package com.nil.entity.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Text encoding of the large JSON columns of social snapshots: Deflate with a preset
+ * dictionary of typical platform API payloads, Base64 encoded behind a version prefix so the
+ * columns can stay TEXT and hold compressed and not yet recompressed values side by side.
+ *
+ * The dictionary makes even small values (an age distribution, a short list of cities)
+ * compress, since their keys and common values are already in the window. A value is stored
+ * compressed only if that is shorter than the JSON itself; any stored value without the
+ * prefix is plain JSON.
+ *
+ * A dictionary can never change once values have been written with it. To use a new one,
+ * add it under a new prefix and keep decoding the old prefixes.
+ */
+public final class SnapshotJsonCodec {
+
+    static final String PREFIX_V1 = "z1:";
+
+    private static final byte[] DICTIONARY_V1 = loadDictionary("/compression/snapshot-json-v1.dict");
+
+    private SnapshotJsonCodec() {
+    }
+
+    /**
+     * Column value for {@code json}: compressed if that is shorter, else the JSON unchanged.
+     */
+    public static String encode(String json) {
+        if (json == null || json.isEmpty()) {
+            return json;
+        }
+        byte[] plain = json.getBytes(StandardCharsets.UTF_8);
+        String encoded = PREFIX_V1 + Base64.getEncoder().encodeToString(deflate(plain, DICTIONARY_V1));
+        return encoded.length() < json.length() ? encoded : json;
+    }
+
+    /**
+     * JSON stored in a column value written by {@link #encode} or before compression existed.
+     */
+    public static String decode(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX_V1)) {
+            return stored;
+        }
+        byte[] compressed;
+        try {
+            compressed = Base64.getDecoder().decode(stored.substring(PREFIX_V1.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Corrupt compressed snapshot JSON", e);
+        }
+        return new String(inflate(compressed, DICTIONARY_V1), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether {@code stored} is in the current compressed format.
+     */
+    public static boolean isEncoded(String stored) {
+        return stored != null && stored.startsWith(PREFIX_V1);
+    }
+
+    private static byte[] deflate(byte[] input, byte[] dictionary) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(dictionary);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, byte[] dictionary) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && inflater.needsDictionary()) {
+                    inflater.setDictionary(dictionary);
+                } else if (n == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Truncated compressed snapshot JSON");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException | IllegalArgumentException e) {
+            // IllegalArgumentException: the stream asks for a dictionary other than this one
+            throw new IllegalStateException("Corrupt compressed snapshot JSON", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] loadDictionary(String resource) {
+        try (InputStream in = SnapshotJsonCodec.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing compression dictionary " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
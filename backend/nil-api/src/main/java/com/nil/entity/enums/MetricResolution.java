@@ -0,0 +1,15 @@
+package com.nil.entity.enums;
+
+/**
+ * Granularity of a social metrics time series.
+ */
+public enum MetricResolution {
+    // One point per stored snapshot (only kept for the recent raw-retention window)
+    RAW,
+
+    // One point per UTC day
+    DAY,
+
+    // One point per ISO week, starting Monday 00:00 UTC
+    WEEK
+}
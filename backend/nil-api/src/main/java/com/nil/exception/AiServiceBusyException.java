@@ -0,0 +1,11 @@
+package com.nil.exception;
+
+/**
+ * Exception thrown when the limit of concurrent calls to the AI service has been reached.
+ */
+public class AiServiceBusyException extends RuntimeException {
+
+    public AiServiceBusyException(String message) {
+        super(message);
+    }
+}
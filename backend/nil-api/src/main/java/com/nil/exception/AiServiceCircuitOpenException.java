@@ -0,0 +1,11 @@
+package com.nil.exception;
+
+/**
+ * Exception thrown when calls to the AI service are suspended because it has been failing.
+ */
+public class AiServiceCircuitOpenException extends RuntimeException {
+
+    public AiServiceCircuitOpenException(String message) {
+        super(message);
+    }
+}
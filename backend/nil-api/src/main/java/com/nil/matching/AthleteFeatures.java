@@ -0,0 +1,42 @@
+package com.nil.matching;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read-only view of the {@link CandidateIndex} columns, indexed by slot.
+ * Only valid while the index read lock is held.
+ *
+ * @param followerTiers      {@link MatchScoringEngine#followerTier(long)} per slot
+ * @param engagementTiers    {@link MatchScoringEngine#engagementTier(double)} per slot
+ * @param sportOrdinals      {@code Sport} ordinal per slot, {@link #NONE} if unknown
+ * @param conferenceOrdinals {@code Conference} ordinal per slot, {@link #NONE} if unknown
+ * @param tagMasks           bit {@code i} set if the athlete has the interest tag with id {@code i < 64}
+ * @param extraTags          interest tag ids of 64 and above per slot, null if none
+ * @param tagIds             lower-cased interest tag to id
+ */
+record AthleteFeatures(
+        UUID[] ids,
+        String[] names,
+        long[] followers,
+        byte[] followerTiers,
+        byte[] engagementTiers,
+        int[] sportOrdinals,
+        int[] conferenceOrdinals,
+        long[] tagMasks,
+        int[][] extraTags,
+        Map<String, Integer> tagIds) {
+
+    static final int NONE = -1;
+
+    List<UUID> ids(BitSet slots) {
+        List<UUID> result = new ArrayList<>(slots.cardinality());
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            result.add(ids[slot]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,130 @@
+package com.nil.matching;
+
+import com.nil.dto.RuleMatchResponse;
+import com.nil.entity.BrandProfile;
+import com.nil.repository.BrandProfileRepository;
+import com.nil.service.BrandMatchResultService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Re-matches every active brand that is accepting applications against the athlete roster
+ * and stores the rankings through {@link BrandMatchResultService}, so dashboards can show
+ * matches without a call to the AI service per brand.
+ *
+ * All brands are scored in one pass over a single {@link CandidateIndex} snapshot, in
+ * parallel, using the same rules as {@link RuleMatcher#match}. Runs on the
+ * {@code matching.batch.cron} schedule ("-" disables it) and on demand via {@link #trigger()};
+ * on-demand runs use their own thread so they do not hold up other scheduled jobs.
+ */
+@Component
+public class BatchMatchJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchMatchJob.class);
+
+    private final BrandProfileRepository brandProfileRepository;
+    private final RuleMatcher ruleMatcher;
+    private final BrandMatchResultService brandMatchResultService;
+    private final int maxResults;
+    private final ExecutorService worker;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer runTimer;
+    private final Counter brandsMatched;
+
+    public BatchMatchJob(
+            BrandProfileRepository brandProfileRepository,
+            RuleMatcher ruleMatcher,
+            BrandMatchResultService brandMatchResultService,
+            MeterRegistry meterRegistry,
+            @Value("${matching.batch.max-results:20}") int maxResults) {
+        this.brandProfileRepository = brandProfileRepository;
+        this.ruleMatcher = ruleMatcher;
+        this.brandMatchResultService = brandMatchResultService;
+        this.maxResults = maxResults;
+
+        this.runTimer = Timer.builder("matching.batch.run")
+                .description("Time to match and store results for all active brands")
+                .register(meterRegistry);
+        this.brandsMatched = Counter.builder("matching.batch.brands")
+                .description("Brands matched by the batch job")
+                .register(meterRegistry);
+
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "batch-match");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Start a run now in the background.
+     *
+     * @return false if a run is already in progress
+     */
+    public boolean trigger() {
+        if (running.get()) {
+            return false;
+        }
+        try {
+            worker.execute(this::run);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            return false;
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Match and store all brands, unless a run is already in progress.
+     */
+    @Scheduled(cron = "${matching.batch.cron:0 0 3 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<BrandProfile> brands = brandProfileRepository.findByIsActiveAndIsAcceptingApplications(true, true);
+            Optional<List<RuleMatchResponse>> results = ruleMatcher.matchAll(brands, maxResults);
+            if (results.isEmpty()) {
+                log.warn("Skipping batch matching: candidate index not loaded yet");
+                return;
+            }
+            long scored = System.nanoTime();
+            int rows = brandMatchResultService.replaceAll(results.get());
+            brandsMatched.increment(brands.size());
+            log.info("Batch matched {} brands in {}ms, stored {} results in {}ms",
+                    brands.size(), (scored - start) / 1_000_000, rows, (System.nanoTime() - scored) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Batch matching failed", e);
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.nil.matching;
+
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.Sport;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hard filters a brand applies to the athletes it can be matched with.
+ *
+ * Mirrors {@code RuleEngine._apply_hard_filters} in the AI service, which compares sports and
+ * conferences by display name; {@link RuleMatcher} fills in the same defaults it does. Its
+ * gender and age filters are left out: only brand intakes carry those preferences, and
+ * brand intakes are never matched here.
+ *
+ * @param sports       sports to keep, or null for any sport
+ * @param conferences  conferences to keep, or null for any; athletes without a conference always pass
+ * @param minFollowers minimum follower count summed across accounts, 0 for none
+ * @param minEngagementRate minimum engagement rate in percent, 0 for none
+ * @param industry     brand industry, excluded for athletes who list it in their excluded categories
+ */
+public record CandidateFilter(
+        Set<Sport> sports,
+        Set<Conference> conferences,
+        long minFollowers,
+        double minEngagementRate,
+        String industry) {
+
+    /**
+     * Sports that count as a match for a preferred sport. Same table as {@code RELATED_SPORTS}
+     * in the AI service, keyed by display name.
+     */
+    private static final Map<String, List<String>> RELATED_SPORTS = Map.ofEntries(
+            Map.entry("Basketball", List.of("Basketball", "Volleyball")),
+            Map.entry("Baseball", List.of("Baseball", "Softball")),
+            Map.entry("Softball", List.of("Softball", "Baseball")),
+            Map.entry("Volleyball", List.of("Volleyball", "Basketball")),
+            Map.entry("Track & Field", List.of("Track & Field", "Cross Country")),
+            Map.entry("Cross Country", List.of("Cross Country", "Track & Field")),
+            Map.entry("Swimming", List.of("Swimming", "Diving", "Water Polo")));
+
+    /**
+     * Sports whose athletes pass a filter on these preferred sport names: an exact display
+     * name match, or a related sport listed in {@link #RELATED_SPORTS}.
+     *
+     * @return the matching sports, or null if no preference was given
+     */
+    public static Set<Sport> sportsMatching(Collection<String> preferred) {
+        if (preferred == null || preferred.isEmpty()) {
+            return null;
+        }
+        Set<Sport> sports = EnumSet.noneOf(Sport.class);
+        for (Sport sport : Sport.values()) {
+            String name = sport.getDisplayName();
+            if (preferred.contains(name) || isRelated(name, preferred)) {
+                sports.add(sport);
+            }
+        }
+        return sports;
+    }
+
+    /**
+     * Whether a sport related to {@code sport} is among the preferred sports.
+     */
+    static boolean isRelated(String sport, Collection<String> preferred) {
+        return RELATED_SPORTS.getOrDefault(sport, List.of()).stream().anyMatch(preferred::contains);
+    }
+
+    /**
+     * Conferences whose display name is one of these preferred names.
+     *
+     * @return the matching conferences, or null if no preference was given
+     */
+    public static Set<Conference> conferencesMatching(Collection<String> preferred) {
+        if (preferred == null || preferred.isEmpty()) {
+            return null;
+        }
+        Set<Conference> conferences = EnumSet.noneOf(Conference.class);
+        for (Conference conference : Conference.values()) {
+            if (preferred.contains(conference.getDisplayName())) {
+                conferences.add(conference);
+            }
+        }
+        return conferences;
+    }
+}
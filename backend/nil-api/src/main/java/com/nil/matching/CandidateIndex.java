@@ -0,0 +1,380 @@
+package com.nil.matching;
+
+import com.nil.dto.AthleteExportRow;
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.Sport;
+import com.nil.service.AthleteExportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import com.nil.search.SlotIndex;
+import com.nil.search.SlotStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory columnar snapshot of the athletes that can currently be matched (active and
+ * accepting deals), used to apply the matching hard filters without a round trip to the
+ * database or the AI service.
+ *
+ * Per-athlete values live in parallel arrays indexed by slot, each sport and conference has
+ * a bitset of the slots holding it, and follower counts are also kept in sorted order so a
+ * minimum resolves with a binary search. Rows are read from {@link AthleteExportService}.
+ */
+@Component
+public class CandidateIndex extends SlotIndex<AthleteExportRow, CandidateIndex.Columns> {
+
+    private final AthleteExportService exportService;
+    private final Timer queryTimer;
+
+    public CandidateIndex(
+            AthleteExportService exportService,
+            MeterRegistry meterRegistry,
+            @Value("${matching.candidate-index.rebuild-interval:PT30M}") Duration rebuildInterval) {
+        super("candidate index", rebuildInterval);
+        this.exportService = exportService;
+        this.queryTimer = Timer.builder("matching.candidate.index.query")
+                .description("Time to resolve the hard filters against the candidate index")
+                .register(meterRegistry);
+        meterRegistry.gauge("matching.candidate.index.size", this, CandidateIndex::size);
+    }
+
+    /**
+     * Athletes passing the filter, in no particular order.
+     *
+     * @return empty until the first load has finished, so callers can fall back to unfiltered matching
+     */
+    public Optional<List<UUID>> findCandidates(CandidateFilter filter) {
+        return query(filter, (features, slots) -> features.ids(slots));
+    }
+
+    /**
+     * Run {@code action} over the slots passing the filter. The features must not be used
+     * after {@code action} returns, since the index may change them.
+     *
+     * @return empty until the first load has finished
+     */
+    <T> Optional<T> query(CandidateFilter filter, BiFunction<AthleteFeatures, BitSet, T> action) {
+        return read(columns -> {
+            long start = System.nanoTime();
+            BitSet slots = columns.filter(filter);
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return action.apply(columns.features(), slots);
+        });
+    }
+
+    /**
+     * Run {@code action} over one consistent view of the index, for callers that resolve many
+     * filters in a pass (batch matching). Writes wait until {@code action} returns, so it
+     * should only do in-memory work.
+     *
+     * @return empty until the first load has finished
+     */
+    <T> Optional<T> withSnapshot(Function<Snapshot, T> action) {
+        return read(columns -> action.apply(new Snapshot(columns)));
+    }
+
+    @Override
+    protected Columns newStore() {
+        return new Columns();
+    }
+
+    @Override
+    protected void load(Consumer<AthleteExportRow> sink) throws IOException {
+        exportService.forEachRow(null, sink::accept);
+    }
+
+    @Override
+    protected Optional<AthleteExportRow> find(UUID id) {
+        return exportService.findRow(id);
+    }
+
+    @Override
+    protected boolean isEligible(AthleteExportRow row) {
+        return Boolean.TRUE.equals(row.getIsActive()) && Boolean.TRUE.equals(row.getIsAcceptingDeals());
+    }
+
+    /**
+     * View of the index handed to {@link #withSnapshot}; only valid inside that call.
+     * Filtering is safe from several threads at once.
+     */
+    final class Snapshot {
+
+        private final Columns columns;
+
+        private Snapshot(Columns columns) {
+            this.columns = columns;
+        }
+
+        AthleteFeatures features() {
+            return columns.features();
+        }
+
+        BitSet filter(CandidateFilter filter) {
+            long start = System.nanoTime();
+            BitSet slots = columns.filter(filter);
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return slots;
+        }
+
+        int size() {
+            return columns.size();
+        }
+    }
+
+    /**
+     * Matching values per slot, with bitsets per sport and conference and the follower order.
+     */
+    static final class Columns extends SlotStore<AthleteExportRow> {
+
+        private static final int NONE = AthleteFeatures.NONE;
+
+        private String[] names = new String[INITIAL_CAPACITY];
+        private long[] followers = new long[INITIAL_CAPACITY];
+        private double[] engagementRates = new double[INITIAL_CAPACITY];
+        private int[] sportOrdinals = new int[INITIAL_CAPACITY];
+        private int[] conferenceOrdinals = new int[INITIAL_CAPACITY];
+        private List<?>[] excludedCategories = new List<?>[INITIAL_CAPACITY];
+        // Interest tag ids below 64 as bits, any others listed separately (usually null)
+        private long[] tagMasks = new long[INITIAL_CAPACITY];
+        private int[][] extraTags = new int[INITIAL_CAPACITY][];
+        // Scoring tiers, see MatchScoringEngine
+        private byte[] followerTiers = new byte[INITIAL_CAPACITY];
+        private byte[] engagementTiers = new byte[INITIAL_CAPACITY];
+
+        // Lower-cased interest tag -> dense id
+        private final Map<String, Integer> tagIds = new HashMap<>();
+
+        private final BitSet[] bySport = newBitSets(Sport.values().length);
+        private final BitSet[] byConference = newBitSets(Conference.values().length);
+        private final BitSet noConference = new BitSet();
+
+        // Occupied slots ordered by (followers, slot)
+        private long[] sortedFollowers = new long[INITIAL_CAPACITY];
+        private int[] sortedSlots = new int[INITIAL_CAPACITY];
+        private int sortedSize;
+
+        @Override
+        protected void put(AthleteExportRow row) {
+            int slot = store(row);
+            insertSorted(followers[slot], slot);
+        }
+
+        /**
+         * Add a row without keeping the follower order, which {@link #finishLoad()} sorts.
+         */
+        @Override
+        protected void append(AthleteExportRow row) {
+            int slot = store(row);
+            sortedFollowers[sortedSize] = followers[slot];
+            sortedSlots[sortedSize] = slot;
+            sortedSize++;
+        }
+
+        @Override
+        protected void finishLoad() {
+            Integer[] order = new Integer[sortedSize];
+            for (int i = 0; i < sortedSize; i++) {
+                order[i] = sortedSlots[i];
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingLong(slot -> followers[slot]).thenComparingInt(slot -> slot));
+            for (int i = 0; i < sortedSize; i++) {
+                sortedSlots[i] = order[i];
+                sortedFollowers[i] = followers[order[i]];
+            }
+        }
+
+        private int store(AthleteExportRow row) {
+            int slot = slotFor(row.getId());
+
+            long total = 0;
+            if (row.getSocialAccounts() != null) {
+                for (AthleteExportRow.SocialMetric social : row.getSocialAccounts()) {
+                    if (social.getFollowerCount() != null) {
+                        total += social.getFollowerCount();
+                    }
+                }
+            }
+            names[slot] = row.getFullName();
+            storeTags(slot, row.getInterestTags());
+            followers[slot] = total;
+            engagementRates[slot] = row.getEngagementRate() != null ? row.getEngagementRate() : 0.0;
+            followerTiers[slot] = (byte) MatchScoringEngine.followerTier(total);
+            engagementTiers[slot] = (byte) MatchScoringEngine.engagementTier(engagementRates[slot]);
+            excludedCategories[slot] = row.getExcludedCategories();
+            sportOrdinals[slot] = row.getSport() != null ? row.getSport().ordinal() : NONE;
+            conferenceOrdinals[slot] = row.getConference() != null ? row.getConference().ordinal() : NONE;
+
+            if (sportOrdinals[slot] != NONE) {
+                bySport[sportOrdinals[slot]].set(slot);
+            }
+            if (conferenceOrdinals[slot] != NONE) {
+                byConference[conferenceOrdinals[slot]].set(slot);
+            } else {
+                noConference.set(slot);
+            }
+            return slot;
+        }
+
+        @Override
+        protected void release(int slot) {
+            names[slot] = null;
+            excludedCategories[slot] = null;
+            extraTags[slot] = null;
+        }
+
+        AthleteFeatures features() {
+            return new AthleteFeatures(ids, names, followers, followerTiers, engagementTiers,
+                    sportOrdinals, conferenceOrdinals, tagMasks, extraTags, tagIds);
+        }
+
+        BitSet filter(CandidateFilter filter) {
+            BitSet result = (BitSet) occupied.clone();
+            if (filter.sports() != null) {
+                BitSet sports = new BitSet();
+                for (Sport sport : filter.sports()) {
+                    sports.or(bySport[sport.ordinal()]);
+                }
+                result.and(sports);
+            }
+            if (filter.conferences() != null) {
+                BitSet conferences = (BitSet) noConference.clone();
+                for (Conference conference : filter.conferences()) {
+                    conferences.or(byConference[conference.ordinal()]);
+                }
+                result.and(conferences);
+            }
+            if (filter.minFollowers() > 0) {
+                applyMinFollowers(result, filter.minFollowers());
+            }
+
+            boolean checkEngagement = filter.minEngagementRate() > 0;
+            boolean checkIndustry = filter.industry() != null && !filter.industry().isEmpty();
+            if (checkEngagement || checkIndustry) {
+                for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                    if ((checkEngagement && engagementRates[slot] < filter.minEngagementRate())
+                            || (checkIndustry && excludedCategories[slot] != null
+                                && excludedCategories[slot].contains(filter.industry()))) {
+                        result.clear(slot);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void storeTags(int slot, List<String> tags) {
+            long mask = 0;
+            int[] extra = null;
+            if (tags != null) {
+                int[] distinct = tags.stream()
+                        .filter(Objects::nonNull)
+                        .map(tag -> tagIds.computeIfAbsent(tag.toLowerCase(), t -> tagIds.size()))
+                        .distinct()
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                for (int id : distinct) {
+                    if (id < Long.SIZE) {
+                        mask |= 1L << id;
+                    }
+                }
+                if (Arrays.stream(distinct).anyMatch(id -> id >= Long.SIZE)) {
+                    extra = Arrays.stream(distinct).filter(id -> id >= Long.SIZE).toArray();
+                }
+            }
+            tagMasks[slot] = mask;
+            extraTags[slot] = extra;
+        }
+
+        /**
+         * Narrow {@code result} to slots with at least {@code min} followers, walking whichever
+         * is shorter: the sorted tail above the minimum, or the slots still in the result.
+         */
+        private void applyMinFollowers(BitSet result, long min) {
+            int from = lowerBound(min, Integer.MIN_VALUE);
+            int above = sortedSize - from;
+            if (above < result.cardinality()) {
+                BitSet enough = new BitSet();
+                for (int i = from; i < sortedSize; i++) {
+                    enough.set(sortedSlots[i]);
+                }
+                result.and(enough);
+            } else {
+                for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                    if (followers[slot] < min) {
+                        result.clear(slot);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void grow(int capacity) {
+            names = Arrays.copyOf(names, capacity);
+            tagMasks = Arrays.copyOf(tagMasks, capacity);
+            extraTags = Arrays.copyOf(extraTags, capacity);
+            followerTiers = Arrays.copyOf(followerTiers, capacity);
+            engagementTiers = Arrays.copyOf(engagementTiers, capacity);
+            followers = Arrays.copyOf(followers, capacity);
+            engagementRates = Arrays.copyOf(engagementRates, capacity);
+            sportOrdinals = Arrays.copyOf(sportOrdinals, capacity);
+            conferenceOrdinals = Arrays.copyOf(conferenceOrdinals, capacity);
+            excludedCategories = Arrays.copyOf(excludedCategories, capacity);
+            sortedFollowers = Arrays.copyOf(sortedFollowers, capacity);
+            sortedSlots = Arrays.copyOf(sortedSlots, capacity);
+        }
+
+        /**
+         * Remove a slot from the bitsets and the sorted arrays.
+         */
+        @Override
+        protected void clear(int slot) {
+            if (sportOrdinals[slot] != NONE) {
+                bySport[sportOrdinals[slot]].clear(slot);
+            }
+            if (conferenceOrdinals[slot] != NONE) {
+                byConference[conferenceOrdinals[slot]].clear(slot);
+            }
+            noConference.clear(slot);
+
+            int i = lowerBound(followers[slot], slot);
+            if (i < sortedSize && sortedSlots[i] == slot) {
+                System.arraycopy(sortedFollowers, i + 1, sortedFollowers, i, sortedSize - i - 1);
+                System.arraycopy(sortedSlots, i + 1, sortedSlots, i, sortedSize - i - 1);
+                sortedSize--;
+            }
+        }
+
+        private void insertSorted(long count, int slot) {
+            int i = lowerBound(count, slot);
+            System.arraycopy(sortedFollowers, i, sortedFollowers, i + 1, sortedSize - i);
+            System.arraycopy(sortedSlots, i, sortedSlots, i + 1, sortedSize - i);
+            sortedFollowers[i] = count;
+            sortedSlots[i] = slot;
+            sortedSize++;
+        }
+
+        /**
+         * First position whose (followers, slot) is not less than the given pair.
+         */
+        private int lowerBound(long count, int slot) {
+            int lo = 0;
+            int hi = sortedSize;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sortedFollowers[mid] < count || (sortedFollowers[mid] == count && sortedSlots[mid] < slot)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.nil.matching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight de-duplication of AI service match calls: while a call for a request key is
+ * in flight, identical requests wait for it instead of starting their own, and all of them
+ * get its response. Keys come from {@link MatchResultCache#key}, so requests only share a
+ * call when they would also share a cache entry.
+ */
+@Component
+public class MatchRequestCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchRequestCoalescer.class);
+
+    private final Map<String, CompletableFuture<HttpResponse<String>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public MatchRequestCoalescer(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("matching.requests.coalesced")
+                .description("Match requests answered by an identical call already in flight")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("matching.requests.in.flight", List.of(), inFlight);
+    }
+
+    /**
+     * Join the call in flight for {@code key}, or start one with {@code call}.
+     * The key is released when the call completes, successfully or not.
+     */
+    public CompletableFuture<HttpResponse<String>> execute(String key, Supplier<CompletableFuture<HttpResponse<String>>> call) {
+        CompletableFuture<HttpResponse<String>> shared = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<String>> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("Coalesced match request onto call in flight: {}", key);
+            return existing;
+        }
+        CompletableFuture<HttpResponse<String>> upstream;
+        try {
+            upstream = call.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((response, error) -> {
+            // Release first, so requests arriving after completion do not join a finished call
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(response);
+            }
+        });
+        return shared;
+    }
+}
@@ -0,0 +1,154 @@
+package com.nil.matching;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nil.service.AthleteRosterVersion;
+import com.nil.service.BrandProfileVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache of AI service match responses, so a brand re-running the same search does not pay
+ * for another LLM round trip.
+ *
+ * Keys combine a hash of the canonicalized request (object keys sorted, whitespace dropped)
+ * with the {@link AthleteRosterVersion} and, for requests naming a {@code brand_id}, that
+ * brand's {@link BrandProfileVersion}: a result is only served while the roster and the brand
+ * profile it was computed against are unchanged. Any athlete write makes every cached result
+ * unreachable; a brand write makes that brand's results unreachable.
+ * Entries are stored in the "matches" cache, so they follow the usual L1/Redis TTLs.
+ */
+@Component
+public class MatchResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchResultCache.class);
+    private static final String CACHE_NAME = "matches";
+
+    private final Cache cache;
+    private final AthleteRosterVersion rosterVersion;
+    private final BrandProfileVersion brandVersion;
+    private final ObjectMapper canonicalMapper;
+    private final boolean enabled;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypassed;
+
+    public MatchResultCache(
+            CacheManager cacheManager,
+            AthleteRosterVersion rosterVersion,
+            BrandProfileVersion brandVersion,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${matching.result-cache.enabled:true}") boolean enabled) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.rosterVersion = rosterVersion;
+        this.brandVersion = brandVersion;
+        this.canonicalMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .configure(SerializationFeature.INDENT_OUTPUT, false);
+        this.enabled = enabled;
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        this.bypassed = lookups(meterRegistry, "bypass");
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("matching.result.cache")
+                .description("Match result cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identity of a request against the current roster and brand profile: requests with equal
+     * keys get equal responses. Empty if that cannot be established (body not valid JSON,
+     * roster or brand version unavailable), in which case the request is neither cached nor
+     * coalesced.
+     *
+     * @param operation distinguishes endpoints whose responses differ for the same body
+     */
+    public Optional<String> key(String operation, String requestBody) {
+        OptionalLong version = rosterVersion.current();
+        if (version.isEmpty()) {
+            bypassed.increment();
+            return Optional.empty();
+        }
+        Object request;
+        String canonical;
+        try {
+            request = canonicalMapper.readValue(requestBody, Object.class);
+            canonical = canonicalMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            // Let the AI service report the bad request
+            bypassed.increment();
+            return Optional.empty();
+        }
+        OptionalLong brand = brandVersion(request);
+        if (brand.isEmpty()) {
+            bypassed.increment();
+            return Optional.empty();
+        }
+        return Optional.of(operation + ":" + version.getAsLong() + ":" + brand.getAsLong() + ":" + sha256(canonical));
+    }
+
+    /**
+     * Version of the brand named by the request's {@code brand_id}, or 0 if it names none
+     * (the AI service then has no stored brand profile to read).
+     */
+    private OptionalLong brandVersion(Object request) {
+        if (!(request instanceof Map<?, ?> fields) || !(fields.get("brand_id") instanceof String brandId)) {
+            return OptionalLong.of(0);
+        }
+        try {
+            return brandVersion.current(UUID.fromString(brandId));
+        } catch (IllegalArgumentException e) {
+            return OptionalLong.of(0);
+        }
+    }
+
+    public Optional<String> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String cached = cache.get(key, String.class);
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        log.debug("Match result cache hit: {}", key);
+        return Optional.of(cached);
+    }
+
+    public void put(String key, String responseBody) {
+        if (!enabled) {
+            return;
+        }
+        cache.put(key, responseBody);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
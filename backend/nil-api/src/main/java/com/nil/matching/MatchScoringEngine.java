@@ -0,0 +1,369 @@
+package com.nil.matching;
+
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.Sport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Weighted rule-based scoring of athletes for a brand, ported from
+ * {@code RuleEngine._score_athlete} in the AI service: sport match, follower reach,
+ * engagement, interest tags and geographic fit, 100 points in total with the default weights.
+ *
+ * Scores are computed straight from the {@link AthleteFeatures} arrays. Follower counts and
+ * engagement rates are bucketed into tiers when an athlete is indexed, and everything that
+ * depends on the brand (points per sport, per conference, per tier, which tags are targets)
+ * is resolved once per request into lookup tables. The per-athlete loop is then a handful of
+ * array reads and a bit count, with no branches on the athlete's values.
+ * Only the best {@code k} are kept, in a bounded min-heap; large candidate sets are split
+ * across the common fork-join pool and the partial heaps merged.
+ */
+@Component
+public class MatchScoringEngine {
+
+    public static final String SPORT_MATCH = "sport_match";
+    public static final String FOLLOWER_REACH = "follower_reach";
+    public static final String ENGAGEMENT_QUALITY = "engagement_quality";
+    public static final String INTEREST_TAG_MATCH = "interest_tag_match";
+    public static final String GEOGRAPHIC_FIT = "geographic_fit";
+
+    // Slots per fork-join leaf task
+    private static final int CHUNK_SIZE = 8192;
+
+    // Share of the weight per tier
+    private static final double[] FOLLOWER_TIER_SHARES = {0, 0.1, 0.3, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0};
+    private static final long[] FOLLOWER_TIER_MINIMUMS = {0, 1_000, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000};
+    // Tier 0 is "no data" and scores as neutral
+    private static final double[] ENGAGEMENT_TIER_SHARES = {0.5, 0.1, 0.3, 0.5, 0.7, 0.85, 1.0};
+    private static final double[] ENGAGEMENT_TIER_MINIMUMS = {Double.NaN, Double.NEGATIVE_INFINITY, 1.0, 2.0, 3.0, 4.0, 6.0};
+
+    private final double sportWeight;
+    private final double followerWeight;
+    private final double engagementWeight;
+    private final double tagWeight;
+    private final double geoWeight;
+    private final int parallelThreshold;
+
+    public MatchScoringEngine(
+            @Value("${matching.scoring.weights.sport-match:25}") double sportWeight,
+            @Value("${matching.scoring.weights.follower-reach:25}") double followerWeight,
+            @Value("${matching.scoring.weights.engagement:20}") double engagementWeight,
+            @Value("${matching.scoring.weights.interest-tags:15}") double tagWeight,
+            @Value("${matching.scoring.weights.geographic:15}") double geoWeight,
+            @Value("${matching.scoring.parallel-threshold:50000}") int parallelThreshold) {
+        this.sportWeight = sportWeight;
+        this.followerWeight = followerWeight;
+        this.engagementWeight = engagementWeight;
+        this.tagWeight = tagWeight;
+        this.geoWeight = geoWeight;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * The {@code k} best scoring athletes among {@code slots}, best first.
+     * Equal scores are ordered by slot, so results are stable for an unchanged index.
+     */
+    List<ScoredAthlete> topK(AthleteFeatures features, BitSet slots, ScoringCriteria criteria, int k) {
+        if (k <= 0 || slots.isEmpty()) {
+            return List.of();
+        }
+        Plan plan = new Plan(features, criteria);
+        TopK best = slots.cardinality() >= parallelThreshold
+                ? ForkJoinPool.commonPool().invoke(new ScoreTask(plan, slots, 0, slots.length(), k))
+                : plan.score(slots, 0, slots.length(), new TopK(k));
+
+        int[] ranked = best.slotsBestFirst();
+        List<ScoredAthlete> result = new ArrayList<>(ranked.length);
+        for (int slot : ranked) {
+            result.add(plan.explain(slot));
+        }
+        return result;
+    }
+
+    /**
+     * Follower tier used for scoring, 0 (under 1K) to 8 (500K and up).
+     */
+    static int followerTier(long followers) {
+        int tier = 0;
+        while (tier + 1 < FOLLOWER_TIER_MINIMUMS.length && followers >= FOLLOWER_TIER_MINIMUMS[tier + 1]) {
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * Engagement tier used for scoring: 0 for no data (a rate of exactly 0), then 1 (under 1%) to 6 (6% and up).
+     */
+    static int engagementTier(double rate) {
+        if (rate == 0) {
+            return 0;
+        }
+        int tier = 1;
+        while (tier + 1 < ENGAGEMENT_TIER_MINIMUMS.length && rate >= ENGAGEMENT_TIER_MINIMUMS[tier + 1]) {
+            tier++;
+        }
+        return tier;
+    }
+
+    private static double[] points(double weight, double[] shares) {
+        double[] points = new double[shares.length];
+        for (int i = 0; i < shares.length; i++) {
+            points[i] = weight * shares[i];
+        }
+        return points;
+    }
+
+    /**
+     * Per-request lookup tables over one snapshot of the features. Sport and conference
+     * tables are indexed by ordinal + 1, so {@link AthleteFeatures#NONE} maps to entry 0.
+     */
+    private final class Plan {
+
+        private final AthleteFeatures features;
+        private final double[] sportPoints = new double[Sport.values().length + 1];
+        private final double[] conferencePoints = new double[Conference.values().length + 1];
+        private final double[] followerPoints = points(followerWeight, FOLLOWER_TIER_SHARES);
+        private final double[] engagementPoints = points(engagementWeight, ENGAGEMENT_TIER_SHARES);
+        private final long targetMask;
+        private final boolean[] extraTarget;
+        private final int targetTagCount;
+        private final double tagRatioScale;
+
+        Plan(AthleteFeatures features, ScoringCriteria criteria) {
+            this.features = features;
+
+            // An athlete without a sport scores 0 here, even when the brand has no preference
+            boolean anySport = criteria.preferredSports() == null || criteria.preferredSports().isEmpty();
+            for (Sport sport : Sport.values()) {
+                String name = sport.getDisplayName();
+                if (anySport || criteria.preferredSports().contains(name)) {
+                    sportPoints[sport.ordinal() + 1] = sportWeight;
+                } else if (CandidateFilter.isRelated(name, criteria.preferredSports())) {
+                    sportPoints[sport.ordinal() + 1] = sportWeight * 0.6;
+                }
+            }
+
+            conferencePoints[0] = regionPoints(criteria, "");
+            for (Conference conference : Conference.values()) {
+                conferencePoints[conference.ordinal() + 1] =
+                        regionPoints(criteria, ScoringCriteria.regionOf(conference.getDisplayName()));
+            }
+
+            // Tags no athlete has can never overlap but still count towards the total
+            List<String> distinct = criteria.targetTags().stream().map(String::toLowerCase).distinct().toList();
+            long mask = 0;
+            boolean[] extra = new boolean[features.tagIds().size()];
+            for (String tag : distinct) {
+                Integer id = features.tagIds().get(tag);
+                if (id != null && id < Long.SIZE) {
+                    mask |= 1L << id;
+                } else if (id != null) {
+                    extra[id] = true;
+                }
+            }
+            targetMask = mask;
+            extraTarget = extra;
+            targetTagCount = distinct.size();
+            tagRatioScale = targetTagCount > 0 ? 1.5 / targetTagCount : 0;
+        }
+
+        private double regionPoints(ScoringCriteria criteria, String region) {
+            if (criteria.targetRegions().isEmpty()) {
+                return geoWeight * 0.5;
+            }
+            return criteria.targetRegions().contains(region) ? geoWeight : geoWeight * 0.3;
+        }
+
+        TopK score(BitSet slots, int from, int to, TopK best) {
+            for (int slot = slots.nextSetBit(from); slot >= 0 && slot < to; slot = slots.nextSetBit(slot + 1)) {
+                best.offer(total(slot), slot);
+            }
+            return best;
+        }
+
+        double total(int slot) {
+            double total = sport(slot) + followers(slot) + engagement(slot) + tags(slot) + geo(slot);
+            return Math.round(total * 10) / 10.0;
+        }
+
+        ScoredAthlete explain(int slot) {
+            Map<String, Double> components = new LinkedHashMap<>();
+            components.put(SPORT_MATCH, sport(slot));
+            components.put(FOLLOWER_REACH, followers(slot));
+            components.put(ENGAGEMENT_QUALITY, engagement(slot));
+            components.put(INTEREST_TAG_MATCH, tags(slot));
+            components.put(GEOGRAPHIC_FIT, geo(slot));
+            return new ScoredAthlete(features.ids()[slot], features.names()[slot],
+                    features.followers()[slot], total(slot), components);
+        }
+
+        private double sport(int slot) {
+            return sportPoints[features.sportOrdinals()[slot] + 1];
+        }
+
+        private double followers(int slot) {
+            return followerPoints[features.followerTiers()[slot]];
+        }
+
+        private double engagement(int slot) {
+            return engagementPoints[features.engagementTiers()[slot]];
+        }
+
+        private double tags(int slot) {
+            long mask = features.tagMasks()[slot];
+            int[] extra = features.extraTags()[slot];
+            if (targetTagCount == 0 || (mask == 0 && extra == null)) {
+                return tagWeight * 0.5;
+            }
+            int overlap = Long.bitCount(mask & targetMask);
+            if (extra != null) {
+                for (int tag : extra) {
+                    if (tag < extraTarget.length && extraTarget[tag]) {
+                        overlap++;
+                    }
+                }
+            }
+            return tagWeight * Math.min(overlap * tagRatioScale, 1.0);
+        }
+
+        private double geo(int slot) {
+            return conferencePoints[features.conferenceOrdinals()[slot] + 1];
+        }
+    }
+
+    /**
+     * Scores a slot range, splitting it in half until it is small enough to score directly.
+     */
+    private static final class ScoreTask extends RecursiveTask<TopK> {
+
+        private final Plan plan;
+        private final BitSet slots;
+        private final int from;
+        private final int to;
+        private final int k;
+
+        ScoreTask(Plan plan, BitSet slots, int from, int to, int k) {
+            this.plan = plan;
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return plan.score(slots, from, to, new TopK(k));
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(plan, slots, from, mid, k);
+            left.fork();
+            TopK right = new ScoreTask(plan, slots, mid, to, k).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Bounded min-heap of (score, slot) keeping the {@code k} best. The root is the worst
+     * entry kept: lowest score, and among equal scores the highest slot.
+     */
+    static final class TopK {
+
+        private final double[] scores;
+        private final int[] slots;
+        private int size;
+
+        TopK(int k) {
+            this.scores = new double[k];
+            this.slots = new int[k];
+        }
+
+        void offer(double score, int slot) {
+            if (size < scores.length) {
+                scores[size] = score;
+                slots[size] = slot;
+                siftUp(size++);
+            } else if (worse(scores[0], slots[0], score, slot)) {
+                scores[0] = score;
+                slots[0] = slot;
+                siftDown(0);
+            }
+        }
+
+        TopK merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.scores[i], other.slots[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Empties the heap, returning its slots from best to worst.
+         */
+        int[] slotsBestFirst() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = slots[0];
+                size--;
+                scores[0] = scores[size];
+                slots[0] = slots[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(scores[i], slots[i], scores[parent], slots[parent])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    break;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < size && worse(scores[right], slots[right], scores[left], slots[left])) {
+                    worst = right;
+                }
+                if (!worse(scores[worst], slots[worst], scores[i], slots[i])) {
+                    break;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double s = scores[a];
+            scores[a] = scores[b];
+            scores[b] = s;
+            int t = slots[a];
+            slots[a] = slots[b];
+            slots[b] = t;
+        }
+
+        /**
+         * Whether (scoreA, slotA) ranks below (scoreB, slotB).
+         */
+        private static boolean worse(double scoreA, int slotA, double scoreB, int slotB) {
+            return scoreA < scoreB || (scoreA == scoreB && slotA > slotB);
+        }
+    }
+}
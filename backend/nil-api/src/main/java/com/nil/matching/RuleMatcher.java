@@ -0,0 +1,320 @@
+package com.nil.matching;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nil.dto.BrandProfileResponse;
+import com.nil.dto.RuleMatchResponse;
+import com.nil.entity.BrandProfile;
+import com.nil.exception.BadRequestException;
+import com.nil.service.BrandService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule-based matching of a brand against the {@link CandidateIndex}: the hard filters,
+ * then weighted scoring with {@link MatchScoringEngine}.
+ *
+ * Reads the same inputs as the AI service's {@code /find-hybrid} endpoint: the brand
+ * profile's structured preferences, overridden by the request's campaign requirements.
+ */
+@Component
+public class RuleMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleMatcher.class);
+    private static final Pattern FIRST_NUMBER = Pattern.compile("\\d+");
+    private static final int DEFAULT_MAX_RESULTS = 10;
+    private static final int MAX_RESULTS_LIMIT = 50;
+
+    /**
+     * Keywords the AI service looks for in a brand's free-text athlete preferences when it
+     * has no preferred sports, in its order. Each becomes the title-cased keyword.
+     */
+    private static final List<String> SPORT_KEYWORDS = List.of(
+            "basketball", "football", "soccer", "baseball", "softball",
+            "volleyball", "track", "swimming", "tennis", "golf",
+            "wrestling", "gymnastics", "lacrosse", "hockey");
+
+    private final CandidateIndex candidateIndex;
+    private final MatchScoringEngine scoringEngine;
+    private final BrandService brandService;
+    private final ObjectMapper objectMapper;
+
+    public RuleMatcher(CandidateIndex candidateIndex,
+                       MatchScoringEngine scoringEngine,
+                       BrandService brandService,
+                       ObjectMapper objectMapper) {
+        this.candidateIndex = candidateIndex;
+        this.scoringEngine = scoringEngine;
+        this.brandService = brandService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * IDs of the {@code size} best rule-scored athletes passing the hard filters, best first.
+     *
+     * @return empty if the index is not loaded yet
+     */
+    public Optional<List<UUID>> shortlist(Map<String, Object> request, int size) {
+        Criteria criteria = parse(request);
+        long start = System.nanoTime();
+        Optional<List<UUID>> shortlist = candidateIndex.query(criteria.filter(), (features, slots) ->
+                scoringEngine.topK(features, slots, criteria.scoring(), size).stream()
+                        .map(ScoredAthlete::athleteId)
+                        .toList());
+        shortlist.ifPresent(ids -> log.debug("Shortlisted {} athletes for brand {} in {}us",
+                ids.size(), criteria.brandId(), (System.nanoTime() - start) / 1000));
+        return shortlist;
+    }
+
+    /**
+     * Rank athletes for a {@code /find-hybrid} style request using the rules alone.
+     *
+     * @return empty if the index is not loaded yet
+     */
+    public Optional<RuleMatchResponse> match(Map<String, Object> request) {
+        Criteria criteria = parse(request);
+        int maxResults = maxResults(request.get("max_results"));
+        int rosterSize = candidateIndex.size();
+
+        return candidateIndex.query(criteria.filter(), (features, slots) ->
+                rank(criteria, features, slots, rosterSize, maxResults));
+    }
+
+    /**
+     * Rank athletes for each brand using its stored preferences alone, all against the same
+     * view of the roster. Brands are scored in parallel.
+     *
+     * @return one response per brand, in input order; empty if the index is not loaded yet
+     */
+    public Optional<List<RuleMatchResponse>> matchAll(List<BrandProfile> brands, int maxResults) {
+        List<Criteria> criteria = brands.stream()
+                .map(brand -> criteria(brand.getId(), brand.getCompanyName(), brand.getPreferredSports(),
+                        brand.getPreferredConferences(), brand.getMinFollowers(), brand.getIndustry(),
+                        firstPresent(brand.getBudgetRange(), brand.getBudgetPerAthlete()),
+                        firstPresent(brand.getAthletePreferences(), brand.getMatchingNotes()), null))
+                .toList();
+        return candidateIndex.withSnapshot(snapshot -> {
+            AthleteFeatures features = snapshot.features();
+            int rosterSize = snapshot.size();
+            return criteria.parallelStream()
+                    .map(c -> rank(c, features, snapshot.filter(c.filter()), rosterSize, maxResults))
+                    .toList();
+        });
+    }
+
+    private RuleMatchResponse rank(Criteria criteria, AthleteFeatures features, BitSet slots,
+                                   int rosterSize, int maxResults) {
+        List<ScoredAthlete> ranked = scoringEngine.topK(features, slots, criteria.scoring(), maxResults);
+        return RuleMatchResponse.builder()
+                .brandId(criteria.brandId())
+                .brandName(criteria.brandName())
+                .totalCandidates(rosterSize)
+                .passedFilters(slots.cardinality())
+                .totalMatches(ranked.size())
+                .matches(ranked.stream().map(RuleMatcher::toMatch).toList())
+                .generatedAt(Instant.now())
+                .build();
+    }
+
+    private static RuleMatchResponse.Match toMatch(ScoredAthlete athlete) {
+        return RuleMatchResponse.Match.builder()
+                .athleteId(athlete.athleteId())
+                .athleteName(athlete.name())
+                .matchScore(athlete.totalScore())
+                .estimatedReach(athlete.followers())
+                .componentScores(athlete.componentScores())
+                .build();
+    }
+
+    private Criteria parse(Map<String, Object> request) {
+        UUID brandId;
+        try {
+            brandId = UUID.fromString(String.valueOf(request.get("brand_id")));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("brand_id must be a UUID");
+        }
+        BrandProfileResponse brand = brandService.getProfile(brandId);
+        return criteria(brand.getId(), brand.getCompanyName(), brand.getPreferredSports(),
+                brand.getPreferredConferences(), brand.getMinFollowers(), brand.getIndustry(),
+                firstPresent(brand.getBudgetRange(), brand.getBudgetPerAthlete()),
+                firstPresent(brand.getAthletePreferences(), brand.getMatchingNotes()),
+                asMap(request.get("campaign_requirements")));
+    }
+
+    /**
+     * The AI service's {@code BrandCriteria.from_brand_data}, with its defaults: sports taken
+     * from the preferences text when none are preferred, and a follower minimum from the
+     * budget when none is set.
+     */
+    private Criteria criteria(UUID brandId, String brandName, String preferredSports,
+                              String preferredConferences, String brandMinFollowers, String industry,
+                              String budget, String athletePreferences, Map<String, Object> campaign) {
+        Collection<String> sports = parseList(preferredSports);
+        Collection<String> conferences = parseList(preferredConferences);
+        Object minFollowers = brandMinFollowers;
+        double minEngagement = 0.0;
+
+        if (campaign != null) {
+            Object campaignSports = campaign.get("sport_preferences");
+            if (isPresent(campaignSports)) {
+                sports = campaignSports instanceof List<?> list ? strings(list) : null;
+            }
+            Object campaignConferences = campaign.get("conference_preferences");
+            if (isPresent(campaignConferences)) {
+                conferences = campaignConferences instanceof List<?> list ? strings(list) : null;
+            }
+            if (isPresent(campaign.get("min_followers"))) {
+                minFollowers = campaign.get("min_followers");
+            }
+            if (campaign.get("min_engagement_rate") instanceof Number rate) {
+                minEngagement = rate.doubleValue();
+            }
+        }
+
+        if (sports == null || sports.isEmpty()) {
+            sports = sportsMentionedIn(athletePreferences);
+        }
+        long followerMinimum = parseFollowerCount(minFollowers);
+        if (followerMinimum == 0) {
+            followerMinimum = defaultMinFollowers(budget);
+        }
+
+        CandidateFilter filter = new CandidateFilter(
+                CandidateFilter.sportsMatching(sports),
+                CandidateFilter.conferencesMatching(conferences),
+                followerMinimum,
+                minEngagement,
+                industry);
+        return new Criteria(brandId, brandName, filter, ScoringCriteria.of(sports, industry));
+    }
+
+    private static int maxResults(Object value) {
+        if (value instanceof Number n) {
+            return Math.max(1, Math.min(n.intValue(), MAX_RESULTS_LIMIT));
+        }
+        return DEFAULT_MAX_RESULTS;
+    }
+
+    /**
+     * Same parsing as the AI service: the first integer in a string, times 1000 if the
+     * string contains a "k" ("50K" is 50000, "1.5K" is 1000); integers as they are.
+     */
+    static long parseFollowerCount(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String text) {
+            Matcher m = FIRST_NUMBER.matcher(text);
+            if (m.find()) {
+                try {
+                    long n = Long.parseLong(m.group());
+                    return text.toLowerCase().contains("k") ? n * 1000 : n;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sports named in free text, as the AI service's {@code _extract_sports_from_text} finds
+     * them: keywords matched anywhere in the lowercased text. "track" yields "Track", which
+     * no sport is called, so such a brand matches nobody there either.
+     */
+    static List<String> sportsMentionedIn(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        return SPORT_KEYWORDS.stream()
+                .filter(lower::contains)
+                .map(keyword -> Character.toUpperCase(keyword.charAt(0)) + keyword.substring(1))
+                .toList();
+    }
+
+    /**
+     * Follower minimum for a brand that sets none, from its budget tier. Same string tests
+     * as the AI service's {@code _parse_budget_tier}, in the same order; anything else is
+     * the medium tier.
+     */
+    static long defaultMinFollowers(String budget) {
+        String b = budget != null ? budget.toLowerCase(Locale.ROOT) : "";
+        if (b.contains("under") || b.contains("5,000") && !b.contains("15")) {
+            return 1_000;
+        } else if (b.contains("5,000") && b.contains("15,000")) {
+            return 5_000;
+        } else if (b.contains("15,000") || b.contains("50,000")) {
+            return 10_000;
+        } else if (b.contains("50,000") && b.contains("100,000")) {
+            return 25_000;
+        } else if (b.contains("100,000") && b.contains("250,000")) {
+            return 50_000;
+        } else if (b.contains("250,000")) {
+            return 100_000;
+        }
+        return 10_000;
+    }
+
+    /**
+     * Python's {@code a or b} on two optional strings.
+     */
+    private static String firstPresent(String first, String second) {
+        return first != null && !first.isEmpty() ? first : second;
+    }
+
+    /**
+     * Brand preference columns hold JSON arrays as text; anything unreadable means no preference.
+     */
+    private List<String> parseList(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return strings(objectMapper.readValue(json, new TypeReference<List<Object>>() {}));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<String> strings(List<?> values) {
+        return values.stream()
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .toList();
+    }
+
+    /**
+     * Python truthiness, which decides whether a campaign value overrides the brand's.
+     */
+    private static boolean isPresent(Object value) {
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return false;
+        }
+        if (value instanceof Collection<?> c) {
+            return !c.isEmpty();
+        }
+        if (value instanceof String s) {
+            return !s.isEmpty();
+        }
+        if (value instanceof Number n) {
+            return n.doubleValue() != 0;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+    }
+
+    private record Criteria(UUID brandId, String brandName, CandidateFilter filter, ScoringCriteria scoring) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.nil.matching;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One athlete ranked by {@link MatchScoringEngine}.
+ *
+ * @param totalScore      0-100, rounded to one decimal like the AI service's rule score
+ * @param componentScores points per factor, keyed like the AI service's {@code component_scores}
+ */
+public record ScoredAthlete(
+        UUID athleteId,
+        String name,
+        long followers,
+        double totalScore,
+        Map<String, Double> componentScores) {
+}
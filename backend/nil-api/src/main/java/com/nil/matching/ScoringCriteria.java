@@ -0,0 +1,62 @@
+package com.nil.matching;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Brand inputs to the soft scoring in {@link MatchScoringEngine}.
+ *
+ * @param preferredSports sport display names the brand prefers, or null for no preference
+ * @param targetTags      interest tags associated with the brand's industry
+ * @param targetRegions   regions (see {@link #regionOf(String)}) the brand targets, empty for no preference
+ */
+public record ScoringCriteria(
+        Collection<String> preferredSports,
+        List<String> targetTags,
+        Set<String> targetRegions) {
+
+    /**
+     * Industry to interest tags. Same table as {@code INDUSTRY_TAG_MAP} in the AI service.
+     */
+    private static final Map<String, List<String>> INDUSTRY_TAGS = Map.of(
+            "Sports & Fitness", List.of("Fitness", "Sports", "Health", "Wellness", "Training", "Athletics"),
+            "Food & Beverage", List.of("Food", "Nutrition", "Cooking", "Lifestyle", "Health"),
+            "Apparel & Fashion", List.of("Fashion", "Sneakers", "Style", "Clothing", "Streetwear"),
+            "Technology", List.of("Tech", "Gaming", "Innovation", "Gadgets"),
+            "Health & Wellness", List.of("Health", "Wellness", "Fitness", "Mental Health", "Nutrition"),
+            "Financial Services", List.of("Finance", "Business", "Entrepreneurship", "Investing"),
+            "Automotive", List.of("Cars", "Automotive", "Trucks", "Racing"),
+            "Entertainment & Media", List.of("Entertainment", "Music", "Media", "Content", "Streaming"),
+            "Retail & E-commerce", List.of("Shopping", "Lifestyle", "Fashion", "Deals"),
+            "Travel & Hospitality", List.of("Travel", "Adventure", "Lifestyle", "Experiences"));
+
+    /**
+     * Conference display name to region. Same table as {@code CONFERENCE_REGIONS} in the AI service.
+     */
+    private static final Map<String, String> CONFERENCE_REGIONS = Map.ofEntries(
+            Map.entry("ACC", "East Coast"),
+            Map.entry("SEC", "South"),
+            Map.entry("Big Ten", "Midwest"),
+            Map.entry("Big 12", "Central"),
+            Map.entry("Pac-12", "West Coast"),
+            Map.entry("Big East", "East Coast"),
+            Map.entry("American", "National"),
+            Map.entry("Mountain West", "West"),
+            Map.entry("Sun Belt", "South"),
+            Map.entry("MAC", "Midwest"),
+            Map.entry("Conference USA", "South"));
+
+    public static ScoringCriteria of(Collection<String> preferredSports, String industry) {
+        List<String> tags = industry != null ? INDUSTRY_TAGS.getOrDefault(industry, List.of()) : List.of();
+        return new ScoringCriteria(preferredSports, tags, Set.of());
+    }
+
+    /**
+     * Region of a conference, or an empty string if it has none.
+     */
+    static String regionOf(String conference) {
+        return conference != null ? CONFERENCE_REGIONS.getOrDefault(conference, "") : "";
+    }
+}
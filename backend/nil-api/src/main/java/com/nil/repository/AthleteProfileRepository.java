@@ -3,16 +3,27 @@ package com.nil.repository;
 import com.nil.entity.AthleteProfile;
 import com.nil.entity.enums.Conference;
 import com.nil.entity.enums.Sport;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for AthleteProfile entity operations.
@@ -20,6 +31,86 @@ import java.util.UUID;
 @Repository
 public interface AthleteProfileRepository extends JpaRepository<AthleteProfile, UUID> {
 
+    String EXPORT_SELECT =
+            "SELECT ap.id AS id, u.firstName AS firstName, u.lastName AS lastName, " +
+            "ap.sport AS sport, ap.position AS position, ap.school AS school, ap.conference AS conference, " +
+            "ap.hometown AS hometown, ap.homeState AS homeState, ap.dateOfBirth AS dateOfBirth, " +
+            "ap.gender AS gender, ap.minimumDealValue AS minimumDealValue, ap.isActive AS isActive, " +
+            "ap.isAcceptingDeals AS isAcceptingDeals, ap.updatedAt AS updatedAt, " +
+            "p.likedCategories AS likedCategories, p.dislikedCategories AS dislikedCategories " +
+            "FROM AthleteProfile ap JOIN ap.user u LEFT JOIN ap.preferences p ";
+
+    String FACET_SELECT =
+            "SELECT ap.id AS id, ap.sport AS sport, ap.conference AS conference, ap.classYear AS classYear, " +
+            "ap.profileCompletenessScore AS completenessScore, ap.isActive AS isActive " +
+            "FROM AthleteProfile ap ";
+
+    /**
+     * Find athlete profile by ID with its user and social accounts in one query.
+     * Media is loaded with a single follow-up query. Preferences are joined because
+     * Hibernate cannot load the inverse side of a one-to-one lazily.
+     */
+    @EntityGraph(attributePaths = {"user", "preferences", "socialAccounts"})
+    Optional<AthleteProfile> findWithDetailsById(UUID id);
+
+    /**
+     * Page through athlete profiles with each profile's user and preferences joined in.
+     * Collections are loaded per page in batches (hibernate.default_batch_fetch_size).
+     */
+    @EntityGraph(attributePaths = {"user", "preferences"})
+    @Query(value = "SELECT ap FROM AthleteProfile ap",
+           countQuery = "SELECT COUNT(ap) FROM AthleteProfile ap")
+    Page<AthleteProfile> findAllWithUser(Pageable pageable);
+
+    /**
+     * First page of a keyset listing ordered by (created_at, id). No count query is run.
+     */
+    @EntityGraph(attributePaths = {"user", "preferences"})
+    @Query("SELECT ap FROM AthleteProfile ap ORDER BY ap.createdAt, ap.id")
+    List<AthleteProfile> findFirstByKeyset(Limit limit);
+
+    /**
+     * Next page of a keyset listing: profiles strictly after the given (created_at, id).
+     */
+    @EntityGraph(attributePaths = {"user", "preferences"})
+    @Query("SELECT ap FROM AthleteProfile ap " +
+           "WHERE (ap.createdAt, ap.id) > (:createdAt, :id) " +
+           "ORDER BY ap.createdAt, ap.id")
+    List<AthleteProfile> findAfterKeyset(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    /**
+     * Bump a profile's updated_at for a change stored in another table (user name, social
+     * accounts), so incremental exports pick it up.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AthleteProfile ap SET ap.updatedAt = :at WHERE ap.id = :id")
+    int touch(@Param("id") UUID id, @Param("at") Instant at);
+
+    /**
+     * Stream the export projection of every profile modified at or after {@code since},
+     * in (updated_at, id) order. Rows are read from a server-side cursor; callers must
+     * consume and close the stream inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT +
+           "WHERE ap.updatedAt >= :since " +
+           "ORDER BY ap.updatedAt, ap.id")
+    Stream<ExportView> streamForExport(@Param("since") Instant since);
+
+    /**
+     * Export projection of a single profile.
+     */
+    @Query(EXPORT_SELECT + "WHERE ap.id = :id")
+    Optional<ExportView> findExportViewById(@Param("id") UUID id);
+
     /**
      * Find athlete profile by user ID.
      */
@@ -30,6 +121,18 @@ public interface AthleteProfileRepository extends JpaRepository<AthleteProfile,
      */
     boolean existsByUserId(UUID userId);
 
+    /**
+     * IDs of the athlete profiles belonging to the given users.
+     */
+    @Query("SELECT ap.id FROM AthleteProfile ap WHERE ap.user.id IN :userIds")
+    List<UUID> findIdsByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Of the given user IDs, return those that already have a profile.
+     */
+    @Query("SELECT ap.user.id FROM AthleteProfile ap WHERE ap.user.id IN :userIds")
+    List<UUID> findUserIdsWithProfile(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Find athlete profile by user's Clerk ID.
      */
@@ -67,10 +170,54 @@ public interface AthleteProfileRepository extends JpaRepository<AthleteProfile,
     List<AthleteProfile> findBySportAndConference(Sport sport, Conference conference);
 
     /**
-     * Search athletes by school name (case-insensitive).
+     * Athletes whose school matches {@code query}, best first, using the pg_trgm GIN index
+     * {@code idx_athlete_school_trgm} (PostgreSQL only). Schools starting with the query rank
+     * above those with a word starting with it, then those containing it, then those merely
+     * similar (pg_trgm {@code %}); ties go to the higher trigram similarity.
+     *
+     * @param query   lower-cased search text
+     * @param pattern {@code query} with LIKE wildcards escaped
+     */
+    @Query(value = "SELECT ap.id AS id, ap.school AS matched, " +
+           "TRIM(CONCAT(u.first_name, ' ', u.last_name)) AS label, " +
+           "CAST(CASE WHEN lower(ap.school) LIKE CONCAT(:pattern, '%') THEN 3 " +
+           "WHEN lower(ap.school) LIKE CONCAT('% ', :pattern, '%') THEN 2 " +
+           "WHEN lower(ap.school) LIKE CONCAT('%', :pattern, '%') THEN 1 ELSE 0 END " +
+           "+ similarity(lower(ap.school), :query) AS double precision) AS score " +
+           "FROM athlete_profiles ap JOIN users u ON u.id = ap.user_id " +
+           "WHERE lower(ap.school) LIKE CONCAT('%', :pattern, '%') OR lower(ap.school) % :query " +
+           "ORDER BY score DESC, ap.school, ap.id " +
+           "LIMIT :limit", nativeQuery = true)
+    List<SearchView> searchBySchool(@Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Athletes whose school starts with {@code pattern}, by school, using the
+     * {@code text_pattern_ops} index {@code idx_athlete_school_prefix} (PostgreSQL only). For
+     * queries shorter than a trigram, which the trigram index cannot narrow down.
+     *
+     * @param pattern lower-cased search text with LIKE wildcards escaped
+     */
+    @Query(value = "SELECT ap.id AS id, ap.school AS matched, " +
+           "TRIM(CONCAT(u.first_name, ' ', u.last_name)) AS label, CAST(3 AS double precision) AS score " +
+           "FROM athlete_profiles ap JOIN users u ON u.id = ap.user_id " +
+           "WHERE lower(ap.school) LIKE CONCAT(:pattern, '%') " +
+           "ORDER BY ap.school, ap.id " +
+           "LIMIT :limit", nativeQuery = true)
+    List<SearchView> searchBySchoolPrefix(@Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * School and athlete name of every athlete, for the in-memory school search index.
      */
-    @Query("SELECT ap FROM AthleteProfile ap WHERE LOWER(ap.school) LIKE LOWER(CONCAT('%', :school, '%'))")
-    List<AthleteProfile> searchBySchool(@Param("school") String school);
+    @Query("SELECT ap.id AS id, ap.school AS matched, TRIM(CONCAT(u.firstName, ' ', u.lastName)) AS label " +
+           "FROM AthleteProfile ap JOIN ap.user u WHERE ap.school IS NOT NULL")
+    List<SearchView> findAllSchools();
+
+    /**
+     * School and athlete name of one athlete, for the in-memory school search index.
+     */
+    @Query("SELECT ap.id AS id, ap.school AS matched, TRIM(CONCAT(u.firstName, ' ', u.lastName)) AS label " +
+           "FROM AthleteProfile ap JOIN ap.user u WHERE ap.id = :id")
+    Optional<SearchView> findSchoolById(@Param("id") UUID id);
 
     /**
      * Find athletes with minimum profile completeness score.
@@ -109,5 +256,62 @@ public interface AthleteProfileRepository extends JpaRepository<AthleteProfile,
             @Param("minCompleteness") Integer minCompleteness,
             Pageable pageable
     );
-}
 
+    /**
+     * Facet values of every active athlete, for the faceted search index.
+     */
+    @Query(FACET_SELECT + "WHERE ap.isActive = true")
+    List<FacetView> findActiveFacetViews();
+
+    /**
+     * Facet values of one athlete, for the faceted search index.
+     */
+    @Query(FACET_SELECT + "WHERE ap.id = :id")
+    Optional<FacetView> findFacetViewById(@Param("id") UUID id);
+
+    /**
+     * Search hit read by {@link #searchBySchool}, {@link #findAllSchools()} and
+     * {@link #findSchoolById(UUID)}; the score is null outside {@code searchBySchool}.
+     */
+    interface SearchView {
+        UUID getId();
+        String getMatched();
+        String getLabel();
+        Double getScore();
+    }
+
+    /**
+     * Row read by {@link #findActiveFacetViews()} and {@link #findFacetViewById(UUID)}.
+     */
+    interface FacetView {
+        UUID getId();
+        Sport getSport();
+        Conference getConference();
+        String getClassYear();
+        Integer getCompletenessScore();
+        Boolean getIsActive();
+    }
+
+    /**
+     * Flat row read by {@link #streamForExport(Instant)} and {@link #findExportViewById(UUID)}.
+     */
+    interface ExportView {
+        UUID getId();
+        String getFirstName();
+        String getLastName();
+        Sport getSport();
+        String getPosition();
+        String getSchool();
+        Conference getConference();
+        String getHometown();
+        String getHomeState();
+        LocalDate getDateOfBirth();
+        String getGender();
+        Double getMinimumDealValue();
+        Boolean getIsActive();
+        Boolean getIsAcceptingDeals();
+        Instant getUpdatedAt();
+        String getLikedCategories();
+        String getDislikedCategories();
+    }
+}
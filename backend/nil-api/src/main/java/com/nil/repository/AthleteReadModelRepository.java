@@ -0,0 +1,30 @@
+package com.nil.repository;
+
+import com.nil.entity.AthleteReadModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for AthleteReadModel entity operations.
+ */
+@Repository
+public interface AthleteReadModelRepository extends JpaRepository<AthleteReadModel, UUID> {
+
+    /**
+     * Find the read model of the athlete with this Clerk user ID.
+     */
+    Optional<AthleteReadModel> findByClerkId(String clerkId);
+
+    /**
+     * IDs of athlete profiles that have no read model row yet (for backfill).
+     */
+    @Query("SELECT ap.id FROM AthleteProfile ap " +
+           "WHERE NOT EXISTS (SELECT 1 FROM AthleteReadModel r WHERE r.id = ap.id)")
+    List<UUID> findMissingProfileIds(Limit limit);
+}
@@ -2,11 +2,15 @@ package com.nil.repository;
 
 import com.nil.entity.AthleteSocialAccount;
 import com.nil.entity.enums.SocialPlatform;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,11 +21,41 @@ import java.util.UUID;
 @Repository
 public interface AthleteSocialAccountRepository extends JpaRepository<AthleteSocialAccount, UUID> {
 
+    /**
+     * Find a social account and lock its row until the transaction ends. Snapshot ingestion
+     * takes this lock so writes to one account's rollups are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sa FROM AthleteSocialAccount sa WHERE sa.id = :id")
+    Optional<AthleteSocialAccount> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Lock several accounts for snapshot ingestion, in ID order so concurrent batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sa FROM AthleteSocialAccount sa WHERE sa.id IN :ids ORDER BY sa.id")
+    List<AthleteSocialAccount> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * IDs of accounts that have snapshots but no latest-snapshot pointer yet (for backfill).
+     */
+    @Query("SELECT sa.id FROM AthleteSocialAccount sa WHERE sa.latestSnapshotId IS NULL " +
+           "AND EXISTS (SELECT 1 FROM AthleteSocialSnapshot s WHERE s.socialAccount.id = sa.id)")
+    List<UUID> findIdsMissingLatestSnapshot(Limit limit);
+
     /**
      * Find all social accounts for an athlete.
      */
     List<AthleteSocialAccount> findByAthleteProfileId(UUID athleteProfileId);
 
+    /**
+     * Follower metrics of all social accounts for a batch of athletes.
+     */
+    @Query("SELECT sa.athleteProfile.id AS athleteProfileId, sa.platform AS platform, " +
+           "sa.followers AS followers, sa.engagementRate AS engagementRate " +
+           "FROM AthleteSocialAccount sa WHERE sa.athleteProfile.id IN :profileIds")
+    List<MetricsView> findMetricsByAthleteProfileIds(@Param("profileIds") Collection<UUID> profileIds);
+
     /**
      * Find specific platform account for athlete.
      */
@@ -58,5 +92,14 @@ public interface AthleteSocialAccountRepository extends JpaRepository<AthleteSoc
      * Delete all social accounts for an athlete.
      */
     void deleteByAthleteProfileId(UUID athleteProfileId);
-}
 
+    /**
+     * Row read by {@link #findMetricsByAthleteProfileIds(Collection)}.
+     */
+    interface MetricsView {
+        UUID getAthleteProfileId();
+        SocialPlatform getPlatform();
+        Long getFollowers();
+        Double getEngagementRate();
+    }
+}
@@ -1,6 +1,8 @@
 package com.nil.repository;
 
 import com.nil.entity.AthleteSocialSnapshot;
+import com.nil.entity.enums.SocialPlatform;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,6 +44,30 @@ public interface AthleteSocialSnapshotRepository extends JpaRepository<AthleteSo
             @Param("endDate") Instant endDate
     );
 
+    /**
+     * ID of the account's snapshot taken at exactly {@code timestamp}, used to skip a resent snapshot.
+     */
+    @Query("SELECT s.id FROM AthleteSocialSnapshot s " +
+           "WHERE s.socialAccount.id = :accountId AND s.snapshotTimestamp = :timestamp")
+    Optional<UUID> findIdByAccountAndTimestamp(
+            @Param("accountId") UUID accountId,
+            @Param("timestamp") Instant timestamp
+    );
+
+    /**
+     * Account and timestamp of the existing snapshots of some accounts within a time range,
+     * used to skip re-ingested snapshots.
+     */
+    @Query("SELECT s.socialAccount.id AS socialAccountId, s.snapshotTimestamp AS snapshotTimestamp " +
+           "FROM AthleteSocialSnapshot s " +
+           "WHERE s.socialAccount.id IN :accountIds " +
+           "AND s.snapshotTimestamp BETWEEN :startDate AND :endDate")
+    List<SnapshotKeyView> findKeysByAccountsAndDateRange(
+            @Param("accountIds") Collection<UUID> accountIds,
+            @Param("startDate") Instant startDate,
+            @Param("endDate") Instant endDate
+    );
+
     /**
      * Find snapshot closest to a specific timestamp (for deal reference).
      */
@@ -55,19 +82,75 @@ public interface AthleteSocialSnapshotRepository extends JpaRepository<AthleteSo
     );
 
     /**
-     * Get latest snapshots for all accounts of an athlete.
+     * Get latest snapshots for all accounts of an athlete, through each account's
+     * latest-snapshot pointer.
      */
-    @Query("SELECT s FROM AthleteSocialSnapshot s " +
-           "WHERE s.socialAccount.athleteProfile.id = :athleteId " +
-           "AND s.snapshotTimestamp = (" +
-           "  SELECT MAX(s2.snapshotTimestamp) FROM AthleteSocialSnapshot s2 " +
-           "  WHERE s2.socialAccount.id = s.socialAccount.id" +
-           ")")
+    @Query("SELECT s FROM AthleteSocialAccount sa JOIN AthleteSocialSnapshot s ON s.id = sa.latestSnapshotId " +
+           "WHERE sa.athleteProfile.id = :athleteId")
     List<AthleteSocialSnapshot> findLatestSnapshotsForAthlete(@Param("athleteId") UUID athleteId);
 
     /**
-     * Delete old snapshots (for cleanup).
+     * Metric columns of the latest snapshot of each of an athlete's accounts, without the JSON columns.
+     */
+    @Query("SELECT sa.id AS socialAccountId, sa.platform AS platform, s.id AS snapshotId, " +
+           "s.snapshotTimestamp AS snapshotTimestamp, s.followers AS followers, " +
+           "s.following AS following, s.postsCount AS postsCount, s.engagementRate AS engagementRate, " +
+           "s.avgLikes AS avgLikes, s.avgComments AS avgComments, s.avgViews AS avgViews, " +
+           "s.avgShares AS avgShares, s.avgSaves AS avgSaves " +
+           "FROM AthleteSocialAccount sa JOIN AthleteSocialSnapshot s ON s.id = sa.latestSnapshotId " +
+           "WHERE sa.athleteProfile.id = :athleteId")
+    List<LatestMetricsView> findLatestMetricsForAthlete(@Param("athleteId") UUID athleteId);
+
+    /**
+     * Metric columns of an account's snapshots in a time range, oldest first, without the
+     * JSON columns. Backs RAW resolution time series.
+     */
+    @Query("SELECT s.snapshotTimestamp AS snapshotTimestamp, s.followers AS followers, " +
+           "s.following AS following, s.postsCount AS postsCount, s.engagementRate AS engagementRate, " +
+           "s.avgLikes AS avgLikes, s.avgComments AS avgComments, s.avgViews AS avgViews, " +
+           "s.avgShares AS avgShares, s.avgSaves AS avgSaves " +
+           "FROM AthleteSocialSnapshot s " +
+           "WHERE s.socialAccount.id = :accountId " +
+           "AND s.snapshotTimestamp BETWEEN :startDate AND :endDate " +
+           "ORDER BY s.snapshotTimestamp")
+    List<MetricsView> findMetricsByAccountAndDateRange(
+            @Param("accountId") UUID accountId,
+            @Param("startDate") Instant startDate,
+            @Param("endDate") Instant endDate,
+            Limit limit
+    );
+
+    /**
+     * Row read by {@link #findKeysByAccountsAndDateRange}.
+     */
+    interface SnapshotKeyView {
+        UUID getSocialAccountId();
+        Instant getSnapshotTimestamp();
+    }
+
+    /**
+     * Row read by {@link #findMetricsByAccountAndDateRange}.
+     */
+    interface MetricsView {
+        Instant getSnapshotTimestamp();
+        Long getFollowers();
+        Long getFollowing();
+        Long getPostsCount();
+        Double getEngagementRate();
+        Long getAvgLikes();
+        Long getAvgComments();
+        Long getAvgViews();
+        Long getAvgShares();
+        Long getAvgSaves();
+    }
+
+    /**
+     * Row read by {@link #findLatestMetricsForAthlete(UUID)}.
      */
-    void deleteBySocialAccountIdAndSnapshotTimestampBefore(UUID socialAccountId, Instant before);
+    interface LatestMetricsView extends MetricsView {
+        UUID getSocialAccountId();
+        SocialPlatform getPlatform();
+        UUID getSnapshotId();
+    }
 }
 
@@ -0,0 +1,21 @@
+package com.nil.repository;
+
+import com.nil.entity.AthleteTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for AthleteTombstone entity operations.
+ */
+@Repository
+public interface AthleteTombstoneRepository extends JpaRepository<AthleteTombstone, UUID> {
+
+    /**
+     * Tombstones of profiles deleted at or after {@code since}, in (deleted_at, id) order.
+     */
+    List<AthleteTombstone> findByDeletedAtGreaterThanEqualOrderByDeletedAtAscIdAsc(Instant since);
+}
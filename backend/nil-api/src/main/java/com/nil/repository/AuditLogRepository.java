@@ -44,10 +44,5 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
      * Find audit logs by entity type.
      */
     Page<AuditLog> findByEntityTypeOrderByTimestampDesc(String entityType, Pageable pageable);
-
-    /**
-     * Delete old audit logs (for GDPR compliance if needed).
-     */
-    void deleteByTimestampBefore(Instant before);
 }
 
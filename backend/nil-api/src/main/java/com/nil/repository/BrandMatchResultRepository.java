@@ -0,0 +1,30 @@
+package com.nil.repository;
+
+import com.nil.entity.BrandMatchResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for BrandMatchResult entity operations.
+ */
+@Repository
+public interface BrandMatchResultRepository extends JpaRepository<BrandMatchResult, UUID> {
+
+    /**
+     * Find a brand's latest ranked matches, best first.
+     */
+    List<BrandMatchResult> findByBrandIdOrderByRankAsc(UUID brandId);
+
+    /**
+     * Delete every row not written by the given run.
+     */
+    @Modifying
+    @Query("DELETE FROM BrandMatchResult r WHERE r.runId <> :runId")
+    int deleteByRunIdNot(@Param("runId") UUID runId);
+}
@@ -2,13 +2,17 @@ package com.nil.repository;
 
 import com.nil.entity.BrandProfile;
 import com.nil.entity.enums.BrandCategory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +23,43 @@ import java.util.UUID;
 @Repository
 public interface BrandProfileRepository extends JpaRepository<BrandProfile, UUID> {
 
+    /**
+     * Find brand profile by ID with its user and social accounts in one query.
+     * The user's (normally empty) athlete profile is joined because Hibernate cannot load
+     * the inverse side of a one-to-one lazily.
+     */
+    @EntityGraph(attributePaths = {"user", "user.athleteProfile", "socialAccounts"})
+    Optional<BrandProfile> findWithDetailsById(UUID id);
+
+    /**
+     * Page through brand profiles with each profile's user (and its athlete profile) joined in.
+     * Social accounts are loaded per page in batches (hibernate.default_batch_fetch_size).
+     */
+    @EntityGraph(attributePaths = {"user", "user.athleteProfile"})
+    @Query(value = "SELECT bp FROM BrandProfile bp",
+           countQuery = "SELECT COUNT(bp) FROM BrandProfile bp")
+    Page<BrandProfile> findAllWithUser(Pageable pageable);
+
+    /**
+     * First page of a keyset listing ordered by (created_at, id). No count query is run.
+     */
+    @EntityGraph(attributePaths = {"user", "user.athleteProfile"})
+    @Query("SELECT bp FROM BrandProfile bp ORDER BY bp.createdAt, bp.id")
+    List<BrandProfile> findFirstByKeyset(Limit limit);
+
+    /**
+     * Next page of a keyset listing: profiles strictly after the given (created_at, id).
+     */
+    @EntityGraph(attributePaths = {"user", "user.athleteProfile"})
+    @Query("SELECT bp FROM BrandProfile bp " +
+           "WHERE (bp.createdAt, bp.id) > (:createdAt, :id) " +
+           "ORDER BY bp.createdAt, bp.id")
+    List<BrandProfile> findAfterKeyset(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
     /**
      * Find brand profile by user ID.
      */
@@ -29,6 +70,12 @@ public interface BrandProfileRepository extends JpaRepository<BrandProfile, UUID
      */
     boolean existsByUserId(UUID userId);
 
+    /**
+     * Of the given user IDs, return those that already have a profile.
+     */
+    @Query("SELECT bp.user.id FROM BrandProfile bp WHERE bp.user.id IN :userIds")
+    List<UUID> findUserIdsWithProfile(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Find brand profile by user's Clerk ID.
      */
@@ -56,10 +103,52 @@ public interface BrandProfileRepository extends JpaRepository<BrandProfile, UUID
     Page<BrandProfile> findByIndustry(String industry, Pageable pageable);
 
     /**
-     * Search brands by company name (case-insensitive).
+     * Brands whose company name matches {@code query}, best first, using the pg_trgm GIN index
+     * {@code idx_brand_company_trgm} (PostgreSQL only). Ranked like
+     * {@link AthleteProfileRepository#searchBySchool}.
+     *
+     * @param query   lower-cased search text
+     * @param pattern {@code query} with LIKE wildcards escaped
+     */
+    @Query(value = "SELECT bp.id AS id, bp.company_name AS matched, bp.company_name AS label, " +
+           "CAST(CASE WHEN lower(bp.company_name) LIKE CONCAT(:pattern, '%') THEN 3 " +
+           "WHEN lower(bp.company_name) LIKE CONCAT('% ', :pattern, '%') THEN 2 " +
+           "WHEN lower(bp.company_name) LIKE CONCAT('%', :pattern, '%') THEN 1 ELSE 0 END " +
+           "+ similarity(lower(bp.company_name), :query) AS double precision) AS score " +
+           "FROM brand_profiles bp " +
+           "WHERE lower(bp.company_name) LIKE CONCAT('%', :pattern, '%') OR lower(bp.company_name) % :query " +
+           "ORDER BY score DESC, bp.company_name, bp.id " +
+           "LIMIT :limit", nativeQuery = true)
+    List<AthleteProfileRepository.SearchView> searchByCompanyName(
+            @Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Brands whose company name starts with {@code pattern}, by name, using the
+     * {@code text_pattern_ops} index {@code idx_brand_company_prefix} (PostgreSQL only). For
+     * queries shorter than a trigram, like {@link AthleteProfileRepository#searchBySchoolPrefix}.
+     *
+     * @param pattern lower-cased search text with LIKE wildcards escaped
+     */
+    @Query(value = "SELECT bp.id AS id, bp.company_name AS matched, bp.company_name AS label, " +
+           "CAST(3 AS double precision) AS score " +
+           "FROM brand_profiles bp " +
+           "WHERE lower(bp.company_name) LIKE CONCAT(:pattern, '%') " +
+           "ORDER BY bp.company_name, bp.id " +
+           "LIMIT :limit", nativeQuery = true)
+    List<AthleteProfileRepository.SearchView> searchByCompanyNamePrefix(
+            @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Company name of every brand, for the in-memory company search index.
+     */
+    @Query("SELECT bp.id AS id, bp.companyName AS matched, bp.companyName AS label FROM BrandProfile bp")
+    List<AthleteProfileRepository.SearchView> findAllCompanyNames();
+
+    /**
+     * Company name of one brand, for the in-memory company search index.
      */
-    @Query("SELECT bp FROM BrandProfile bp WHERE LOWER(bp.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))")
-    List<BrandProfile> searchByCompanyName(@Param("companyName") String companyName);
+    @Query("SELECT bp.id AS id, bp.companyName AS matched, bp.companyName AS label FROM BrandProfile bp WHERE bp.id = :id")
+    Optional<AthleteProfileRepository.SearchView> findCompanyNameById(@Param("id") UUID id);
 
     /**
      * Find brands with minimum profile completeness score.
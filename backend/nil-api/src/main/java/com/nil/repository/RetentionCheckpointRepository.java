@@ -0,0 +1,12 @@
+package com.nil.repository;
+
+import com.nil.entity.RetentionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for RetentionCheckpoint entity operations.
+ */
+@Repository
+public interface RetentionCheckpointRepository extends JpaRepository<RetentionCheckpoint, String> {
+}
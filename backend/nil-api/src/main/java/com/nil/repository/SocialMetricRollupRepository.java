@@ -0,0 +1,30 @@
+package com.nil.repository;
+
+import com.nil.entity.SocialMetricRollup;
+import com.nil.entity.enums.MetricResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for SocialMetricRollup entity operations.
+ */
+@Repository
+public interface SocialMetricRollupRepository extends JpaRepository<SocialMetricRollup, UUID> {
+
+    /**
+     * Find an account's rollups of one resolution whose buckets start in the range, oldest first.
+     */
+    List<SocialMetricRollup> findBySocialAccountIdAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+            UUID socialAccountId, MetricResolution resolution, Instant from, Instant to);
+
+    /**
+     * Find existing rollups for the given buckets of an account, to merge new snapshots into.
+     */
+    List<SocialMetricRollup> findBySocialAccountIdAndResolutionAndBucketStartIn(
+            UUID socialAccountId, MetricResolution resolution, Collection<Instant> bucketStarts);
+}
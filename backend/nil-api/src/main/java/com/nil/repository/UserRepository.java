@@ -1,11 +1,13 @@
 package com.nil.repository;
 
 import com.nil.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +23,12 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     Optional<User> findByClerkId(String clerkId);
 
+    /**
+     * Find users by Clerk IDs (batched user sync), with roles loaded in the same query.
+     */
+    @EntityGraph(attributePaths = "roles")
+    List<User> findByClerkIdIn(Collection<String> clerkIds);
+
     /**
      * Find user by email.
      */
@@ -0,0 +1,287 @@
+package com.nil.search;
+
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.Sport;
+import com.nil.repository.AthleteProfileRepository;
+import com.nil.repository.AthleteProfileRepository.FacetView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory facet index over active athletes, answering a filtered page of athlete IDs
+ * together with the live count of every sport, conference, class year and completeness
+ * bucket in one pass, without a count query per facet value.
+ *
+ * Every facet value has a bitset of the slots holding it, as does every completeness score
+ * from 0 to 100. Filters are unions within a facet and
+ * intersections across facets. A facet's counts apply every filter except its own, so
+ * choosing a sport still shows how many athletes each other sport would add. Pages are
+ * ordered by completeness, highest first, walking the per-score bitsets from 100 down.
+ */
+@Component
+public class AthleteFacetIndex extends SlotIndex<FacetView, AthleteFacetIndex.Slots> {
+
+    public static final String SPORT = "sport";
+    public static final String CONFERENCE = "conference";
+    public static final String CLASS_YEAR = "classYear";
+    public static final String COMPLETENESS = "completeness";
+
+    /**
+     * Completeness facet buckets as [low, high] score ranges.
+     */
+    private static final int[][] COMPLETENESS_BUCKETS = {{0, 24}, {25, 49}, {50, 74}, {75, 100}};
+
+    /**
+     * Filter values; a null set or minimum leaves that facet unfiltered.
+     */
+    public record Filter(Set<Sport> sports, Set<Conference> conferences, Set<String> classYears,
+                         Integer minCompleteness) {}
+
+    /**
+     * One page of matching athlete IDs, the total match count and the counts per facet value.
+     */
+    public record Result(List<UUID> ids, int total, Map<String, Map<String, Integer>> facets) {}
+
+    private final AthleteProfileRepository athleteProfileRepository;
+    private final Timer queryTimer;
+
+    public AthleteFacetIndex(
+            AthleteProfileRepository athleteProfileRepository,
+            MeterRegistry meterRegistry,
+            @Value("${search.facets.rebuild-interval:PT30M}") Duration rebuildInterval) {
+        super("facet index", rebuildInterval);
+        this.athleteProfileRepository = athleteProfileRepository;
+        this.queryTimer = Timer.builder("search.facets.query")
+                .description("Time to filter, count and page athletes in the facet index")
+                .register(meterRegistry);
+        meterRegistry.gauge("search.facets.size", this, AthleteFacetIndex::size);
+    }
+
+    /**
+     * Filter, count and page the active athletes.
+     *
+     * @return empty until the first load has finished
+     */
+    public Optional<Result> search(Filter filter, int page, int size) {
+        return read(slots -> {
+            long start = System.nanoTime();
+            Result result = slots.search(filter, page, size);
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        });
+    }
+
+    @Override
+    protected Slots newStore() {
+        return new Slots();
+    }
+
+    @Override
+    protected void load(Consumer<FacetView> sink) {
+        athleteProfileRepository.findActiveFacetViews().forEach(sink);
+    }
+
+    @Override
+    protected Optional<FacetView> find(UUID id) {
+        return athleteProfileRepository.findFacetViewById(id);
+    }
+
+    @Override
+    protected boolean isEligible(FacetView row) {
+        return Boolean.TRUE.equals(row.getIsActive());
+    }
+
+    /**
+     * Facet values per slot, with a bitset per facet value and per completeness score.
+     */
+    static final class Slots extends SlotStore<FacetView> {
+
+        private static final int NONE = -1;
+
+        private int[] sportOrdinals = new int[INITIAL_CAPACITY];
+        private int[] conferenceOrdinals = new int[INITIAL_CAPACITY];
+        private String[] classYears = new String[INITIAL_CAPACITY];
+        private int[] scores = new int[INITIAL_CAPACITY];
+
+        private final BitSet[] bySport = newBitSets(Sport.values().length);
+        private final BitSet[] byConference = newBitSets(Conference.values().length);
+        // Class year as stored -> slots; sorted so the facet lists years in a stable order
+        private final SortedMap<String, BitSet> byClassYear = new TreeMap<>();
+        private final BitSet[] byScore = newBitSets(101);
+
+        @Override
+        protected void put(FacetView row) {
+            int slot = slotFor(row.getId());
+
+            sportOrdinals[slot] = row.getSport() != null ? row.getSport().ordinal() : NONE;
+            conferenceOrdinals[slot] = row.getConference() != null ? row.getConference().ordinal() : NONE;
+            classYears[slot] = row.getClassYear() != null && !row.getClassYear().isBlank() ? row.getClassYear() : null;
+            scores[slot] = row.getCompletenessScore() != null ? Math.max(0, Math.min(100, row.getCompletenessScore())) : 0;
+
+            if (sportOrdinals[slot] != NONE) {
+                bySport[sportOrdinals[slot]].set(slot);
+            }
+            if (conferenceOrdinals[slot] != NONE) {
+                byConference[conferenceOrdinals[slot]].set(slot);
+            }
+            if (classYears[slot] != null) {
+                byClassYear.computeIfAbsent(classYears[slot], y -> new BitSet()).set(slot);
+            }
+            byScore[scores[slot]].set(slot);
+        }
+
+        @Override
+        protected void release(int slot) {
+            classYears[slot] = null;
+        }
+
+        Result search(Filter filter, int page, int size) {
+            BitSet sports = union(filter.sports(), sport -> bySport[sport.ordinal()]);
+            BitSet conferences = union(filter.conferences(), conference -> byConference[conference.ordinal()]);
+            BitSet years = union(filter.classYears(), year -> byClassYear.getOrDefault(year, new BitSet()));
+            BitSet complete = null;
+            if (filter.minCompleteness() != null) {
+                complete = new BitSet();
+                for (int score = Math.max(0, filter.minCompleteness()); score <= 100; score++) {
+                    complete.or(byScore[score]);
+                }
+            }
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            BitSet base = intersect(conferences, years, complete);
+            facets.put(SPORT, count(base, Sport.values(), sport -> bySport[sport.ordinal()], filter.sports()));
+            base = intersect(sports, years, complete);
+            facets.put(CONFERENCE, count(base, Conference.values(),
+                    conference -> byConference[conference.ordinal()], filter.conferences()));
+            base = intersect(sports, conferences, complete);
+            facets.put(CLASS_YEAR, count(base, byClassYear.keySet().toArray(String[]::new),
+                    byClassYear::get, filter.classYears()));
+            base = intersect(sports, conferences, years);
+            facets.put(COMPLETENESS, countCompleteness(base));
+
+            BitSet matches = intersect(sports, conferences, years);
+            if (complete != null) {
+                matches.and(complete);
+            }
+            return new Result(page(matches, page, size), matches.cardinality(), facets);
+        }
+
+        /**
+         * IDs of the requested page of {@code matches}, by completeness then slot. Whole
+         * scores before the page are skipped by their count.
+         */
+        private List<UUID> page(BitSet matches, int page, int size) {
+            long skip = (long) page * size;
+            List<UUID> result = new ArrayList<>(size);
+            for (int score = 100; score >= 0 && result.size() < size; score--) {
+                BitSet group = (BitSet) byScore[score].clone();
+                group.and(matches);
+                int count = group.cardinality();
+                if (skip >= count) {
+                    skip -= count;
+                    continue;
+                }
+                for (int slot = group.nextSetBit(0); slot >= 0 && result.size() < size; slot = group.nextSetBit(slot + 1)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        result.add(ids[slot]);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Occupied slots in every non-null set.
+         */
+        private BitSet intersect(BitSet... sets) {
+            BitSet result = (BitSet) occupied.clone();
+            for (BitSet set : sets) {
+                if (set != null) {
+                    result.and(set);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Counts of each value within {@code base}, listing values that occur or are selected.
+         */
+        private static <T> Map<String, Integer> count(BitSet base, T[] values,
+                                                      Function<T, BitSet> slotsOf,
+                                                      Set<T> selected) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (T value : values) {
+                BitSet slots = (BitSet) slotsOf.apply(value).clone();
+                slots.and(base);
+                int n = slots.cardinality();
+                if (n > 0 || (selected != null && selected.contains(value))) {
+                    counts.put(value.toString(), n);
+                }
+            }
+            return counts;
+        }
+
+        private Map<String, Integer> countCompleteness(BitSet base) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (int[] bucket : COMPLETENESS_BUCKETS) {
+                int n = 0;
+                for (int score = bucket[0]; score <= bucket[1]; score++) {
+                    if (!byScore[score].isEmpty()) {
+                        BitSet slots = (BitSet) byScore[score].clone();
+                        slots.and(base);
+                        n += slots.cardinality();
+                    }
+                }
+                counts.put(bucket[0] + "-" + bucket[1], n);
+            }
+            return counts;
+        }
+
+        private static <T> BitSet union(Set<T> values, Function<T, BitSet> slotsOf) {
+            if (values == null) {
+                return null;
+            }
+            BitSet result = new BitSet();
+            for (T value : values) {
+                result.or(slotsOf.apply(value));
+            }
+            return result;
+        }
+
+        @Override
+        protected void grow(int capacity) {
+            sportOrdinals = Arrays.copyOf(sportOrdinals, capacity);
+            conferenceOrdinals = Arrays.copyOf(conferenceOrdinals, capacity);
+            classYears = Arrays.copyOf(classYears, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+        }
+
+        @Override
+        protected void clear(int slot) {
+            if (sportOrdinals[slot] != NONE) {
+                bySport[sportOrdinals[slot]].clear(slot);
+            }
+            if (conferenceOrdinals[slot] != NONE) {
+                byConference[conferenceOrdinals[slot]].clear(slot);
+            }
+            if (classYears[slot] != null) {
+                BitSet year = byClassYear.get(classYears[slot]);
+                year.clear(slot);
+                if (year.isEmpty()) {
+                    byClassYear.remove(classYears[slot]);
+                }
+            }
+            byScore[scores[slot]].clear(slot);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.nil.search;
+
+import com.nil.service.AthleteProfileChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory index over athletes, held in a {@link SlotStore}.
+ *
+ * The store is loaded at startup and rebuilt periodically. In between, each
+ * {@link AthleteProfileChangedEvent} re-reads that athlete once its transaction has committed.
+ * All writes run on one background thread, so they apply in order; queries run concurrently
+ * under a read lock.
+ *
+ * @param <R> the row an athlete is loaded as
+ * @param <S> the store type
+ */
+public abstract class SlotIndex<R, S extends SlotStore<R>> {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotIndex.class);
+
+    private final String name;
+    private final Duration rebuildInterval;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService worker;
+    private S store; // Null until the first load
+    private volatile boolean ready;
+
+    /**
+     * @param name used in log messages and, hyphenated, as the worker thread name
+     */
+    protected SlotIndex(String name, Duration rebuildInterval) {
+        this.name = name;
+        this.rebuildInterval = rebuildInterval;
+        this.worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, name.replace(' ', '-'));
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    protected abstract S newStore();
+
+    /**
+     * Pass every row to {@code sink}; rows that are not {@link #isEligible eligible} are skipped.
+     */
+    protected abstract void load(Consumer<R> sink) throws Exception;
+
+    /**
+     * The current row of one athlete, or empty if it no longer exists.
+     */
+    protected abstract Optional<R> find(UUID id);
+
+    protected abstract boolean isEligible(R row);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long intervalMs = rebuildInterval.toMillis();
+        worker.scheduleWithFixedDelay(this::rebuild, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Queue a re-read of the changed athlete. Runs after commit so the new state is visible.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAthleteChanged(AthleteProfileChangedEvent event) {
+        try {
+            worker.execute(() -> refresh(event));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Run {@code action} over the store under the read lock. The store must not be used
+     * after {@code action} returns.
+     *
+     * @return empty until the first load has finished
+     */
+    protected <T> Optional<T> read(Function<S, T> action) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(action.apply(store));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store != null ? store.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        S next = newStore();
+        try {
+            load(row -> {
+                if (isEligible(row)) {
+                    next.append(row);
+                }
+            });
+            next.finishLoad();
+        } catch (Exception e) {
+            log.error("Failed to load {}, keeping previous snapshot: {}", name, e.getMessage());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            store = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Loaded {} with {} athletes in {}ms", name, next.size(), System.currentTimeMillis() - start);
+    }
+
+    private void refresh(AthleteProfileChangedEvent event) {
+        if (!ready) {
+            // The initial load has not run yet and will read the committed change
+            return;
+        }
+        try {
+            Optional<R> row = event.deleted() ? Optional.empty() : find(event.profileId());
+            lock.writeLock().lock();
+            try {
+                if (row.isPresent() && isEligible(row.get())) {
+                    store.put(row.get());
+                } else {
+                    store.remove(event.profileId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            // The next rebuild corrects the entry
+            log.warn("Failed to refresh athlete {} in {}: {}", event.profileId(), name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.nil.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Slot storage behind a {@link SlotIndex}. Each athlete occupies a slot; subclasses keep the
+ * athlete's values in parallel arrays indexed by slot and bitsets of the slots holding each
+ * value. Freed slots are reused before new ones are allocated, so the bitsets stay dense.
+ *
+ * Not thread safe; guarded by the owning index's lock.
+ *
+ * @param <R> the row an athlete is stored from
+ */
+public abstract class SlotStore<R> {
+
+    protected static final int INITIAL_CAPACITY = 256;
+
+    private final Map<UUID, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int highWater;
+
+    protected UUID[] ids = new UUID[INITIAL_CAPACITY];
+    protected final BitSet occupied = new BitSet();
+
+    /**
+     * Store the row's athlete, replacing any previous values.
+     */
+    protected abstract void put(R row);
+
+    /**
+     * Store a row during a bulk load. {@link #finishLoad()} is called once all rows are in.
+     */
+    protected void append(R row) {
+        put(row);
+    }
+
+    protected void finishLoad() {
+    }
+
+    /**
+     * Copy the per-slot arrays into arrays of the new capacity.
+     */
+    protected abstract void grow(int capacity);
+
+    /**
+     * Remove a slot from the subclass bitsets, while its stored values are still in place.
+     */
+    protected abstract void clear(int slot);
+
+    /**
+     * Drop references held for a removed slot.
+     */
+    protected void release(int slot) {
+    }
+
+    /**
+     * The slot of {@code id}, allocated if it has none and cleared if it has one.
+     */
+    protected int slotFor(UUID id) {
+        Integer existing = slotById.get(id);
+        if (existing != null) {
+            clear(existing);
+            return existing;
+        }
+        int slot = allocate();
+        slotById.put(id, slot);
+        ids[slot] = id;
+        occupied.set(slot);
+        return slot;
+    }
+
+    protected void remove(UUID id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        clear(slot);
+        occupied.clear(slot);
+        ids[slot] = null;
+        release(slot);
+        freeSlots.push(slot);
+    }
+
+    public int size() {
+        return slotById.size();
+    }
+
+    private int allocate() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (highWater == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            grow(capacity);
+        }
+        return highWater++;
+    }
+
+    protected static BitSet[] newBitSets(int n) {
+        BitSet[] sets = new BitSet[n];
+        for (int i = 0; i < n; i++) {
+            sets[i] = new BitSet();
+        }
+        return sets;
+    }
+}
@@ -0,0 +1,288 @@
+package com.nil.search;
+
+import com.nil.dto.SearchHit;
+import com.nil.exception.BadRequestException;
+import com.nil.repository.AthleteProfileRepository;
+import com.nil.repository.BrandProfileRepository;
+import com.nil.service.AthleteProfileChangedEvent;
+import com.nil.service.BrandProfileChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ranked, size-bounded search over athlete schools and brand company names, suitable for
+ * typeahead: results starting with the query come first, then those with a word starting
+ * with it, then those containing it, then merely similar spellings. Queries shorter than
+ * {@link #MIN_TRIGRAM_QUERY_LENGTH} only match names starting with them.
+ *
+ * On PostgreSQL the queries run against pg_trgm GIN indexes on {@code lower(school)} and
+ * {@code lower(company_name)}, and short queries against {@code text_pattern_ops} B-tree
+ * indexes on the same expressions, all created at startup if missing (Hibernate cannot
+ * declare expression indexes). Other databases, i.e. H2 in the {@code local} profile, get a
+ * {@link TrigramIndex} per field instead, loaded at startup (retried every
+ * {@code search.text.load-retry-delay} until it succeeds) and updated as profile changes
+ * commit, on one background thread so updates apply in order.
+ */
+@Service
+public class TextSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TextSearchService.class);
+
+    /**
+     * Shorter queries share too few trigrams with anything for the trigram indexes to help.
+     */
+    static final int MIN_TRIGRAM_QUERY_LENGTH = 3;
+
+    private static final List<String> SEARCH_INDEX_DDL = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_athlete_school_trgm " +
+                    "ON athlete_profiles USING gin (lower(school) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_brand_company_trgm " +
+                    "ON brand_profiles USING gin (lower(company_name) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_athlete_school_prefix " +
+                    "ON athlete_profiles (lower(school) text_pattern_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_brand_company_prefix " +
+                    "ON brand_profiles (lower(company_name) text_pattern_ops)");
+
+    private final AthleteProfileRepository athleteProfileRepository;
+    private final BrandProfileRepository brandProfileRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int maxQueryLength;
+    private final Duration loadRetryDelay;
+    private final ScheduledExecutorService worker;
+    private final Timer schoolTimer;
+    private final Timer companyTimer;
+
+    private volatile boolean trigramQueries;
+    private volatile boolean ready;
+    // Only used without trigramQueries; replaced by each load
+    private volatile TrigramIndex schools = new TrigramIndex();
+    private volatile TrigramIndex companies = new TrigramIndex();
+
+    public TextSearchService(
+            AthleteProfileRepository athleteProfileRepository,
+            BrandProfileRepository brandProfileRepository,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${search.text.default-limit:10}") int defaultLimit,
+            @Value("${search.text.max-limit:50}") int maxLimit,
+            @Value("${search.text.max-query-length:100}") int maxQueryLength,
+            @Value("${search.text.load-retry-delay:PT30S}") Duration loadRetryDelay) {
+        this.athleteProfileRepository = athleteProfileRepository;
+        this.brandProfileRepository = brandProfileRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueryLength = maxQueryLength;
+        this.loadRetryDelay = loadRetryDelay;
+
+        this.schoolTimer = Timer.builder("search.text.query")
+                .description("Time to answer a name search")
+                .tag("field", "athlete_school")
+                .register(meterRegistry);
+        this.companyTimer = Timer.builder("search.text.query")
+                .description("Time to answer a name search")
+                .tag("field", "brand_company")
+                .register(meterRegistry);
+
+        this.worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "text-search-index");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        // Trigram queries work without the indexes, just slower, so use them while they build
+        trigramQueries = "PostgreSQL".equals(database);
+        worker.execute(trigramQueries ? this::createTrigramIndexes : this::load);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Athletes whose school best matches {@code query}, labelled with the athlete's name.
+     *
+     * @param limit number of hits, defaults to {@code search.text.default-limit}, capped at {@code search.text.max-limit}
+     */
+    public List<SearchHit> searchAthletesBySchool(String query, Integer limit) {
+        return search(query, limit, schoolTimer,
+                (q, pattern, n) -> athleteProfileRepository.searchBySchool(q, pattern, n),
+                (q, pattern, n) -> athleteProfileRepository.searchBySchoolPrefix(pattern, n),
+                () -> schools);
+    }
+
+    /**
+     * Brands whose company name best matches {@code query}.
+     *
+     * @param limit number of hits, defaults to {@code search.text.default-limit}, capped at {@code search.text.max-limit}
+     */
+    public List<SearchHit> searchBrandsByCompanyName(String query, Integer limit) {
+        return search(query, limit, companyTimer,
+                (q, pattern, n) -> brandProfileRepository.searchByCompanyName(q, pattern, n),
+                (q, pattern, n) -> brandProfileRepository.searchByCompanyNamePrefix(pattern, n),
+                () -> companies);
+    }
+
+    /**
+     * Queue a re-read of the athlete's school. Runs after commit so the new state is visible.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAthleteChanged(AthleteProfileChangedEvent event) {
+        if (!trigramQueries) {
+            enqueue(() -> refresh(schools, event.profileId(), event.deleted(),
+                    () -> athleteProfileRepository.findSchoolById(event.profileId())));
+        }
+    }
+
+    /**
+     * Queue a re-read of the brand's company name. Runs after commit so the new state is visible.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBrandChanged(BrandProfileChangedEvent event) {
+        if (!trigramQueries) {
+            enqueue(() -> refresh(companies, event.profileId(), event.deleted(),
+                    () -> brandProfileRepository.findCompanyNameById(event.profileId())));
+        }
+    }
+
+    private List<SearchHit> search(String query, Integer limit, Timer timer,
+                                   TrigramQuery trigramQuery, TrigramQuery prefixQuery,
+                                   Supplier<TrigramIndex> index) {
+        String q = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (q.isEmpty()) {
+            throw new BadRequestException("Search text is required");
+        }
+        if (q.length() > maxQueryLength) {
+            throw new BadRequestException("Search text must be at most " + maxQueryLength + " characters");
+        }
+        int n = Math.max(1, Math.min(limit != null ? limit : defaultLimit, maxLimit));
+        boolean prefixOnly = q.length() < MIN_TRIGRAM_QUERY_LENGTH;
+
+        long start = System.nanoTime();
+        try {
+            if (trigramQueries) {
+                return (prefixOnly ? prefixQuery : trigramQuery).search(q, escapeLike(q), n).stream()
+                        .map(row -> new SearchHit(row.getId(), row.getMatched(), row.getLabel(),
+                                row.getScore() != null ? row.getScore() : 0))
+                        .toList();
+            }
+            if (!ready) {
+                log.debug("Text search index not loaded yet, returning no hits");
+                return List.of();
+            }
+            TrigramIndex trigramIndex = index.get();
+            return (prefixOnly ? trigramIndex.searchPrefix(q, n) : trigramIndex.search(q, n)).stream()
+                    .map(hit -> new SearchHit(hit.id(), hit.text(), hit.label(), hit.score()))
+                    .toList();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void createTrigramIndexes() {
+        try {
+            for (String ddl : SEARCH_INDEX_DDL) {
+                jdbcTemplate.execute(ddl);
+            }
+            log.info("Text search using pg_trgm indexes");
+        } catch (DataAccessException e) {
+            log.warn("Could not set up pg_trgm search, using in-memory indexes instead: {}", e.getMessage());
+            trigramQueries = false;
+            load();
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        TrigramIndex nextSchools = new TrigramIndex();
+        TrigramIndex nextCompanies = new TrigramIndex();
+        try {
+            athleteProfileRepository.findAllSchools()
+                    .forEach(row -> nextSchools.put(row.getId(), row.getMatched(), row.getLabel()));
+            brandProfileRepository.findAllCompanyNames()
+                    .forEach(row -> nextCompanies.put(row.getId(), row.getMatched(), row.getLabel()));
+        } catch (Exception e) {
+            log.error("Failed to load text search indexes, retrying in {}s: {}",
+                    loadRetryDelay.toSeconds(), e.getMessage());
+            try {
+                worker.schedule(this::load, loadRetryDelay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                // Shutting down
+            }
+            return;
+        }
+        schools = nextSchools;
+        companies = nextCompanies;
+        ready = true;
+        log.info("Loaded in-memory text search indexes with {} schools and {} companies in {}ms",
+                nextSchools.size(), nextCompanies.size(), System.currentTimeMillis() - start);
+    }
+
+    private void refresh(TrigramIndex index, UUID id, boolean deleted,
+                         Supplier<Optional<AthleteProfileRepository.SearchView>> reader) {
+        if (!ready) {
+            // The initial load has not run yet and will read the committed change
+            return;
+        }
+        try {
+            Optional<AthleteProfileRepository.SearchView> row = deleted ? Optional.empty() : reader.get();
+            if (row.isPresent()) {
+                index.put(id, row.get().getMatched(), row.get().getLabel());
+            } else {
+                index.remove(id);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh {} in text search index: {}", id, e.getMessage());
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Escape LIKE wildcards; backslash is the PostgreSQL default escape character.
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @FunctionalInterface
+    private interface TrigramQuery {
+        List<AthleteProfileRepository.SearchView> search(String query, String pattern, int limit);
+    }
+}
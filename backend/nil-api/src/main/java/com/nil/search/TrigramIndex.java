@@ -0,0 +1,237 @@
+package com.nil.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over one short text per ID (a school or company name), used for
+ * search when the database has no trigram support (H2 in the {@code local} profile).
+ *
+ * Texts are lower-cased and split into words; each word contributes the trigrams of
+ * {@code "  word "}, the same padding as Postgres pg_trgm, so similarity scores are
+ * comparable between the two backends. Each trigram maps to the IDs containing it, and a
+ * sorted word map answers word prefixes for typeahead.
+ *
+ * Thread safe: searches run concurrently under a read lock.
+ */
+final class TrigramIndex {
+
+    /**
+     * Minimum pg_trgm style similarity for a text that does not contain the query.
+     */
+    static final double SIMILARITY_THRESHOLD = 0.3;
+
+    record Hit(UUID id, String text, String label, double score) {}
+
+    private record Entry(String text, String label, String normalized, Set<String> trigrams) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<String, Set<UUID>> postings = new HashMap<>();
+    private final NavigableMap<String, Set<UUID>> words = new TreeMap<>();
+
+    /**
+     * Add or replace the text of {@code id}. A null or blank text removes it.
+     *
+     * @param label returned with hits, e.g. the athlete's name
+     */
+    void put(UUID id, String text, String label) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            Entry entry = new Entry(text, label, normalized, trigrams(normalized));
+            entries.put(id, entry);
+            for (String trigram : entry.trigrams()) {
+                postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(id);
+            }
+            for (String word : normalized.split(" ")) {
+                words.computeIfAbsent(word, w -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches for {@code query}, highest score first. A text starting with the query
+     * scores 3 plus its similarity, one with a word starting with it 2, one containing it 1,
+     * and otherwise only its similarity, which must reach {@link #SIMILARITY_THRESHOLD}.
+     */
+    List<Hit> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> queryTrigrams = trigrams(q);
+        String lastWord = q.substring(q.lastIndexOf(' ') + 1);
+
+        lock.readLock().lock();
+        try {
+            // Shared trigram counts per candidate
+            Map<UUID, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Set<UUID> ids = postings.get(trigram);
+                if (ids != null) {
+                    for (UUID id : ids) {
+                        shared.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+            // Typeahead: texts with a word starting with the last, possibly partial, query word
+            for (Set<UUID> ids : words.subMap(lastWord, true, lastWord + Character.MAX_VALUE, false).values()) {
+                for (UUID id : ids) {
+                    shared.putIfAbsent(id, 0);
+                }
+            }
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::score)
+                    .thenComparing(Hit::text, Comparator.reverseOrder()));
+            shared.forEach((id, count) -> {
+                Entry entry = entries.get(id);
+                double similarity = (double) count
+                        / (queryTrigrams.size() + entry.trigrams().size() - count);
+                int tier = tier(entry.normalized(), q);
+                if (tier == 0 && similarity < SIMILARITY_THRESHOLD) {
+                    return;
+                }
+                best.add(new Hit(id, entry.text(), entry.label(), tier + similarity));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            });
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(best.comparator().reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Texts starting with {@code query}, alphabetically; for queries too short for trigrams to
+     * narrow down. Hits score 3, as texts starting with the query do in {@link #search}.
+     */
+    List<Hit> searchPrefix(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String firstWord = q.contains(" ") ? q.substring(0, q.indexOf(' ')) : q;
+
+        lock.readLock().lock();
+        try {
+            // Texts starting with the query have a word starting with its first word
+            TreeMap<String, UUID> matches = new TreeMap<>();
+            for (Set<UUID> ids : words.subMap(firstWord, true, firstWord + Character.MAX_VALUE, false).values()) {
+                for (UUID id : ids) {
+                    Entry entry = entries.get(id);
+                    if (entry.normalized().startsWith(q)) {
+                        matches.put(entry.normalized() + ' ' + id, id);
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(Math.min(limit, matches.size()));
+            for (UUID id : matches.values()) {
+                if (hits.size() == limit) {
+                    break;
+                }
+                Entry entry = entries.get(id);
+                hits.add(new Hit(id, entry.text(), entry.label(), 3));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String trigram : entry.trigrams()) {
+            removePosting(postings, trigram, id);
+        }
+        for (String word : entry.normalized().split(" ")) {
+            removePosting(words, word, id);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<UUID>> map, String key, UUID id) {
+        Set<UUID> ids = map.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static int tier(String text, String query) {
+        if (text.startsWith(query)) {
+            return 3;
+        }
+        if (text.contains(" " + query)) {
+            return 2;
+        }
+        return text.contains(query) ? 1 : 0;
+    }
+
+    /**
+     * Lower-case, treat anything but letters and digits as a word break, collapse spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') {
+            sb.setLength(end - 1);
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
@@ -1,6 +1,8 @@
 package com.nil.security;
 
 import com.nil.service.ClerkUserService;
+import com.nil.service.UserSyncQueue;
+import com.nil.service.UserSyncTracker;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
@@ -11,24 +13,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.math.BigInteger;
-import java.security.KeyFactory;
 import java.security.PublicKey;
-import java.security.spec.RSAPublicKeySpec;
 import java.util.*;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 
 /**
  * JWT Filter for validating Clerk authentication tokens.
@@ -40,19 +36,25 @@ public class ClerkJwtFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(ClerkJwtFilter.class);
 
     private final ClerkUserService clerkUserService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwksKeyManager jwksKeyManager;
+    private final UserSyncTracker userSyncTracker;
+    private final UserSyncQueue userSyncQueue;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
-    @Value("${clerk.jwks-url:}")
-    private String jwksUrl;
-    
     @Value("${clerk.issuer:}")
     private String issuer;
 
-    private Map<String, PublicKey> publicKeyCache = new HashMap<>();
-    private long cacheExpiry = 0;
-
-    public ClerkJwtFilter(ClerkUserService clerkUserService) {
+    public ClerkJwtFilter(ClerkUserService clerkUserService,
+                          VerifiedTokenCache verifiedTokenCache,
+                          JwksKeyManager jwksKeyManager,
+                          UserSyncTracker userSyncTracker,
+                          UserSyncQueue userSyncQueue) {
         this.clerkUserService = clerkUserService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.jwksKeyManager = jwksKeyManager;
+        this.userSyncTracker = userSyncTracker;
+        this.userSyncQueue = userSyncQueue;
     }
 
     @Override
@@ -70,141 +72,35 @@ public class ClerkJwtFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
         
         try {
-            // Parse token header to get key ID
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                log.warn("Invalid JWT format");
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            String headerJson = new String(Base64.getUrlDecoder().decode(parts[0]));
-            JsonNode header = objectMapper.readTree(headerJson);
-            String kid = header.get("kid").asText();
-
-            // Get public key for verification
-            PublicKey publicKey = getPublicKey(kid);
-            if (publicKey == null) {
-                log.warn("Could not find public key for kid: {}", kid);
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            // Verify and parse token using jjwt 0.12.x API
-            Claims claims = Jwts.parser()
-                    .verifyWith(publicKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            // Validate issuer
-            if (issuer != null && !issuer.isEmpty() && !issuer.equals(claims.getIssuer())) {
-                log.warn("Invalid token issuer: {}", claims.getIssuer());
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            // Extract user info
-            String clerkId = claims.getSubject();
-            String email = claims.get("email", String.class);
-            String firstName = claims.get("first_name", String.class);
-            String lastName = claims.get("last_name", String.class);
-            
-            // Log all available claims for debugging
-            log.debug("JWT claims for user {}: {}", clerkId, claims.keySet());
-            
-            // If email is not in claims, try alternative claim names
-            if (email == null || email.isEmpty()) {
-                email = claims.get("https://clerk.dev/email", String.class);
-            }
-            if (email == null || email.isEmpty()) {
-                // Try to get from primary_email_address if available
-                Object primaryEmailObj = claims.get("primary_email_address");
-                if (primaryEmailObj != null) {
-                    if (primaryEmailObj instanceof String) {
-                        email = (String) primaryEmailObj;
-                    } else if (primaryEmailObj instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> emailMap = (Map<String, Object>) primaryEmailObj;
-                        email = (String) emailMap.get("email_address");
-                    }
-                }
-            }
-            
-            // Log extracted values
-            log.debug("Extracted from JWT - clerkId: {}, email: {}, firstName: {}, lastName: {}", 
-                      clerkId, email, firstName, lastName);
-
-            // Validate that we have required fields
-            if (clerkId == null || clerkId.isEmpty()) {
-                log.warn("JWT token missing required 'sub' claim (clerkId)");
-                filterChain.doFilter(request, response);
-                return;
-            }
-            
-            if (email == null || email.isEmpty()) {
-                log.warn("JWT token missing email for user: {}. Attempting to fetch from Clerk API.", clerkId);
-                // Try to fetch user from Clerk API
-                ClerkUserService.UserInfo userInfo = clerkUserService.fetchUserFromClerkApi(clerkId);
-                if (userInfo != null && userInfo.email != null && !userInfo.email.isEmpty()) {
-                    email = userInfo.email;
-                    if (firstName == null || firstName.isEmpty()) {
-                        firstName = userInfo.firstName;
-                    }
-                    if (lastName == null || lastName.isEmpty()) {
-                        lastName = userInfo.lastName;
-                    }
-                    log.info("Successfully fetched email from Clerk API for user: {}", clerkId);
-                } else {
-                    log.error("Could not fetch email from Clerk API for user: {}. Skipping user sync.", clerkId);
-                    // Still set authentication but don't sync user
-                    List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                    authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(clerkId, null, authorities);
-                    Map<String, Object> details = new HashMap<>();
-                    details.put("clerkId", clerkId);
-                    authentication.setDetails(details);
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Repeat requests with an already-verified token skip parsing and signature checks
+            VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.get(token);
+            if (verified == null) {
+                verified = verifyToken(token);
+                if (verified == null) {
                     filterChain.doFilter(request, response);
                     return;
                 }
+                verifiedTokenCache.put(token, verified);
             }
 
-            // Sync user to local database (creates if not exists)
-            try {
-                clerkUserService.syncClerkUser(clerkId, email, firstName, lastName);
-            } catch (IllegalArgumentException e) {
-                log.error("Failed to sync user {}: {}", clerkId, e.getMessage());
-                // Don't set authentication if we can't sync - this will cause issues downstream
-                filterChain.doFilter(request, response);
-                return;
-            } catch (Exception e) {
-                log.error("Failed to sync user {}: {}", clerkId, e.getMessage(), e);
-                // Continue with authentication even if sync fails (for other exceptions)
-            }
+            String clerkId = verified.clerkId();
+            String email = verified.email();
 
-            // Set authentication in security context
-            List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-            authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-            
-            // Add role-based authorities if present in token
-            @SuppressWarnings("unchecked")
-            Map<String, Object> metadata = claims.get("public_metadata", Map.class);
-            if (metadata != null && metadata.containsKey("role")) {
-                String role = (String) metadata.get("role");
-                authorities.add(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+            // Queue the user for syncing to the local database (creates if not exists).
+            // Written in the background; skipped entirely when these claims were synced recently.
+            if (userSyncTracker.needsSync(clerkId, email, verified.firstName(), verified.lastName())) {
+                userSyncQueue.submit(clerkId, email, verified.firstName(), verified.lastName());
             }
 
             UsernamePasswordAuthenticationToken authentication = 
-                new UsernamePasswordAuthenticationToken(clerkId, null, authorities);
+                new UsernamePasswordAuthenticationToken(clerkId, null, verified.authorities());
             
             // Store additional user info in authentication details
             Map<String, Object> details = new HashMap<>();
             details.put("clerkId", clerkId);
             details.put("email", email);
-            details.put("firstName", firstName);
-            details.put("lastName", lastName);
+            details.put("firstName", verified.firstName());
+            details.put("lastName", verified.lastName());
             authentication.setDetails(details);
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -219,62 +115,124 @@ public class ClerkJwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private PublicKey getPublicKey(String kid) {
-        // Check cache
-        if (System.currentTimeMillis() < cacheExpiry && publicKeyCache.containsKey(kid)) {
-            return publicKeyCache.get(kid);
+    /**
+     * Fully verify a token and extract the user identity from its claims.
+     * Returns null when the token is invalid or the user cannot be identified;
+     * in the latter case a bare ROLE_USER authentication may already have been set.
+     */
+    private VerifiedTokenCache.VerifiedToken verifyToken(String token) throws Exception {
+        // Parse token header to get key ID
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            log.warn("Invalid JWT format");
+            return null;
         }
 
-        // Fetch JWKS
-        try {
-            if (jwksUrl == null || jwksUrl.isEmpty()) {
-                log.warn("JWKS URL not configured");
-                return null;
-            }
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(jwksUrl))
-                    .GET()
-                    .build();
+        String headerJson = new String(Base64.getUrlDecoder().decode(parts[0]));
+        JsonNode header = objectMapper.readTree(headerJson);
+        String kid = header.get("kid").asText();
 
-            HttpResponse<String> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
-            JsonNode jwks = objectMapper.readTree(httpResponse.body());
-            JsonNode keys = jwks.get("keys");
-
-            publicKeyCache.clear();
-            
-            for (JsonNode key : keys) {
-                String keyId = key.get("kid").asText();
-                String n = key.get("n").asText();
-                String e = key.get("e").asText();
-                
-                PublicKey publicKey = createRSAPublicKey(n, e);
-                publicKeyCache.put(keyId, publicKey);
-            }
-
-            // Cache for 1 hour
-            cacheExpiry = System.currentTimeMillis() + 3600000;
+        // Get public key for verification
+        PublicKey publicKey = jwksKeyManager.getKey(kid);
+        if (publicKey == null) {
+            log.warn("Could not find public key for kid: {}", kid);
+            return null;
+        }
 
-            return publicKeyCache.get(kid);
+        // Verify and parse token using jjwt 0.12.x API
+        Claims claims = Jwts.parser()
+                .verifyWith(publicKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
 
-        } catch (Exception e) {
-            log.error("Failed to fetch JWKS: {}", e.getMessage());
+        // Validate issuer
+        if (issuer != null && !issuer.isEmpty() && !issuer.equals(claims.getIssuer())) {
+            log.warn("Invalid token issuer: {}", claims.getIssuer());
             return null;
         }
-    }
 
-    private PublicKey createRSAPublicKey(String modulusBase64, String exponentBase64) throws Exception {
-        byte[] modulusBytes = Base64.getUrlDecoder().decode(modulusBase64);
-        byte[] exponentBytes = Base64.getUrlDecoder().decode(exponentBase64);
+        // Extract user info
+        String clerkId = claims.getSubject();
+        String email = claims.get("email", String.class);
+        String firstName = claims.get("first_name", String.class);
+        String lastName = claims.get("last_name", String.class);
+        
+        // Log all available claims for debugging
+        log.debug("JWT claims for user {}: {}", clerkId, claims.keySet());
+        
+        // If email is not in claims, try alternative claim names
+        if (email == null || email.isEmpty()) {
+            email = claims.get("https://clerk.dev/email", String.class);
+        }
+        if (email == null || email.isEmpty()) {
+            // Try to get from primary_email_address if available
+            Object primaryEmailObj = claims.get("primary_email_address");
+            if (primaryEmailObj != null) {
+                if (primaryEmailObj instanceof String) {
+                    email = (String) primaryEmailObj;
+                } else if (primaryEmailObj instanceof Map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> emailMap = (Map<String, Object>) primaryEmailObj;
+                    email = (String) emailMap.get("email_address");
+                }
+            }
+        }
         
-        BigInteger modulus = new BigInteger(1, modulusBytes);
-        BigInteger exponent = new BigInteger(1, exponentBytes);
+        // Log extracted values
+        log.debug("Extracted from JWT - clerkId: {}, email: {}, firstName: {}, lastName: {}", 
+                  clerkId, email, firstName, lastName);
+
+        // Validate that we have required fields
+        if (clerkId == null || clerkId.isEmpty()) {
+            log.warn("JWT token missing required 'sub' claim (clerkId)");
+            return null;
+        }
         
-        RSAPublicKeySpec spec = new RSAPublicKeySpec(modulus, exponent);
-        KeyFactory factory = KeyFactory.getInstance("RSA");
+        if (email == null || email.isEmpty()) {
+            log.warn("JWT token missing email for user: {}. Attempting to fetch from Clerk API.", clerkId);
+            // Try to fetch user from Clerk API
+            ClerkUserService.UserInfo userInfo = clerkUserService.fetchUserFromClerkApi(clerkId);
+            if (userInfo != null && userInfo.email != null && !userInfo.email.isEmpty()) {
+                email = userInfo.email;
+                if (firstName == null || firstName.isEmpty()) {
+                    firstName = userInfo.firstName;
+                }
+                if (lastName == null || lastName.isEmpty()) {
+                    lastName = userInfo.lastName;
+                }
+                log.info("Successfully fetched email from Clerk API for user: {}", clerkId);
+            } else {
+                log.error("Could not fetch email from Clerk API for user: {}. Skipping user sync.", clerkId);
+                // Still set authentication but don't sync user (not cached, so the API is retried next time)
+                List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+                authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+                UsernamePasswordAuthenticationToken authentication = 
+                    new UsernamePasswordAuthenticationToken(clerkId, null, authorities);
+                Map<String, Object> details = new HashMap<>();
+                details.put("clerkId", clerkId);
+                authentication.setDetails(details);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                return null;
+            }
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
         
-        return factory.generatePublic(spec);
+        // Add role-based authorities if present in token
+        @SuppressWarnings("unchecked")
+        Map<String, Object> metadata = claims.get("public_metadata", Map.class);
+        if (metadata != null && metadata.containsKey("role")) {
+            String role = (String) metadata.get("role");
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+        }
+
+        // Tokens without an exp claim are verified every time rather than cached indefinitely
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L;
+
+        return new VerifiedTokenCache.VerifiedToken(
+                clerkId, email, firstName, lastName, List.copyOf(authorities), expiresAt);
     }
 
     @Override
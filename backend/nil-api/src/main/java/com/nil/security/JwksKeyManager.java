@@ -0,0 +1,233 @@
+package com.nil.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds Clerk's JWKS signing keys and keeps them fresh.
+ *
+ * - Keys are published as immutable snapshots, so readers never see a partially rebuilt map.
+ * - At most one JWKS fetch is in flight; concurrent callers share its result.
+ * - The snapshot is refreshed in the background shortly before it expires.
+ * - An unknown {@code kid} triggers an immediate refresh, rate-limited to one per interval.
+ * - If the endpoint is slow or failing, the previous snapshot keeps being served for a bounded time.
+ */
+@Component
+public class JwksKeyManager {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyManager.class);
+
+    private final String jwksUrl;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration minRefreshInterval;
+    private final Duration maxStale;
+    private final Duration fetchTimeout;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile KeySnapshot snapshot;
+    private final AtomicReference<CompletableFuture<KeySnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong lastRefreshAttempt = new AtomicLong(0);
+
+    public JwksKeyManager(
+            @Value("${clerk.jwks-url:}") String jwksUrl,
+            @Value("${clerk.jwks.ttl:PT1H}") Duration ttl,
+            @Value("${clerk.jwks.refresh-ahead:PT5M}") Duration refreshAhead,
+            @Value("${clerk.jwks.min-refresh-interval:PT30S}") Duration minRefreshInterval,
+            @Value("${clerk.jwks.max-stale:PT6H}") Duration maxStale,
+            @Value("${clerk.jwks.fetch-timeout:PT5S}") Duration fetchTimeout) {
+        this.jwksUrl = jwksUrl;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.minRefreshInterval = minRefreshInterval;
+        this.maxStale = maxStale;
+        this.fetchTimeout = fetchTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(fetchTimeout)
+                .build();
+    }
+
+    /**
+     * Resolve the public key for a key ID.
+     *
+     * @param kid Key ID from the JWT header
+     * @return The RSA public key, or null if it is not published (or the JWKS cannot be fetched)
+     */
+    public PublicKey getKey(String kid) {
+        if (jwksUrl == null || jwksUrl.isEmpty()) {
+            log.warn("JWKS URL not configured");
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        KeySnapshot current = snapshot;
+
+        if (current == null) {
+            current = await(refresh(true));
+            return current != null ? current.keys().get(kid) : null;
+        }
+
+        if (now < current.expiresAt()) {
+            if (now >= current.expiresAt() - refreshAhead.toMillis()) {
+                refresh(false); // background; keep serving the current snapshot
+            }
+            PublicKey key = current.keys().get(kid);
+            if (key != null) {
+                return key;
+            }
+            // Unknown kid - Clerk may have rotated keys
+            CompletableFuture<KeySnapshot> pending = refresh(false);
+            if (pending == null) {
+                log.debug("Unknown kid {} but JWKS was refreshed recently; not refetching", kid);
+                return null;
+            }
+            KeySnapshot refreshed = await(pending);
+            return refreshed != null ? refreshed.keys().get(kid) : null;
+        }
+
+        // Expired: revalidate, but serve stale keys while the endpoint is slow
+        CompletableFuture<KeySnapshot> pending = refresh(false);
+        if (now < current.expiresAt() + maxStale.toMillis()) {
+            PublicKey stale = current.keys().get(kid);
+            if (stale != null) {
+                return stale;
+            }
+        }
+        KeySnapshot refreshed = pending != null ? await(pending) : null;
+        // A failed refresh hands back the old snapshot, which may be too stale to trust
+        if (refreshed == null || now >= refreshed.expiresAt() + maxStale.toMillis()) {
+            return null;
+        }
+        return refreshed.keys().get(kid);
+    }
+
+    /**
+     * Start a JWKS fetch unless one is already running.
+     *
+     * @param force Ignore the minimum refresh interval (used when there is no snapshot at all)
+     * @return The in-flight fetch, or null if rate-limited
+     */
+    CompletableFuture<KeySnapshot> refresh(boolean force) {
+        while (true) {
+            CompletableFuture<KeySnapshot> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            long now = System.currentTimeMillis();
+            long last = lastRefreshAttempt.get();
+            if (!force && now - last < minRefreshInterval.toMillis()) {
+                return null;
+            }
+            CompletableFuture<KeySnapshot> future = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, future)) {
+                continue;
+            }
+            lastRefreshAttempt.set(now);
+            fetch().whenComplete((fetched, error) -> {
+                if (error == null) {
+                    snapshot = fetched;
+                    log.info("Refreshed JWKS: {} key(s)", fetched.keys().size());
+                } else {
+                    log.error("Failed to fetch JWKS: {}", error.getMessage());
+                }
+                inFlight.compareAndSet(future, null);
+                if (error == null) {
+                    future.complete(fetched);
+                } else {
+                    future.completeExceptionally(error);
+                }
+            });
+            return future;
+        }
+    }
+
+    private CompletableFuture<KeySnapshot> fetch() {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(jwksUrl))
+                .timeout(fetchTimeout)
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("JWKS endpoint returned " + response.statusCode());
+                    }
+                    return parse(response.body());
+                });
+    }
+
+    private KeySnapshot parse(String body) {
+        try {
+            JsonNode keys = objectMapper.readTree(body).get("keys");
+            Map<String, PublicKey> parsed = new HashMap<>();
+            for (JsonNode key : keys) {
+                if (!key.has("kid") || !key.has("n") || !key.has("e")) {
+                    continue;
+                }
+                parsed.put(key.get("kid").asText(), createRSAPublicKey(key.get("n").asText(), key.get("e").asText()));
+            }
+            return new KeySnapshot(Map.copyOf(parsed), System.currentTimeMillis() + ttl.toMillis());
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid JWKS document: " + e.getMessage(), e);
+        }
+    }
+
+    private KeySnapshot await(CompletableFuture<KeySnapshot> future) {
+        if (future == null) {
+            return snapshot;
+        }
+        try {
+            return future.get(fetchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Timed out waiting for JWKS refresh");
+            return snapshot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return snapshot;
+        } catch (Exception e) {
+            return snapshot;
+        }
+    }
+
+    private PublicKey createRSAPublicKey(String modulusBase64, String exponentBase64) throws Exception {
+        byte[] modulusBytes = Base64.getUrlDecoder().decode(modulusBase64);
+        byte[] exponentBytes = Base64.getUrlDecoder().decode(exponentBase64);
+
+        BigInteger modulus = new BigInteger(1, modulusBytes);
+        BigInteger exponent = new BigInteger(1, exponentBytes);
+
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(modulus, exponent);
+        KeyFactory factory = KeyFactory.getInstance("RSA");
+
+        return factory.generatePublic(spec);
+    }
+
+    /**
+     * Immutable set of keys from one JWKS fetch.
+     */
+    record KeySnapshot(Map<String, PublicKey> keys, long expiresAt) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.nil.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of Clerk session tokens that have already passed signature verification.
+ *
+ * Entries are keyed by a SHA-256 digest of the raw token (the token itself is never stored)
+ * and live until the token's own {@code exp} claim, so a repeat request can skip the
+ * header decode, JWKS lookup and RSA verification entirely.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(
+            @Value("${clerk.token-cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("clerk.jwt.cache")
+                .tag("result", "hit")
+                .description("Requests authenticated from the verified-token cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("clerk.jwt.cache")
+                .tag("result", "miss")
+                .description("Requests that required full JWT verification")
+                .register(meterRegistry);
+        meterRegistry.gauge("clerk.jwt.cache.size", entries, Map::size);
+    }
+
+    /**
+     * Look up a previously verified token.
+     *
+     * @param token The raw bearer token
+     * @return The cached verification result, or null if absent or expired
+     */
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, cached);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Remember a verified token until its expiry.
+     */
+    public void put(String token, VerifiedToken verified) {
+        long now = System.currentTimeMillis();
+        if (verified.isExpired(now)) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(digest(token), verified);
+    }
+
+    public long getHitCount() {
+        return (long) hits.count();
+    }
+
+    public long getMissCount() {
+        return (long) misses.count();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop expired entries first; if the cache is still full, drop the entries
+     * closest to expiry until there is room again.
+     */
+    private void evict(long now) {
+        entries.values().removeIf(v -> v.isExpired(now));
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        entries.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(VerifiedToken::expiresAtMillis)))
+                .limit(toRemove)
+                .toList()
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Identity and authorities extracted from a verified token.
+     */
+    public record VerifiedToken(
+            String clerkId,
+            String email,
+            String firstName,
+            String lastName,
+            List<GrantedAuthority> authorities,
+            long expiresAtMillis
+    ) {
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
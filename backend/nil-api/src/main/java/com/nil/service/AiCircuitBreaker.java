@@ -0,0 +1,194 @@
+package com.nil.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for AI service matching calls.
+ *
+ * While CLOSED, outcomes are counted over a rolling time window. Once the window holds at
+ * least {@code minimum-calls}, the circuit opens if the share of failed calls (connection
+ * errors, timeouts, 5xx) or of calls slower than {@code slow-call-duration} reaches its
+ * threshold. While OPEN, calls are refused without touching the network. After
+ * {@code open-duration} the next call attempt moves it to HALF_OPEN and runs the bound
+ * health probe (the same check as {@code /api/v1/matching/health}): a healthy service closes
+ * the circuit, anything else opens it again.
+ */
+@Component
+public class AiCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(AiCircuitBreaker.class);
+    private static final int BUCKETS = 10;
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean enabled;
+    private final long bucketNanos;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+
+    // Ring of time buckets covering the window; guarded by this
+    private final long[] bucketStarts = new long[BUCKETS];
+    private final int[] calls = new int[BUCKETS];
+    private final int[] failures = new int[BUCKETS];
+    private final int[] slowCalls = new int[BUCKETS];
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private Supplier<CompletableFuture<Boolean>> probe = () -> CompletableFuture.completedFuture(false);
+
+    private final Counter opened;
+
+    public AiCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${ai.service.circuit-breaker.enabled:true}") boolean enabled,
+            @Value("${ai.service.circuit-breaker.window:PT60S}") Duration window,
+            @Value("${ai.service.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${ai.service.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${ai.service.circuit-breaker.slow-call-duration:PT30S}") Duration slowCallDuration,
+            @Value("${ai.service.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+            @Value("${ai.service.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        this.enabled = enabled;
+        this.bucketNanos = Math.max(1, window.toNanos() / BUCKETS);
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openDuration.toNanos();
+
+        this.opened = Counter.builder("ai.service.circuit.opened")
+                .description("Times the AI service circuit breaker opened")
+                .register(meterRegistry);
+        meterRegistry.gauge("ai.service.circuit.state", this, b -> b.state.ordinal());
+    }
+
+    /**
+     * Set the health check run in HALF_OPEN; it completes with true if the service is healthy.
+     */
+    void bindProbe(Supplier<CompletableFuture<Boolean>> probe) {
+        this.probe = probe;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Whether a call may go ahead. Refused calls must not be reported to {@link #onResult}.
+     */
+    public boolean allowRequest() {
+        if (!enabled || state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && startProbe()) {
+            CompletableFuture<Boolean> check;
+            try {
+                check = probe.get();
+            } catch (RuntimeException e) {
+                check = CompletableFuture.failedFuture(e);
+            }
+            check.whenComplete((healthy, error) -> finishProbe(error == null && Boolean.TRUE.equals(healthy)));
+        }
+        return false;
+    }
+
+    /**
+     * Record the outcome of an allowed call.
+     *
+     * @param failed true for connection errors, timeouts and server errors
+     */
+    public synchronized void onResult(long durationNanos, boolean failed) {
+        if (!enabled || state != State.CLOSED) {
+            // Calls started before the circuit opened say nothing about the probe
+            return;
+        }
+        long now = System.nanoTime();
+        int bucket = bucket(now);
+        calls[bucket]++;
+        if (failed) {
+            failures[bucket]++;
+        }
+        if (durationNanos >= slowCallNanos) {
+            slowCalls[bucket]++;
+        }
+
+        int totalCalls = 0;
+        int totalFailures = 0;
+        int totalSlow = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (now - bucketStarts[i] < bucketNanos * BUCKETS) {
+                totalCalls += calls[i];
+                totalFailures += failures[i];
+                totalSlow += slowCalls[i];
+            }
+        }
+        if (totalCalls < minimumCalls) {
+            return;
+        }
+        double failureRate = 100.0 * totalFailures / totalCalls;
+        double slowRate = 100.0 * totalSlow / totalCalls;
+        if (failureRate >= failureRateThreshold || slowRate >= slowCallRateThreshold) {
+            log.warn("Opening AI service circuit: {} calls, {}% failed, {}% slow",
+                    totalCalls, Math.round(failureRate), Math.round(slowRate));
+            open(now);
+        }
+    }
+
+    private int bucket(long now) {
+        long start = now - Math.floorMod(now, bucketNanos);
+        int index = (int) Math.floorMod(now / bucketNanos, (long) BUCKETS);
+        if (bucketStarts[index] != start) {
+            // Bucket last used a full window ago or more; reuse it
+            bucketStarts[index] = start;
+            calls[index] = 0;
+            failures[index] = 0;
+            slowCalls[index] = 0;
+        }
+        return index;
+    }
+
+    private synchronized boolean startProbe() {
+        if (state != State.OPEN || System.nanoTime() - openedAt < openNanos) {
+            return false;
+        }
+        state = State.HALF_OPEN;
+        log.info("Probing AI service health before closing circuit");
+        return true;
+    }
+
+    private synchronized void finishProbe(boolean healthy) {
+        if (state != State.HALF_OPEN) {
+            return;
+        }
+        if (healthy) {
+            log.info("AI service healthy again, closing circuit");
+            Arrays.fill(calls, 0);
+            Arrays.fill(failures, 0);
+            Arrays.fill(slowCalls, 0);
+            state = State.CLOSED;
+        } else {
+            log.warn("AI service still unhealthy, keeping circuit open");
+            open(System.nanoTime());
+        }
+    }
+
+    private void open(long now) {
+        if (state != State.OPEN) {
+            opened.increment();
+        }
+        state = State.OPEN;
+        openedAt = now;
+    }
+}
@@ -0,0 +1,175 @@
+package com.nil.service;
+
+import com.nil.exception.AiServiceBusyException;
+import com.nil.exception.AiServiceCircuitOpenException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Non-blocking client for the FastAPI AI service.
+ *
+ * Calls go through one shared {@link HttpClient}, which keeps connections alive and reuses
+ * them, and complete on its own threads, so no request thread waits on the AI service.
+ * A bulkhead caps the calls in flight: once it is full, new calls fail immediately with
+ * {@link AiServiceBusyException} instead of queueing behind slow matching requests.
+ * Matching calls also go through the {@link AiCircuitBreaker}: while it is open they fail
+ * immediately with {@link AiServiceCircuitOpenException}. The breaker's half-open health probe
+ * skips the bulkhead: it is one short call at a time, and it has to get through precisely when
+ * slow calls fill the bulkhead, or the circuit could not close until they drained.
+ */
+@Service
+public class AiServiceClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AiServiceClient.class);
+
+    private static final String HEALTH_PATH = "/api/v1/health";
+    private static final Duration HEALTH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration readTimeout;
+    private final Semaphore bulkhead;
+    private final AiCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    public AiServiceClient(
+            AiCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${ai.service.url}") String baseUrl,
+            @Value("${ai.service.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${ai.service.read-timeout:PT90S}") Duration readTimeout,
+            @Value("${ai.service.max-concurrent-calls:32}") int maxConcurrentCalls) {
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl;
+        this.readTimeout = readTimeout;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        // uvicorn speaks HTTP/1.1; skip the h2c upgrade attempt on every new connection
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        meterRegistry.gauge("ai.service.in.flight", bulkhead, s -> maxConcurrentCalls - s.availablePermits());
+        circuitBreaker.bindProbe(() -> dispatch(healthRequest(), "health-probe", false).thenApply(AiServiceClient::isHealthy));
+    }
+
+    /**
+     * Whether a health check response means the service is up.
+     */
+    public static boolean isHealthy(HttpResponse<String> response) {
+        return response.statusCode() < 400;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Longest a call can take before it fails with a timeout.
+     */
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * POST a JSON body. The future completes with the response whatever its status, or
+     * exceptionally if the call was rejected, timed out or could not connect.
+     *
+     * @param operation short name used as the metrics tag, e.g. {@code find-hybrid}
+     */
+    public CompletableFuture<HttpResponse<String>> postJson(String path, String body, String operation) {
+        if (!circuitBreaker.allowRequest()) {
+            record(operation, "circuit_open", 0);
+            return CompletableFuture.failedFuture(new AiServiceCircuitOpenException("AI service circuit is open"));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return send(request, operation, true);
+    }
+
+    /**
+     * GET the AI service health endpoint. Not subject to the circuit breaker, since it is
+     * what decides when the circuit closes again.
+     */
+    public CompletableFuture<HttpResponse<String>> checkHealth() {
+        return send(healthRequest(), "health", false);
+    }
+
+    private HttpRequest healthRequest() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + HEALTH_PATH))
+                .timeout(HEALTH_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    /**
+     * Send within the bulkhead.
+     */
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request, String operation, boolean guarded) {
+        if (!bulkhead.tryAcquire()) {
+            record(operation, "rejected", 0);
+            log.warn("Rejected AI service call {}: too many calls in flight", operation);
+            return CompletableFuture.failedFuture(new AiServiceBusyException("Too many AI service calls in flight"));
+        }
+        return dispatch(request, operation, guarded).whenComplete((response, error) -> bulkhead.release());
+    }
+
+    /**
+     * Send and record the outcome, also to the circuit breaker if {@code guarded}.
+     */
+    private CompletableFuture<HttpResponse<String>> dispatch(HttpRequest request, String operation, boolean guarded) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> call;
+        try {
+            call = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            record(operation, "error", System.nanoTime() - start);
+            if (guarded) {
+                circuitBreaker.onResult(System.nanoTime() - start, true);
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        return call.whenComplete((response, error) -> {
+            long nanos = System.nanoTime() - start;
+            String outcome = outcome(response, error);
+            record(operation, outcome, nanos);
+            if (guarded) {
+                circuitBreaker.onResult(nanos, !"success".equals(outcome));
+            }
+        });
+    }
+
+    private void record(String operation, String outcome, long nanos) {
+        Timer.builder("ai.service.call")
+                .description("Calls from the API to the AI service")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(nanos));
+    }
+
+    private static String outcome(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return cause instanceof HttpTimeoutException ? "timeout" : "error";
+        }
+        return response.statusCode() < 500 ? "success" : "server_error";
+    }
+}
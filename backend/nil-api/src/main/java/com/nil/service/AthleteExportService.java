@@ -0,0 +1,227 @@
+package com.nil.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nil.dto.AthleteExportRow;
+import com.nil.entity.AthleteTombstone;
+import com.nil.repository.AthleteProfileRepository;
+import com.nil.repository.AthleteProfileRepository.ExportView;
+import com.nil.repository.AthleteSocialAccountRepository;
+import com.nil.repository.AthleteSocialAccountRepository.MetricsView;
+import com.nil.repository.AthleteTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams athlete profiles as newline-delimited JSON for bulk consumers (the AI matching service).
+ *
+ * Profiles are read from a server-side cursor and written in chunks. Each chunk costs one
+ * extra query for its social accounts, so memory use and query count stay bounded no matter
+ * how large the roster is.
+ */
+@Service
+public class AthleteExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AthleteExportService.class);
+    private static final int CHUNK_SIZE = 500;
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final AthleteProfileRepository athleteProfileRepository;
+    private final AthleteSocialAccountRepository socialAccountRepository;
+    private final AthleteTombstoneRepository tombstoneRepository;
+    private final ObjectMapper objectMapper;
+
+    public AthleteExportService(
+            AthleteProfileRepository athleteProfileRepository,
+            AthleteSocialAccountRepository socialAccountRepository,
+            AthleteTombstoneRepository tombstoneRepository,
+            ObjectMapper objectMapper) {
+        this.athleteProfileRepository = athleteProfileRepository;
+        this.socialAccountRepository = socialAccountRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write one JSON line per athlete modified at or after {@code updatedSince}
+     * (all athletes if null), in (updated_at, id) order, then one inactive line per
+     * athlete deleted since if {@code updatedSince} is given.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(Instant updatedSince, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long written = forEachRow(updatedSince, new RowConsumer() {
+            @Override
+            public void accept(AthleteExportRow row) throws IOException {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write(NEWLINE);
+            }
+
+            @Override
+            public void endOfChunk() throws IOException {
+                // Push each chunk to the client as soon as it is ready
+                out.flush();
+            }
+        });
+        log.info("Exported {} athletes updated since {} in {}ms", written, updatedSince, System.currentTimeMillis() - start);
+        return written;
+    }
+
+    /**
+     * Visit the export row of every athlete modified at or after {@code updatedSince}
+     * (all athletes if null), in (updated_at, id) order. An incremental visit ends with an
+     * inactive row, holding only the ID, for each athlete deleted since.
+     *
+     * @return number of rows visited
+     */
+    @Transactional(readOnly = true)
+    public long forEachRow(Instant updatedSince, RowConsumer consumer) throws IOException {
+        Instant since = updatedSince != null ? updatedSince : Instant.EPOCH;
+        long visited = 0;
+
+        try (Stream<ExportView> rows = athleteProfileRepository.streamForExport(since)) {
+            Iterator<ExportView> it = rows.iterator();
+            List<ExportView> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    visited += visitChunk(chunk, consumer);
+                    chunk.clear();
+                }
+            }
+            visited += visitChunk(chunk, consumer);
+        }
+        if (updatedSince != null) {
+            visited += visitTombstones(updatedSince, consumer);
+        }
+        return visited;
+    }
+
+    /**
+     * Export row of a single athlete, read in its own transaction so it can be called
+     * after another transaction has committed.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public Optional<AthleteExportRow> findRow(UUID athleteId) {
+        return athleteProfileRepository.findExportViewById(athleteId)
+                .map(row -> toExportRow(row, socialAccountRepository.findMetricsByAthleteProfileIds(List.of(athleteId))));
+    }
+
+    private int visitChunk(List<ExportView> chunk, RowConsumer consumer) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = chunk.stream().map(ExportView::getId).toList();
+        Map<UUID, List<MetricsView>> socialsByProfile = socialAccountRepository.findMetricsByAthleteProfileIds(ids)
+                .stream()
+                .collect(Collectors.groupingBy(MetricsView::getAthleteProfileId));
+
+        for (ExportView row : chunk) {
+            consumer.accept(toExportRow(row, socialsByProfile.getOrDefault(row.getId(), List.of())));
+        }
+        consumer.endOfChunk();
+        return chunk.size();
+    }
+
+    private int visitTombstones(Instant since, RowConsumer consumer) throws IOException {
+        List<AthleteTombstone> tombstones = tombstoneRepository.findByDeletedAtGreaterThanEqualOrderByDeletedAtAscIdAsc(since);
+        for (AthleteTombstone tombstone : tombstones) {
+            consumer.accept(AthleteExportRow.builder()
+                    .id(tombstone.getId())
+                    .isActive(false)
+                    .updatedAt(tombstone.getDeletedAt())
+                    .build());
+        }
+        if (!tombstones.isEmpty()) {
+            consumer.endOfChunk();
+        }
+        return tombstones.size();
+    }
+
+    private AthleteExportRow toExportRow(ExportView row, List<MetricsView> socials) {
+        return AthleteExportRow.builder()
+                .id(row.getId())
+                .fullName(fullName(row.getFirstName(), row.getLastName()))
+                .sport(row.getSport())
+                .position(row.getPosition())
+                .schoolName(row.getSchool())
+                .conference(row.getConference())
+                .hometown(row.getHometown())
+                .state(row.getHomeState())
+                .dateOfBirth(row.getDateOfBirth())
+                .gender(row.getGender())
+                .engagementRate(weightedEngagement(socials))
+                .socialAccounts(socials.stream()
+                        .map(s -> AthleteExportRow.SocialMetric.builder()
+                                .platform(s.getPlatform())
+                                .followerCount(s.getFollowers())
+                                .build())
+                        .collect(Collectors.toList()))
+                .interestTags(parseJsonList(row.getLikedCategories()))
+                .excludedCategories(parseJsonList(row.getDislikedCategories()))
+                .minimumDealValue(row.getMinimumDealValue())
+                .isActive(row.getIsActive())
+                .isAcceptingDeals(row.getIsAcceptingDeals())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) return null;
+        return ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+    }
+
+    /**
+     * Engagement rate averaged across accounts, weighted by follower count.
+     */
+    private static Double weightedEngagement(List<MetricsView> socials) {
+        double weighted = 0;
+        long followers = 0;
+        for (MetricsView s : socials) {
+            if (s.getEngagementRate() != null && s.getFollowers() != null && s.getFollowers() > 0) {
+                weighted += s.getEngagementRate() * s.getFollowers();
+                followers += s.getFollowers();
+            }
+        }
+        return followers > 0 ? weighted / followers : null;
+    }
+
+    /**
+     * Preference columns hold JSON arrays as text; tolerate legacy comma-separated values.
+     */
+    private List<String> parseJsonList(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, new TypeReference<List<String>>() {});
+        } catch (IOException e) {
+            return Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Receives export rows chunk by chunk.
+     */
+    public interface RowConsumer {
+        void accept(AthleteExportRow row) throws IOException;
+
+        default void endOfChunk() throws IOException {
+        }
+    }
+}
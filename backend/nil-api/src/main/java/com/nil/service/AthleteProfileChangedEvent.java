@@ -0,0 +1,21 @@
+package com.nil.service;
+
+import java.util.UUID;
+
+/**
+ * Published when an athlete profile or one of its social accounts is created, changed or
+ * deleted. Listeners that keep derived copies of athlete data (such as the matching
+ * candidate index) should handle it after the transaction commits.
+ *
+ * @param deleted true if the profile itself no longer exists
+ */
+public record AthleteProfileChangedEvent(UUID profileId, boolean deleted) {
+
+    public static AthleteProfileChangedEvent changed(UUID profileId) {
+        return new AthleteProfileChangedEvent(profileId, false);
+    }
+
+    public static AthleteProfileChangedEvent deleted(UUID profileId) {
+        return new AthleteProfileChangedEvent(profileId, true);
+    }
+}
@@ -0,0 +1,66 @@
+package com.nil.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates athlete read model rows for profiles written before the read model existed.
+ * Runs once at startup on a background thread, one transaction per batch; until a profile
+ * has its row, reads of it fall back to assembling the response from the entities.
+ */
+@Component
+public class AthleteReadModelBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(AthleteReadModelBackfill.class);
+
+    private final AthleteService athleteService;
+    private final int batchSize;
+    private final ExecutorService worker;
+
+    public AthleteReadModelBackfill(
+            AthleteService athleteService,
+            @Value("${athletes.read-model.backfill-batch-size:200}") int batchSize) {
+        this.athleteService = athleteService;
+        this.batchSize = batchSize;
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "read-model-backfill");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.execute(this::run);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void run() {
+        int total = 0;
+        try {
+            int created;
+            do {
+                created = athleteService.backfillReadModel(batchSize);
+                total += created;
+            } while (created == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            log.error("Athlete read model backfill failed after {} rows", total, e);
+            return;
+        }
+        if (total > 0) {
+            log.info("Backfilled athlete read model for {} profiles", total);
+        }
+    }
+}
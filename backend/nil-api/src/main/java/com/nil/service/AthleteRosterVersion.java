@@ -0,0 +1,77 @@
+package com.nil.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the athlete roster, bumped after every committed
+ * athlete write ({@link AthleteProfileChangedEvent}). Anything derived from the whole roster
+ * can be cached under the current version and is implicitly invalidated by the next write.
+ *
+ * With Redis enabled the counter lives in Redis so that every node sees writes made on the
+ * others; otherwise it is a local counter.
+ */
+@Component
+public class AthleteRosterVersion {
+
+    private static final Logger log = LoggerFactory.getLogger(AthleteRosterVersion.class);
+    private static final String REDIS_KEY = "nil:athletes:roster-version";
+
+    private final AtomicLong localVersion = new AtomicLong();
+    @Nullable
+    private final StringRedisTemplate redisTemplate;
+
+    public AthleteRosterVersion(
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+            @Value("${spring.data.redis.enabled:false}") boolean redisEnabled) {
+        this.redisTemplate = redisEnabled
+                ? new StringRedisTemplate(redisConnectionFactory.getObject())
+                : null;
+    }
+
+    /**
+     * Current version, or empty if it cannot be read (Redis unavailable). Callers should
+     * then skip caching rather than risk serving results for an older roster.
+     */
+    public OptionalLong current() {
+        if (redisTemplate == null) {
+            return OptionalLong.of(localVersion.get());
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(REDIS_KEY);
+            return OptionalLong.of(value != null ? Long.parseLong(value) : 0L);
+        } catch (Exception e) {
+            log.warn("Failed to read athlete roster version: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    // After commit, so a version is never observed before the write it stands for is visible
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAthleteChanged(AthleteProfileChangedEvent event) {
+        bump();
+    }
+
+    void bump() {
+        if (redisTemplate == null) {
+            localVersion.incrementAndGet();
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().increment(REDIS_KEY);
+        } catch (Exception e) {
+            // Results cached under the old version live on until their TTL
+            log.warn("Failed to bump athlete roster version: {}", e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.nil.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nil.dto.*;
 import com.nil.entity.*;
 import com.nil.entity.enums.RoleType;
@@ -11,11 +13,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -33,19 +40,37 @@ public class AthleteService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final ClerkUserService clerkUserService;
+    private final UserSyncTracker userSyncTracker;
+    private final UserSyncQueue userSyncQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AthleteReadModelRepository readModelRepository;
+    private final AthleteTombstoneRepository tombstoneRepository;
+    private final ObjectMapper objectMapper;
 
     public AthleteService(AthleteProfileRepository athleteProfileRepository,
                           AthleteSocialAccountRepository socialAccountRepository,
                           AthleteMediaRepository mediaRepository,
                           UserRepository userRepository,
                           RoleRepository roleRepository,
-                          ClerkUserService clerkUserService) {
+                          ClerkUserService clerkUserService,
+                          UserSyncTracker userSyncTracker,
+                          UserSyncQueue userSyncQueue,
+                          ApplicationEventPublisher eventPublisher,
+                          AthleteReadModelRepository readModelRepository,
+                          AthleteTombstoneRepository tombstoneRepository,
+                          ObjectMapper objectMapper) {
         this.athleteProfileRepository = athleteProfileRepository;
         this.socialAccountRepository = socialAccountRepository;
         this.mediaRepository = mediaRepository;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.clerkUserService = clerkUserService;
+        this.userSyncTracker = userSyncTracker;
+        this.userSyncQueue = userSyncQueue;
+        this.eventPublisher = eventPublisher;
+        this.readModelRepository = readModelRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -53,8 +78,8 @@ public class AthleteService {
      */
     @Transactional
     public AthleteProfileResponse createProfile(String clerkId, AthleteProfileRequest request) {
-        // Get or create user
-        User user = userRepository.findByClerkId(clerkId)
+        // Get or create user; waiting for a queued sync first so it is not inserted twice
+        User user = userSyncQueue.findUser(clerkId)
                 .orElseGet(() -> createNewUser(clerkId, request));
 
         // Check if profile already exists
@@ -84,6 +109,7 @@ public class AthleteService {
 
         AthleteProfile saved = athleteProfileRepository.save(profile);
         log.info("Created athlete profile for user: {}", clerkId);
+        eventPublisher.publishEvent(AthleteProfileChangedEvent.changed(saved.getId()));
 
         return mapProfileToResponse(saved);
     }
@@ -91,20 +117,55 @@ public class AthleteService {
     /**
      * Get athlete profile by ID.
      * Cached for 10 minutes to reduce database load.
+     * Concurrent misses for the same ID share a single database load, which reads the
+     * athlete's read model row; profiles not yet backfilled are assembled from the entities.
      */
-    @Cacheable(value = "athletes", key = "#id")
+    @Cacheable(value = "athletes", key = "#id", sync = true)
     public AthleteProfileResponse getProfile(UUID id) {
         log.debug("Fetching athlete profile from database: {}", id);
-        AthleteProfile profile = athleteProfileRepository.findById(id)
+        Optional<AthleteProfileResponse> fromReadModel = readModelRepository.findById(id).flatMap(this::readResponse);
+        if (fromReadModel.isPresent()) {
+            return fromReadModel.get();
+        }
+        AthleteProfile profile = athleteProfileRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Athlete profile not found: " + id));
         return mapProfileToResponse(profile);
     }
 
+    /**
+     * Get athlete profiles in the order of {@code ids}, from their read model rows where they
+     * exist and assembled from the entities otherwise. IDs with no profile are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<AthleteProfileResponse> getProfiles(List<UUID> ids) {
+        Map<UUID, AthleteProfileResponse> byId = new HashMap<>();
+        for (AthleteReadModel row : readModelRepository.findAllById(ids)) {
+            readResponse(row).ifPresent(response -> byId.put(row.getId(), response));
+        }
+        List<AthleteProfileResponse> responses = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            AthleteProfileResponse response = byId.get(id);
+            if (response == null) {
+                response = athleteProfileRepository.findWithDetailsById(id)
+                        .map(this::mapProfileToResponse)
+                        .orElse(null);
+            }
+            if (response != null) {
+                responses.add(response);
+            }
+        }
+        return responses;
+    }
+
     /**
      * Get athlete profile by Clerk user ID.
      */
     public AthleteProfileResponse getProfileByClerkId(String clerkId) {
-        User user = userRepository.findByClerkId(clerkId)
+        Optional<AthleteProfileResponse> fromReadModel = readModelRepository.findByClerkId(clerkId).flatMap(this::readResponse);
+        if (fromReadModel.isPresent()) {
+            return fromReadModel.get();
+        }
+        User user = userSyncQueue.findUser(clerkId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + clerkId));
         
         AthleteProfile profile = athleteProfileRepository.findByUserId(user.getId())
@@ -210,6 +271,7 @@ public class AthleteService {
 
         AthleteProfile saved = athleteProfileRepository.save(profile);
         log.info("Updated athlete profile: {}", id);
+        eventPublisher.publishEvent(AthleteProfileChangedEvent.changed(id));
 
         return mapProfileToResponse(saved);
     }
@@ -232,6 +294,7 @@ public class AthleteService {
         // Delete the profile first
         athleteProfileRepository.deleteById(id);
         log.info("Deleted athlete profile: {}", id);
+        eventPublisher.publishEvent(AthleteProfileChangedEvent.deleted(id));
         
         // Delete from Clerk if we have a clerkId
         if (clerkId != null && !clerkId.isEmpty()) {
@@ -246,6 +309,7 @@ public class AthleteService {
         // Delete the user from local database if it exists
         if (user != null) {
             userRepository.delete(user);
+            userSyncTracker.invalidate(clerkId);
             log.info("Deleted user from local database: {}", user.getId());
         }
     }
@@ -254,10 +318,43 @@ public class AthleteService {
      * Get all athlete profiles with pagination.
      */
     public Page<AthleteProfileResponse> getAllProfiles(Pageable pageable) {
-        return athleteProfileRepository.findAll(pageable)
+        return athleteProfileRepository.findAllWithUser(pageable)
                 .map(this::mapProfileToResponse);
     }
 
+    /**
+     * List athlete profiles in creation order using keyset pagination.
+     * Unlike {@link #getAllProfiles(Pageable)} this runs no count query and its cost does not
+     * grow with depth, which suits clients that walk the whole listing.
+     *
+     * @param cursor token from a previous page's {@code nextCursor}, or null for the first page
+     */
+    public CursorPage<AthleteProfileResponse> getProfilesAfter(String cursor, int size) {
+        int limit = PageCursor.clampSize(size);
+        // Fetch one extra row to learn whether another page exists
+        List<AthleteProfile> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = athleteProfileRepository.findFirstByKeyset(Limit.of(limit + 1));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = athleteProfileRepository.findAfterKeyset(after.createdAt(), after.id(), Limit.of(limit + 1));
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<AthleteProfile> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            AthleteProfile last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPage.<AthleteProfileResponse>builder()
+                .items(page.stream().map(this::mapProfileToResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     /**
      * Add a social account to an athlete profile.
      */
@@ -285,12 +382,14 @@ public class AthleteService {
         }
 
         AthleteSocialAccount saved = socialAccountRepository.save(social);
+        profile.getSocialAccounts().add(saved);
 
         // Update completeness score
         profile.setProfileCompletenessScore(calculateCompleteness(profile));
         athleteProfileRepository.save(profile);
 
         log.info("Added {} social account to profile: {}", request.getPlatform(), profileId);
+        eventPublisher.publishEvent(AthleteProfileChangedEvent.changed(profileId));
         return mapSocialToResponse(saved);
     }
 
@@ -310,12 +409,57 @@ public class AthleteService {
         }
 
         socialAccountRepository.delete(social);
+        profile.getSocialAccounts().remove(social);
 
         // Update completeness score
         profile.setProfileCompletenessScore(calculateCompleteness(profile));
         athleteProfileRepository.save(profile);
 
         log.info("Deleted social account {} from profile: {}", socialId, profileId);
+        eventPublisher.publishEvent(AthleteProfileChangedEvent.changed(profileId));
+    }
+
+    /**
+     * Rewrite the athlete's read model row inside the transaction that changed the athlete,
+     * so the row commits (or rolls back) together with the write. The same transaction bumps
+     * the profile's updated_at, or leaves a tombstone for a deleted profile, which is what
+     * incremental exports pick changes up by.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void refreshReadModel(AthleteProfileChangedEvent event) {
+        if (event.deleted()) {
+            readModelRepository.deleteById(event.profileId());
+            tombstoneRepository.save(new AthleteTombstone(event.profileId(), Instant.now()));
+            return;
+        }
+        athleteProfileRepository.touch(event.profileId(), Instant.now());
+        athleteProfileRepository.findWithDetailsById(event.profileId())
+                .ifPresent(profile -> readModelRepository.save(toReadModel(profile)));
+    }
+
+    /**
+     * Evict the athlete's cached profile on every node once a change has committed. Social
+     * account, media, snapshot and user sync writes only announce themselves with the event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = "athletes", key = "#event.profileId()")
+    public void evictCachedProfile(AthleteProfileChangedEvent event) {
+        log.debug("Evicting cached athlete profile: {}", event.profileId());
+    }
+
+    /**
+     * Create read model rows for up to {@code limit} profiles that have none.
+     *
+     * @return number of rows created
+     */
+    @Transactional
+    public int backfillReadModel(int limit) {
+        List<UUID> missing = readModelRepository.findMissingProfileIds(Limit.of(limit));
+        for (UUID id : missing) {
+            athleteProfileRepository.findWithDetailsById(id)
+                    .ifPresent(profile -> readModelRepository.save(toReadModel(profile)));
+        }
+        return missing.size();
     }
 
     /**
@@ -375,6 +519,48 @@ public class AthleteService {
         if (request.getAchievements() != null) profile.setAchievements(request.getAchievements());
     }
 
+    private AthleteReadModel toReadModel(AthleteProfile profile) {
+        AthleteProfileResponse response = mapProfileToResponse(profile);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize athlete profile " + profile.getId(), e);
+        }
+        long totalFollowers = profile.getSocialAccounts().stream()
+                .map(AthleteSocialAccount::getFollowers)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sum();
+        return AthleteReadModel.builder()
+                .id(profile.getId())
+                .userId(response.getUserId())
+                .clerkId(response.getClerkId())
+                .sport(profile.getSport())
+                .conference(profile.getConference())
+                .classYear(profile.getClassYear())
+                .school(profile.getSchool())
+                .gender(profile.getGender())
+                .completenessScore(profile.getProfileCompletenessScore())
+                .totalFollowers(totalFollowers)
+                .isVerified(profile.getIsVerified())
+                .isActive(profile.getIsActive())
+                .isAcceptingDeals(profile.getIsAcceptingDeals())
+                .responseJson(json)
+                .refreshedAt(Instant.now())
+                .build();
+    }
+
+    private Optional<AthleteProfileResponse> readResponse(AthleteReadModel row) {
+        try {
+            return Optional.of(objectMapper.readValue(row.getResponseJson(), AthleteProfileResponse.class));
+        } catch (JsonProcessingException e) {
+            // Written by an incompatible version; assemble from the entities instead
+            log.warn("Unreadable read model for athlete {}: {}", row.getId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     private AthleteProfileResponse mapProfileToResponse(AthleteProfile profile) {
         User user = profile.getUser();
         
@@ -444,7 +630,9 @@ public class AthleteService {
                 .isConnected(social.getIsConnected())
                 .followerCount(social.getFollowers())
                 .engagementRate(social.getEngagementRate())
-                .lastSyncedAt(social.getUpdatedAt()) // Use updatedAt as proxy for last sync
+                .lastSyncedAt(social.getLatestSnapshotAt() != null
+                        ? social.getLatestSnapshotAt()
+                        : social.getUpdatedAt()) // Use updatedAt as proxy until a snapshot arrives
                 .createdAt(social.getCreatedAt())
                 .build();
     }
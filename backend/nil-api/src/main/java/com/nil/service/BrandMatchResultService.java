@@ -0,0 +1,122 @@
+package com.nil.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nil.dto.RuleMatchResponse;
+import com.nil.entity.BrandMatchResult;
+import com.nil.exception.ResourceNotFoundException;
+import com.nil.repository.BrandMatchResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persists the ranked matches of the batch matching run and serves them to brand dashboards.
+ */
+@Service
+public class BrandMatchResultService {
+
+    private static final Logger log = LoggerFactory.getLogger(BrandMatchResultService.class);
+
+    private final BrandMatchResultRepository brandMatchResultRepository;
+    private final ObjectMapper objectMapper;
+
+    public BrandMatchResultService(BrandMatchResultRepository brandMatchResultRepository,
+                                   ObjectMapper objectMapper) {
+        this.brandMatchResultRepository = brandMatchResultRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Replace all stored results with those of a new run. Readers keep seeing the previous
+     * run until this commits; brands missing from {@code results} lose their rows.
+     *
+     * @return number of rows written
+     */
+    @Transactional
+    public int replaceAll(List<RuleMatchResponse> results) {
+        UUID runId = UUID.randomUUID();
+        List<BrandMatchResult> rows = new ArrayList<>();
+        for (RuleMatchResponse result : results) {
+            int rank = 1;
+            for (RuleMatchResponse.Match match : result.getMatches()) {
+                rows.add(BrandMatchResult.builder()
+                        .runId(runId)
+                        .brandId(result.getBrandId())
+                        .brandName(result.getBrandName())
+                        .athleteId(match.getAthleteId())
+                        .athleteName(match.getAthleteName())
+                        .rank(rank++)
+                        .matchScore(match.getMatchScore())
+                        .estimatedReach(match.getEstimatedReach())
+                        .componentScores(writeScores(match.getComponentScores()))
+                        .totalCandidates(result.getTotalCandidates())
+                        .passedFilters(result.getPassedFilters())
+                        .generatedAt(result.getGeneratedAt())
+                        .build());
+            }
+        }
+        brandMatchResultRepository.saveAll(rows);
+        int deleted = brandMatchResultRepository.deleteByRunIdNot(runId);
+        log.info("Stored {} match results for {} brands, replaced {} rows", rows.size(), results.size(), deleted);
+        return rows.size();
+    }
+
+    /**
+     * Latest stored matches for a brand, best first.
+     */
+    @Transactional(readOnly = true)
+    public RuleMatchResponse getResults(UUID brandId) {
+        List<BrandMatchResult> rows = brandMatchResultRepository.findByBrandIdOrderByRankAsc(brandId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("No batch match results for brand: " + brandId);
+        }
+        BrandMatchResult first = rows.get(0);
+        return RuleMatchResponse.builder()
+                .brandId(brandId)
+                .brandName(first.getBrandName())
+                .totalCandidates(first.getTotalCandidates())
+                .passedFilters(first.getPassedFilters())
+                .totalMatches(rows.size())
+                .matches(rows.stream().map(this::toMatch).toList())
+                .generatedAt(first.getGeneratedAt())
+                .build();
+    }
+
+    private RuleMatchResponse.Match toMatch(BrandMatchResult row) {
+        return RuleMatchResponse.Match.builder()
+                .athleteId(row.getAthleteId())
+                .athleteName(row.getAthleteName())
+                .matchScore(row.getMatchScore())
+                .estimatedReach(row.getEstimatedReach() != null ? row.getEstimatedReach() : 0L)
+                .componentScores(readScores(row.getComponentScores()))
+                .build();
+    }
+
+    private String writeScores(Map<String, Double> scores) {
+        try {
+            return objectMapper.writeValueAsString(scores);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize component scores", e);
+        }
+    }
+
+    private Map<String, Double> readScores(String json) {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Double>>() {});
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable component scores: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nil.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a brand profile is created, changed or deleted. Like
+ * {@link AthleteProfileChangedEvent}, listeners keeping derived copies of brand data should
+ * handle it after the transaction commits.
+ *
+ * @param deleted true if the profile itself no longer exists
+ */
+public record BrandProfileChangedEvent(UUID profileId, boolean deleted) {
+
+    public static BrandProfileChangedEvent changed(UUID profileId) {
+        return new BrandProfileChangedEvent(profileId, false);
+    }
+
+    public static BrandProfileChangedEvent deleted(UUID profileId) {
+        return new BrandProfileChangedEvent(profileId, true);
+    }
+}
@@ -0,0 +1,80 @@
+package com.nil.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-brand counterpart of {@link AthleteRosterVersion}: a version for each brand profile,
+ * bumped after every committed write to it ({@link BrandProfileChangedEvent}). Results computed
+ * from a brand's stored profile can be cached under its version and are implicitly
+ * invalidated when the brand edits it.
+ *
+ * With Redis enabled the versions live in one Redis hash so that every node sees writes made
+ * on the others; otherwise they are kept locally.
+ */
+@Component
+public class BrandProfileVersion {
+
+    private static final Logger log = LoggerFactory.getLogger(BrandProfileVersion.class);
+    private static final String REDIS_KEY = "nil:brands:profile-versions";
+
+    private final Map<UUID, Long> localVersions = new ConcurrentHashMap<>();
+    @Nullable
+    private final StringRedisTemplate redisTemplate;
+
+    public BrandProfileVersion(
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+            @Value("${spring.data.redis.enabled:false}") boolean redisEnabled) {
+        this.redisTemplate = redisEnabled
+                ? new StringRedisTemplate(redisConnectionFactory.getObject())
+                : null;
+    }
+
+    /**
+     * Current version of the brand, 0 if it was never written, or empty if it cannot be read
+     * (Redis unavailable).
+     */
+    public OptionalLong current(UUID brandId) {
+        if (redisTemplate == null) {
+            return OptionalLong.of(localVersions.getOrDefault(brandId, 0L));
+        }
+        try {
+            Object value = redisTemplate.opsForHash().get(REDIS_KEY, brandId.toString());
+            return OptionalLong.of(value != null ? Long.parseLong(value.toString()) : 0L);
+        } catch (Exception e) {
+            log.warn("Failed to read version of brand {}: {}", brandId, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    // After commit, so a version is never observed before the write it stands for is visible
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBrandChanged(BrandProfileChangedEvent event) {
+        bump(event.profileId());
+    }
+
+    void bump(UUID brandId) {
+        if (redisTemplate == null) {
+            localVersions.merge(brandId, 1L, Long::sum);
+            return;
+        }
+        try {
+            redisTemplate.opsForHash().increment(REDIS_KEY, brandId.toString(), 1);
+        } catch (Exception e) {
+            // Results cached under the old version live on until their TTL
+            log.warn("Failed to bump version of brand {}: {}", brandId, e.getMessage());
+        }
+    }
+}
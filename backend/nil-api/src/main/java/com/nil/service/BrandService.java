@@ -11,6 +11,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,17 +34,26 @@ public class BrandService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final ClerkUserService clerkUserService;
+    private final UserSyncTracker userSyncTracker;
+    private final UserSyncQueue userSyncQueue;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BrandService(BrandProfileRepository brandProfileRepository,
                         BrandSocialAccountRepository socialAccountRepository,
                         UserRepository userRepository,
                         RoleRepository roleRepository,
-                        ClerkUserService clerkUserService) {
+                        ClerkUserService clerkUserService,
+                        UserSyncTracker userSyncTracker,
+                        UserSyncQueue userSyncQueue,
+                        ApplicationEventPublisher eventPublisher) {
         this.brandProfileRepository = brandProfileRepository;
         this.socialAccountRepository = socialAccountRepository;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.clerkUserService = clerkUserService;
+        this.userSyncTracker = userSyncTracker;
+        this.userSyncQueue = userSyncQueue;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -51,7 +62,7 @@ public class BrandService {
     @Transactional
     public BrandProfileResponse createProfile(String clerkId, BrandProfileRequest request) {
         // Get or create user
-        User user = userRepository.findByClerkId(clerkId)
+        User user = userSyncQueue.findUser(clerkId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + clerkId));
 
         // Check if profile already exists
@@ -84,17 +95,19 @@ public class BrandService {
 
         BrandProfile saved = brandProfileRepository.save(profile);
         log.info("Created brand profile for user: {}", clerkId);
+        eventPublisher.publishEvent(BrandProfileChangedEvent.changed(saved.getId()));
 
         return mapProfileToResponse(saved);
     }
 
     /**
      * Get brand profile by ID.
+     * Concurrent misses for the same ID share a single database load.
      */
-    @Cacheable(value = "brands", key = "#id")
+    @Cacheable(value = "brands", key = "#id", sync = true)
     public BrandProfileResponse getProfile(UUID id) {
         log.debug("Fetching brand profile from database: {}", id);
-        BrandProfile profile = brandProfileRepository.findById(id)
+        BrandProfile profile = brandProfileRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Brand profile not found: " + id));
         return mapProfileToResponse(profile);
     }
@@ -103,7 +116,7 @@ public class BrandService {
      * Get brand profile by Clerk user ID.
      */
     public BrandProfileResponse getProfileByClerkId(String clerkId) {
-        User user = userRepository.findByClerkId(clerkId)
+        User user = userSyncQueue.findUser(clerkId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + clerkId));
         
         BrandProfile profile = brandProfileRepository.findByUserId(user.getId())
@@ -206,6 +219,7 @@ public class BrandService {
 
         BrandProfile saved = brandProfileRepository.save(profile);
         log.info("Updated brand profile: {}", id);
+        eventPublisher.publishEvent(BrandProfileChangedEvent.changed(id));
 
         return mapProfileToResponse(saved);
     }
@@ -227,6 +241,7 @@ public class BrandService {
         // Delete the profile first
         brandProfileRepository.deleteById(id);
         log.info("Deleted brand profile: {}", id);
+        eventPublisher.publishEvent(BrandProfileChangedEvent.deleted(id));
         
         // Delete from Clerk if we have a clerkId
         if (clerkId != null && !clerkId.isEmpty()) {
@@ -245,6 +260,7 @@ public class BrandService {
         // Delete the user from local database if it exists
         if (user != null) {
             userRepository.delete(user);
+            userSyncTracker.invalidate(clerkId);
             log.info("Deleted user from local database: {}", user.getId());
         }
     }
@@ -253,10 +269,43 @@ public class BrandService {
      * Get all brand profiles with pagination.
      */
     public Page<BrandProfileResponse> getAllProfiles(Pageable pageable) {
-        return brandProfileRepository.findAll(pageable)
+        return brandProfileRepository.findAllWithUser(pageable)
                 .map(this::mapProfileToResponse);
     }
 
+    /**
+     * List brand profiles in creation order using keyset pagination.
+     * Unlike {@link #getAllProfiles(Pageable)} this runs no count query and its cost does not
+     * grow with depth, which suits clients that walk the whole listing.
+     *
+     * @param cursor token from a previous page's {@code nextCursor}, or null for the first page
+     */
+    public CursorPage<BrandProfileResponse> getProfilesAfter(String cursor, int size) {
+        int limit = PageCursor.clampSize(size);
+        // Fetch one extra row to learn whether another page exists
+        List<BrandProfile> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = brandProfileRepository.findFirstByKeyset(Limit.of(limit + 1));
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = brandProfileRepository.findAfterKeyset(after.createdAt(), after.id(), Limit.of(limit + 1));
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<BrandProfile> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            BrandProfile last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPage.<BrandProfileResponse>builder()
+                .items(page.stream().map(this::mapProfileToResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     /**
      * Add a social account to a brand profile.
      */
@@ -289,6 +338,7 @@ public class BrandService {
         brandProfileRepository.save(profile);
 
         log.info("Added {} social account to profile: {}", request.getPlatform(), profileId);
+        eventPublisher.publishEvent(BrandProfileChangedEvent.changed(profileId));
         return mapSocialToResponse(saved);
     }
 
@@ -314,6 +364,7 @@ public class BrandService {
         brandProfileRepository.save(profile);
 
         log.info("Deleted social account {} from profile: {}", socialId, profileId);
+        eventPublisher.publishEvent(BrandProfileChangedEvent.changed(profileId));
     }
 
     /**
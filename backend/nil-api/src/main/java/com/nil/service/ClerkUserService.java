@@ -10,6 +10,7 @@ import com.nil.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,7 +21,8 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Service for syncing Clerk users with local database.
@@ -37,6 +39,7 @@ public class ClerkUserService {
     private final BrandIntakeRequestRepository brandIntakeRepo;
     private final AthleteProfileRepository athleteProfileRepo;
     private final BrandProfileRepository brandProfileRepo;
+    private final ApplicationEventPublisher eventPublisher;
     private final String clerkSecretKey;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
@@ -49,6 +52,7 @@ public class ClerkUserService {
             BrandIntakeRequestRepository brandIntakeRepo,
             AthleteProfileRepository athleteProfileRepo,
             BrandProfileRepository brandProfileRepo,
+            ApplicationEventPublisher eventPublisher,
             @Value("${clerk.secret-key:}") String clerkSecretKey) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
@@ -56,6 +60,7 @@ public class ClerkUserService {
         this.brandIntakeRepo = brandIntakeRepo;
         this.athleteProfileRepo = athleteProfileRepo;
         this.brandProfileRepo = brandProfileRepo;
+        this.eventPublisher = eventPublisher;
         this.clerkSecretKey = clerkSecretKey;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
@@ -89,27 +94,31 @@ public class ClerkUserService {
 
         if (existingUser.isPresent()) {
             User user = existingUser.get();
+            boolean changed = false;
             
             // Update email if changed
-            if (email != null && !email.equals(user.getEmail())) {
+            if (!email.equals(user.getEmail())) {
                 user.setEmail(email);
+                changed = true;
             }
             
             // Update name if changed
-            if (firstName != null) {
+            if (firstName != null && !firstName.equals(user.getFirstName())) {
                 user.setFirstName(firstName);
+                changed = true;
             }
-            if (lastName != null) {
+            if (lastName != null && !lastName.equals(user.getLastName())) {
                 user.setLastName(lastName);
+                changed = true;
             }
             
-            User savedUser = userRepository.save(user);
-            log.debug("Updated existing user: {} ({})", clerkId, email);
+            User savedUser = changed ? userRepository.save(user) : user;
+            log.debug("Synced existing user: {} ({}), changed: {}", clerkId, email, changed);
             
             // Check if user has a profile - if not, try to create from intake request
             // This handles cases where user signed up before intake was approved
             boolean hasAthleteProfile = athleteProfileRepo.existsByUserId(savedUser.getId());
-            boolean hasBrandProfile = brandProfileRepo.existsByUserId(savedUser.getId());
+            boolean hasBrandProfile = !hasAthleteProfile && brandProfileRepo.existsByUserId(savedUser.getId());
             
             if (!hasAthleteProfile && !hasBrandProfile) {
                 log.info("Existing user {} has no profile. Checking for intake requests...", clerkId);
@@ -136,6 +145,88 @@ public class ClerkUserService {
         return savedUser;
     }
 
+    /**
+     * Sync a batch of Clerk users in one transaction.
+     * New and changed users are written with saveAll so Hibernate can group the
+     * statements into JDBC batches; unchanged users are not written at all.
+     *
+     * @param claims Latest claims per user (one entry per clerkId)
+     * @return Users that have no profile yet and should be checked against intake requests
+     */
+    @Transactional
+    public List<User> syncClerkUsers(Collection<ClerkUserClaims> claims) {
+        Map<String, User> existing = userRepository.findByClerkIdIn(
+                        claims.stream().map(ClerkUserClaims::clerkId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getClerkId, u -> u));
+
+        List<User> toSave = new ArrayList<>();
+        List<User> created = new ArrayList<>();
+        List<User> existingUsers = new ArrayList<>();
+        List<UUID> changedUserIds = new ArrayList<>();
+        for (ClerkUserClaims c : claims) {
+            User user = existing.get(c.clerkId());
+            if (user == null) {
+                user = new User();
+                user.setClerkId(c.clerkId());
+                user.setEmail(c.email());
+                user.setFirstName(c.firstName());
+                user.setLastName(c.lastName());
+                user.setStatus("ACTIVE");
+                toSave.add(user);
+                created.add(user);
+                continue;
+            }
+            boolean changed = false;
+            if (!c.email().equals(user.getEmail())) {
+                user.setEmail(c.email());
+                changed = true;
+            }
+            if (c.firstName() != null && !c.firstName().equals(user.getFirstName())) {
+                user.setFirstName(c.firstName());
+                changed = true;
+            }
+            if (c.lastName() != null && !c.lastName().equals(user.getLastName())) {
+                user.setLastName(c.lastName());
+                changed = true;
+            }
+            if (changed) {
+                toSave.add(user);
+                changedUserIds.add(user.getId());
+            }
+            existingUsers.add(user);
+        }
+
+        List<User> saved = userRepository.saveAll(toSave);
+        log.debug("Synced {} Clerk user(s): {} created, {} updated", claims.size(), created.size(), saved.size() - created.size());
+
+        // Athlete profiles show the user's name and email
+        if (!changedUserIds.isEmpty()) {
+            athleteProfileRepo.findIdsByUserIdIn(changedUserIds)
+                    .forEach(id -> eventPublisher.publishEvent(AthleteProfileChangedEvent.changed(id)));
+        }
+
+        // Existing users without a profile may have signed up before their intake was approved
+        List<User> needsIntake = new ArrayList<>(created);
+        if (!existingUsers.isEmpty()) {
+            List<UUID> ids = existingUsers.stream().map(User::getId).toList();
+            Set<UUID> withProfile = new HashSet<>(athleteProfileRepo.findUserIdsWithProfile(ids));
+            withProfile.addAll(brandProfileRepo.findUserIdsWithProfile(ids));
+            existingUsers.stream()
+                    .filter(u -> !withProfile.contains(u.getId()))
+                    .forEach(needsIntake::add);
+        }
+        return needsIntake;
+    }
+
+    /**
+     * Create a profile (and assign the role) for a user from their intake request, if any.
+     */
+    @Transactional
+    public void provisionFromIntake(UUID userId, String email) {
+        userRepository.findById(userId).ifPresent(user -> processIntakeRequests(user, email));
+    }
+
     /**
      * Get a user by their Clerk user ID.
      *
@@ -321,8 +412,9 @@ public class ClerkUserService {
         profile.setIsAcceptingDeals(true);
         profile.setProfileCompletenessScore(calculateInitialCompleteness(profile));
         
-        athleteProfileRepo.save(profile);
+        AthleteProfile saved = athleteProfileRepo.save(profile);
         log.info("Created athlete profile from intake request for user: {}", user.getClerkId());
+        eventPublisher.publishEvent(AthleteProfileChangedEvent.changed(saved.getId()));
     }
 
     /**
@@ -559,4 +651,10 @@ public class ClerkUserService {
             this.lastName = lastName;
         }
     }
+
+    /**
+     * Identity claims from a verified Clerk token, as queued for syncing.
+     */
+    public record ClerkUserClaims(String clerkId, String email, String firstName, String lastName) {
+    }
 }
@@ -0,0 +1,67 @@
+package com.nil.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sets the latest-snapshot pointer of social accounts whose snapshots were recorded before
+ * the pointer existed. Runs once at startup on a background thread, one transaction per
+ * batch; until an account is backfilled its current metrics are missing from
+ * {@link SocialSnapshotService#getCurrentMetrics}.
+ */
+@Component
+public class LatestSnapshotBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestSnapshotBackfill.class);
+
+    private final SocialSnapshotService socialSnapshotService;
+    private final int batchSize;
+    private final ExecutorService worker;
+
+    public LatestSnapshotBackfill(
+            SocialSnapshotService socialSnapshotService,
+            @Value("${social.snapshots.latest-backfill-batch-size:200}") int batchSize) {
+        this.socialSnapshotService = socialSnapshotService;
+        this.batchSize = batchSize;
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "latest-snapshot-backfill");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.execute(this::run);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void run() {
+        int total = 0;
+        try {
+            int updated;
+            do {
+                updated = socialSnapshotService.backfillLatestSnapshots(batchSize);
+                total += updated;
+            } while (updated == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            log.error("Latest snapshot backfill failed after {} accounts", total, e);
+            return;
+        }
+        if (total > 0) {
+            log.info("Backfilled latest snapshot for {} social accounts", total);
+        }
+    }
+}
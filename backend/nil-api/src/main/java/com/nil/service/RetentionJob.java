@@ -0,0 +1,151 @@
+package com.nil.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the retention policies on the {@code retention.cron} schedule ("-" disables it):
+ * social snapshots past {@code social.snapshots.raw-retention}, except each account's latest
+ * snapshot (older ranges are served from the rollups), audit logs past
+ * {@code retention.audit-logs.max-age} if set, and athlete tombstones past
+ * {@code retention.athlete-tombstones.max-age}.
+ *
+ * Policies are purged one chunk at a time through {@link RetentionService}, paced so that no
+ * more than {@code retention.max-rows-per-second} rows are deleted per second. A run cut
+ * short by a restart is resumed from its checkpoint when the application starts. Runs and
+ * resumes never overlap.
+ */
+@Component
+public class RetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionJob.class);
+
+    private final RetentionService retentionService;
+    private final MeterRegistry meterRegistry;
+    private final TaskScheduler taskScheduler;
+    private final List<RetentionPolicy> policies;
+    private final int chunkSize;
+    private final int maxRowsPerSecond;
+
+    public RetentionJob(
+            RetentionService retentionService,
+            MeterRegistry meterRegistry,
+            TaskScheduler taskScheduler,
+            @Value("${retention.chunk-size:1000}") int chunkSize,
+            @Value("${retention.max-rows-per-second:5000}") int maxRowsPerSecond,
+            @Value("${social.snapshots.raw-retention:P90D}") Duration snapshotMaxAge,
+            @Value("${retention.audit-logs.max-age:P0D}") Duration auditLogMaxAge,
+            @Value("${retention.athlete-tombstones.max-age:P7D}") Duration tombstoneMaxAge) {
+        this.retentionService = retentionService;
+        this.meterRegistry = meterRegistry;
+        this.taskScheduler = taskScheduler;
+        this.chunkSize = chunkSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.policies = List.of(
+                new RetentionPolicy("social_snapshots", "AthleteSocialSnapshot", "snapshotTimestamp", snapshotMaxAge,
+                        "e.id IN (SELECT sa.latestSnapshotId FROM AthleteSocialAccount sa WHERE sa.latestSnapshotId IS NOT NULL)"),
+                new RetentionPolicy("audit_logs", "AuditLog", "timestamp", auditLogMaxAge, null),
+                new RetentionPolicy("athlete_tombstones", "AthleteTombstone", "deletedAt", tombstoneMaxAge, null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.schedule(this::resumeInterrupted, Instant.now());
+    }
+
+    private synchronized void resumeInterrupted() {
+        for (RetentionPolicy policy : policies) {
+            try {
+                if (policy.enabled() && retentionService.isInterrupted(policy)) {
+                    run(policy);
+                }
+            } catch (Exception e) {
+                log.error("Could not resume {} retention", policy.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Run every enabled policy to completion.
+     */
+    @Scheduled(cron = "${retention.cron:0 30 4 * * *}")
+    public synchronized void runAll() {
+        for (RetentionPolicy policy : policies) {
+            if (policy.enabled() && !Thread.currentThread().isInterrupted()) {
+                run(policy);
+            }
+        }
+    }
+
+    private void run(RetentionPolicy policy) {
+        Counter purgedCounter = Counter.builder("retention.rows.purged")
+                .description("Rows deleted by retention")
+                .tag("policy", policy.name())
+                .register(meterRegistry);
+        Timer chunkTimer = Timer.builder("retention.chunk")
+                .description("Time to delete one retention chunk")
+                .tag("policy", policy.name())
+                .register(meterRegistry);
+        Timer runTimer = Timer.builder("retention.run")
+                .description("Time to complete a retention run, including throttling")
+                .tag("policy", policy.name())
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        long purged = 0;
+        try {
+            retentionService.beginRun(policy);
+            RetentionService.ChunkResult result;
+            do {
+                long chunkStart = System.nanoTime();
+                result = retentionService.purgeChunk(policy, chunkSize);
+                long elapsed = System.nanoTime() - chunkStart;
+                chunkTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                purgedCounter.increment(result.purged());
+                purged += result.purged();
+                if (!result.finished()) {
+                    throttle(result.purged(), elapsed);
+                }
+            } while (!result.finished());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("{} retention stopped after {} rows; it resumes from its checkpoint", policy.name(), purged);
+            return;
+        } catch (Exception e) {
+            log.error("{} retention failed after {} rows; it resumes from its checkpoint", policy.name(), purged, e);
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("{} retention deleted {} rows in {}ms", policy.name(), purged, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Sleep long enough that deleting {@code purged} rows took at least the time the rate cap allows for them.
+     */
+    private void throttle(int purged, long elapsedNanos) throws InterruptedException {
+        if (maxRowsPerSecond <= 0 || purged == 0) {
+            return;
+        }
+        long minNanos = purged * 1_000_000_000L / maxRowsPerSecond;
+        if (minNanos > elapsedNanos) {
+            TimeUnit.NANOSECONDS.sleep(minNanos - elapsedNanos);
+        } else if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nil.service;
+
+import java.time.Duration;
+
+/**
+ * What {@link RetentionService} purges: rows of {@code entity} whose {@code timestampAttribute}
+ * is older than {@code maxAge}, except those matching {@code keepCondition}.
+ *
+ * @param name               checkpoint and metric tag name
+ * @param entity             JPA entity name; its ID attribute must be {@code id}
+ * @param timestampAttribute attribute the age is measured by; should be indexed
+ * @param maxAge             zero disables the policy
+ * @param keepCondition      optional JPQL condition on alias {@code e} for rows to keep regardless of age
+ */
+public record RetentionPolicy(String name, String entity, String timestampAttribute, Duration maxAge,
+                              String keepCondition) {
+
+    public boolean enabled() {
+        return !maxAge.isZero() && !maxAge.isNegative();
+    }
+}
@@ -0,0 +1,136 @@
+package com.nil.service;
+
+import com.nil.entity.RetentionCheckpoint;
+import com.nil.repository.RetentionCheckpointRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Purges rows past a {@link RetentionPolicy} in bounded chunks, one transaction each.
+ *
+ * A run fixes its cutoff when it starts and walks the expired rows in (timestamp, id) order.
+ * Each chunk finds the key {@code chunkSize} rows ahead of the checkpoint and deletes the key
+ * range up to it with a single bulk statement, so no entities are loaded and locks are held
+ * only for one chunk. The checkpoint advances in the same transaction as the delete, which
+ * makes an interrupted run resumable from the last committed chunk.
+ */
+@Service
+public class RetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionService.class);
+
+    /**
+     * Outcome of one chunk: rows deleted, and whether the run has reached the cutoff.
+     */
+    public record ChunkResult(int purged, boolean finished) {}
+
+    private final EntityManager entityManager;
+    private final RetentionCheckpointRepository checkpointRepository;
+
+    public RetentionService(EntityManager entityManager, RetentionCheckpointRepository checkpointRepository) {
+        this.entityManager = entityManager;
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    /**
+     * Whether a run of the policy was started and not finished, e.g. because of a restart.
+     */
+    @Transactional(readOnly = true)
+    public boolean isInterrupted(RetentionPolicy policy) {
+        return checkpointRepository.findById(policy.name())
+                .map(checkpoint -> checkpoint.getCompletedAt() == null)
+                .orElse(false);
+    }
+
+    /**
+     * Start a run of the policy with a cutoff of now minus its maximum age, or continue the
+     * unfinished one with its original cutoff.
+     */
+    @Transactional
+    public RetentionCheckpoint beginRun(RetentionPolicy policy) {
+        Instant now = Instant.now();
+        RetentionCheckpoint checkpoint = checkpointRepository.findById(policy.name()).orElse(null);
+        if (checkpoint != null && checkpoint.getCompletedAt() == null) {
+            log.info("Resuming {} retention run with cutoff {} after {} rows", policy.name(),
+                    checkpoint.getCutoff(), checkpoint.getRowsPurged());
+            return checkpoint;
+        }
+        if (checkpoint == null) {
+            checkpoint = RetentionCheckpoint.builder().policy(policy.name()).build();
+        }
+        checkpoint.setCutoff(now.minus(policy.maxAge()));
+        checkpoint.setLastTimestamp(null);
+        checkpoint.setLastId(null);
+        checkpoint.setRowsPurged(0);
+        checkpoint.setStartedAt(now);
+        checkpoint.setUpdatedAt(now);
+        checkpoint.setCompletedAt(null);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Delete the next chunk of at most {@code chunkSize} expired rows of the current run and
+     * advance its checkpoint; marks the run complete once no expired rows are left after it.
+     */
+    @Transactional
+    public ChunkResult purgeChunk(RetentionPolicy policy, int chunkSize) {
+        RetentionCheckpoint checkpoint = checkpointRepository.findById(policy.name())
+                .filter(c -> c.getCompletedAt() == null)
+                .orElseThrow(() -> new IllegalStateException("No retention run in progress for " + policy.name()));
+
+        String ts = "e." + policy.timestampAttribute();
+        boolean resumed = checkpoint.getLastTimestamp() != null;
+        String range = ts + " < :cutoff"
+                + (resumed ? " AND (" + ts + " > :lastTs OR (" + ts + " = :lastTs AND e.id > :lastId))" : "");
+
+        // Last key of the chunk; none if fewer than chunkSize expired rows remain
+        TypedQuery<Object[]> endQuery = entityManager.createQuery(
+                "SELECT " + ts + ", e.id FROM " + policy.entity() + " e WHERE " + range
+                        + " ORDER BY " + ts + ", e.id", Object[].class);
+        bindRange(endQuery, checkpoint, resumed);
+        List<Object[]> end = endQuery.setFirstResult(chunkSize - 1).setMaxResults(1).getResultList();
+
+        String delete = "DELETE FROM " + policy.entity() + " e WHERE " + range;
+        if (!end.isEmpty()) {
+            delete += " AND (" + ts + " < :endTs OR (" + ts + " = :endTs AND e.id <= :endId))";
+        }
+        if (policy.keepCondition() != null) {
+            delete += " AND NOT (" + policy.keepCondition() + ")";
+        }
+        Query deleteQuery = entityManager.createQuery(delete);
+        bindRange(deleteQuery, checkpoint, resumed);
+        if (!end.isEmpty()) {
+            deleteQuery.setParameter("endTs", end.get(0)[0]);
+            deleteQuery.setParameter("endId", end.get(0)[1]);
+        }
+        int purged = deleteQuery.executeUpdate();
+
+        Instant now = Instant.now();
+        if (end.isEmpty()) {
+            checkpoint.setCompletedAt(now);
+        } else {
+            checkpoint.setLastTimestamp((Instant) end.get(0)[0]);
+            checkpoint.setLastId((UUID) end.get(0)[1]);
+        }
+        checkpoint.setRowsPurged(checkpoint.getRowsPurged() + purged);
+        checkpoint.setUpdatedAt(now);
+        return new ChunkResult(purged, end.isEmpty());
+    }
+
+    private static void bindRange(Query query, RetentionCheckpoint checkpoint, boolean resumed) {
+        query.setParameter("cutoff", checkpoint.getCutoff());
+        if (resumed) {
+            query.setParameter("lastTs", checkpoint.getLastTimestamp());
+            query.setParameter("lastId", checkpoint.getLastId());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.nil.service;
+
+import com.nil.entity.converter.SnapshotJsonCodec;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * One-off migration that compresses the JSON columns of snapshots written before they were
+ * stored compressed. Enabled with {@code social.snapshots.recompress.enabled}; runs once at
+ * startup on a background thread, walking the table in ID order in batches.
+ *
+ * Reading does not depend on it: uncompressed values stay readable. Rows are rewritten with
+ * plain JDBC, one batched update per batch, and rewriting a row twice is harmless, so the job
+ * can be stopped and run again at any time. Each update bumps the row's version and only applies
+ * if the version is still the one read, so a snapshot changed in the meantime is left as its
+ * writer stored it (already compressed) and JPA sees the change as a concurrent update.
+ */
+@Component
+public class SnapshotRecompressionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotRecompressionJob.class);
+
+    private static final String[] COLUMNS = {"raw_data", "audience_age_distribution", "audience_top_locations", "top_content"};
+
+    private static final String SELECT_SQL =
+            "SELECT id, version, raw_data, audience_age_distribution, audience_top_locations, top_content " +
+            "FROM athlete_social_snapshots WHERE id > ? " +
+            "AND (raw_data NOT LIKE 'z1:%' OR audience_age_distribution NOT LIKE 'z1:%' " +
+            "OR audience_top_locations NOT LIKE 'z1:%' OR top_content NOT LIKE 'z1:%') " +
+            "ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SQL =
+            "UPDATE athlete_social_snapshots SET raw_data = ?, audience_age_distribution = ?, " +
+            "audience_top_locations = ?, top_content = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ExecutorService worker;
+
+    public SnapshotRecompressionJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${social.snapshots.recompress.enabled:false}") boolean enabled,
+            @Value("${social.snapshots.recompress.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "snapshot-recompression");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            worker.execute(this::run);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void run() {
+        long start = System.currentTimeMillis();
+        UUID after = new UUID(0, 0);
+        long rewritten = 0;
+        long skipped = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        try {
+            List<Row> rows;
+            do {
+                rows = jdbcTemplate.query(SELECT_SQL, (rs, i) -> {
+                    String[] values = new String[COLUMNS.length];
+                    for (int c = 0; c < COLUMNS.length; c++) {
+                        values[c] = rs.getString(COLUMNS[c]);
+                    }
+                    return new Row(rs.getObject("id", UUID.class), rs.getLong("version"), values);
+                }, after, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                after = rows.get(rows.size() - 1).id();
+
+                List<Object[]> updates = new ArrayList<>();
+                for (Row row : rows) {
+                    Object[] args = new Object[COLUMNS.length + 2];
+                    boolean changed = false;
+                    for (int c = 0; c < COLUMNS.length; c++) {
+                        String stored = row.values()[c];
+                        String encoded = SnapshotJsonCodec.isEncoded(stored) ? stored : SnapshotJsonCodec.encode(stored);
+                        changed |= encoded != null && !encoded.equals(stored);
+                        bytesBefore += stored != null ? stored.length() : 0;
+                        bytesAfter += encoded != null ? encoded.length() : 0;
+                        args[c] = encoded;
+                    }
+                    args[COLUMNS.length] = row.id();
+                    args[COLUMNS.length + 1] = row.version();
+                    if (changed) {
+                        updates.add(args);
+                    }
+                }
+                if (!updates.isEmpty()) {
+                    for (int count : jdbcTemplate.batchUpdate(UPDATE_SQL, updates)) {
+                        // Some drivers report SUCCESS_NO_INFO (-2) for batched rows
+                        if (count == 0) {
+                            skipped++;
+                        } else {
+                            rewritten++;
+                        }
+                    }
+                }
+                log.debug("Recompressed {} snapshots so far, up to {}", rewritten, after);
+            } while (rows.size() == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            log.error("Snapshot recompression failed after {} rows, before {}", rewritten, after, e);
+            return;
+        }
+        log.info("Recompressed {} snapshots in {}ms ({} changed concurrently and left as written): {} -> {} characters in the JSON columns",
+                rewritten, System.currentTimeMillis() - start, skipped, bytesBefore, bytesAfter);
+    }
+
+    private record Row(UUID id, long version, String[] values) {}
+}
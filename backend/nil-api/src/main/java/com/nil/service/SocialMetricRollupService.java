@@ -0,0 +1,133 @@
+package com.nil.service;
+
+import com.nil.entity.AthleteSocialSnapshot;
+import com.nil.entity.SocialMetricRollup;
+import com.nil.entity.enums.MetricResolution;
+import com.nil.repository.SocialMetricRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Maintains the daily and weekly {@link SocialMetricRollup} rows of social accounts as
+ * snapshots are ingested. Runs inside the ingesting transaction, so a snapshot and its
+ * rollups commit together; callers must serialize ingestion per account (the ingest paths
+ * lock the social account row) so concurrent merges into one bucket cannot lose updates.
+ */
+@Service
+public class SocialMetricRollupService {
+
+    private static final List<MetricResolution> ROLLUP_RESOLUTIONS = List.of(MetricResolution.DAY, MetricResolution.WEEK);
+
+    private final SocialMetricRollupRepository rollupRepository;
+
+    public SocialMetricRollupService(SocialMetricRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * Merge the snapshots of one social account into its day and week rollups. Snapshots may
+     * arrive out of order; open and close values follow the snapshot timestamps.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(UUID socialAccountId, Collection<AthleteSocialSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        List<SocialMetricRollup> changed = new ArrayList<>();
+        for (MetricResolution resolution : ROLLUP_RESOLUTIONS) {
+            Map<Instant, List<AthleteSocialSnapshot>> byBucket = new HashMap<>();
+            for (AthleteSocialSnapshot snapshot : snapshots) {
+                byBucket.computeIfAbsent(bucketStart(snapshot.getSnapshotTimestamp(), resolution), b -> new ArrayList<>())
+                        .add(snapshot);
+            }
+            Map<Instant, SocialMetricRollup> existing = new HashMap<>();
+            for (SocialMetricRollup rollup : rollupRepository.findBySocialAccountIdAndResolutionAndBucketStartIn(
+                    socialAccountId, resolution, byBucket.keySet())) {
+                existing.put(rollup.getBucketStart(), rollup);
+            }
+            byBucket.forEach((bucket, samples) -> {
+                SocialMetricRollup rollup = existing.computeIfAbsent(bucket, b -> SocialMetricRollup.builder()
+                        .socialAccountId(socialAccountId)
+                        .resolution(resolution)
+                        .bucketStart(b)
+                        .build());
+                samples.forEach(sample -> merge(rollup, sample));
+                changed.add(rollup);
+            });
+        }
+        rollupRepository.saveAll(changed);
+    }
+
+    /**
+     * Start of the UTC day or ISO week (Monday) containing {@code timestamp}.
+     */
+    public static Instant bucketStart(Instant timestamp, MetricResolution resolution) {
+        return switch (resolution) {
+            case DAY -> timestamp.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> timestamp.atZone(ZoneOffset.UTC)
+                    .truncatedTo(ChronoUnit.DAYS)
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .toInstant();
+            case RAW -> timestamp;
+        };
+    }
+
+    private static void merge(SocialMetricRollup rollup, AthleteSocialSnapshot sample) {
+        Instant at = sample.getSnapshotTimestamp();
+        boolean first = rollup.getFirstAt() == null || !at.isAfter(rollup.getFirstAt());
+        boolean last = rollup.getLastAt() == null || !at.isBefore(rollup.getLastAt());
+        rollup.setSampleCount(rollup.getSampleCount() + 1);
+        if (first) {
+            rollup.setFirstAt(at);
+            rollup.setFollowersOpen(sample.getFollowers());
+        }
+        if (last) {
+            rollup.setLastAt(at);
+            rollup.setFollowersClose(sample.getFollowers());
+            rollup.setFollowingClose(sample.getFollowing());
+            rollup.setPostsCountClose(sample.getPostsCount());
+        }
+        Long followers = sample.getFollowers();
+        if (followers != null) {
+            if (rollup.getFollowersMin() == null || followers < rollup.getFollowersMin()) {
+                rollup.setFollowersMin(followers);
+            }
+            if (rollup.getFollowersMax() == null || followers > rollup.getFollowersMax()) {
+                rollup.setFollowersMax(followers);
+            }
+        }
+
+        if (sample.getEngagementRate() != null) {
+            rollup.setEngagementRateSum(rollup.getEngagementRateSum() + sample.getEngagementRate());
+            rollup.setEngagementRateSamples(rollup.getEngagementRateSamples() + 1);
+        }
+        if (sample.getAvgLikes() != null) {
+            rollup.setAvgLikesSum(rollup.getAvgLikesSum() + sample.getAvgLikes());
+            rollup.setAvgLikesSamples(rollup.getAvgLikesSamples() + 1);
+        }
+        if (sample.getAvgComments() != null) {
+            rollup.setAvgCommentsSum(rollup.getAvgCommentsSum() + sample.getAvgComments());
+            rollup.setAvgCommentsSamples(rollup.getAvgCommentsSamples() + 1);
+        }
+        if (sample.getAvgViews() != null) {
+            rollup.setAvgViewsSum(rollup.getAvgViewsSum() + sample.getAvgViews());
+            rollup.setAvgViewsSamples(rollup.getAvgViewsSamples() + 1);
+        }
+        if (sample.getAvgShares() != null) {
+            rollup.setAvgSharesSum(rollup.getAvgSharesSum() + sample.getAvgShares());
+            rollup.setAvgSharesSamples(rollup.getAvgSharesSamples() + 1);
+        }
+        if (sample.getAvgSaves() != null) {
+            rollup.setAvgSavesSum(rollup.getAvgSavesSum() + sample.getAvgSaves());
+            rollup.setAvgSavesSamples(rollup.getAvgSavesSamples() + 1);
+        }
+    }
+}
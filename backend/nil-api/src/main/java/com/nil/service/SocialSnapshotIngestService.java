@@ -0,0 +1,182 @@
+package com.nil.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nil.dto.SnapshotIngestReport;
+import com.nil.dto.SocialSnapshotRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk ingestion of social snapshots from newline-delimited JSON, one
+ * {@link SocialSnapshotRequest} with a {@code socialAccountId} per line.
+ *
+ * Lines are streamed from the request and grouped into batches of
+ * {@code social.ingest.batch-size} distinct (social account, timestamp) pairs; a pair repeated
+ * within a batch keeps its last line. Each batch is stored in its own transaction by
+ * {@link SocialSnapshotService#recordSnapshots}, which skips pairs already stored, so an upload
+ * that fails part way can be resent whole.
+ */
+@Service
+public class SocialSnapshotIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SocialSnapshotIngestService.class);
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final SocialSnapshotService socialSnapshotService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Timer batchTimer;
+    private final Counter insertedCounter;
+    private final Counter duplicateCounter;
+    private final Counter rejectedCounter;
+
+    public SocialSnapshotIngestService(
+            SocialSnapshotService socialSnapshotService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${social.ingest.batch-size:1000}") int batchSize) {
+        this.socialSnapshotService = socialSnapshotService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.batchTimer = Timer.builder("social.snapshots.ingest.batch")
+                .description("Time to store one batch of bulk-ingested snapshots")
+                .register(meterRegistry);
+        this.insertedCounter = ingestCounter(meterRegistry, "inserted");
+        this.duplicateCounter = ingestCounter(meterRegistry, "duplicate");
+        this.rejectedCounter = ingestCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * Read snapshots from {@code ndjson} until the end of the stream and store them batch by batch.
+     * Lines without a timestamp are stamped with the time the upload started.
+     */
+    public SnapshotIngestReport ingestNdjson(InputStream ndjson) throws IOException {
+        long start = System.nanoTime();
+        Instant receivedAt = Instant.now();
+        SnapshotIngestReport report = SnapshotIngestReport.builder()
+                .batches(new ArrayList<>())
+                .errors(new ArrayList<>())
+                .build();
+        PendingBatch batch = new PendingBatch();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            batch.lines++;
+            SocialSnapshotRequest record;
+            try {
+                record = objectMapper.readValue(line, SocialSnapshotRequest.class);
+            } catch (JsonProcessingException e) {
+                batch.rejected++;
+                addError(report, "Line " + lineNumber + ": invalid JSON");
+                continue;
+            }
+            if (record.getSocialAccountId() == null) {
+                batch.rejected++;
+                addError(report, "Line " + lineNumber + ": socialAccountId is required");
+                continue;
+            }
+            // Stored timestamps have microsecond precision; truncate so duplicates compare equal
+            Instant timestamp = record.getSnapshotTimestamp() != null ? record.getSnapshotTimestamp() : receivedAt;
+            record.setSnapshotTimestamp(timestamp.truncatedTo(ChronoUnit.MICROS));
+            if (batch.records.put(new SnapshotKey(record.getSocialAccountId(), record.getSnapshotTimestamp()), record) != null) {
+                batch.duplicates++;
+            }
+            if (batch.records.size() == batchSize) {
+                flush(batch, report);
+                batch = new PendingBatch();
+            }
+        }
+        if (batch.lines > 0) {
+            flush(batch, report);
+        }
+
+        report.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        report.setRowsPerSecond(rate(report.getInserted(), System.nanoTime() - start));
+        log.info("Ingested {} lines in {} batches: {} inserted, {} duplicates, {} rejected in {}ms ({} rows/s)",
+                report.getLines(), report.getBatches().size(), report.getInserted(), report.getDuplicates(),
+                report.getRejected(), report.getDurationMs(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    private void flush(PendingBatch batch, SnapshotIngestReport report) {
+        long start = System.nanoTime();
+        SocialSnapshotService.BatchResult result = socialSnapshotService.recordSnapshots(new ArrayList<>(batch.records.values()));
+        long elapsed = System.nanoTime() - start;
+        batchTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        int duplicates = batch.duplicates + result.duplicates();
+        int rejected = batch.rejected + result.unknownAccount();
+        if (result.unknownAccount() > 0) {
+            addError(report, "Batch " + (report.getBatches().size() + 1) + ": "
+                    + result.unknownAccount() + " snapshots for unknown social accounts");
+        }
+        SnapshotIngestReport.Batch stats = SnapshotIngestReport.Batch.builder()
+                .batch(report.getBatches().size() + 1)
+                .lines(batch.lines)
+                .inserted(result.inserted())
+                .duplicates(duplicates)
+                .rejected(rejected)
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .rowsPerSecond(rate(result.inserted(), elapsed))
+                .build();
+        report.getBatches().add(stats);
+        report.setLines(report.getLines() + batch.lines);
+        report.setInserted(report.getInserted() + result.inserted());
+        report.setDuplicates(report.getDuplicates() + duplicates);
+        report.setRejected(report.getRejected() + rejected);
+
+        insertedCounter.increment(result.inserted());
+        duplicateCounter.increment(duplicates);
+        rejectedCounter.increment(rejected);
+        log.debug("Snapshot batch {}: {} lines, {} inserted in {}ms",
+                stats.getBatch(), stats.getLines(), stats.getInserted(), stats.getDurationMs());
+    }
+
+    private static void addError(SnapshotIngestReport report, String error) {
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(error);
+        }
+    }
+
+    private static double rate(int rows, long nanos) {
+        return nanos > 0 ? rows * 1e9 / nanos : 0;
+    }
+
+    private static Counter ingestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("social.snapshots.ingested")
+                .description("Snapshot lines received by bulk ingestion")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record SnapshotKey(UUID socialAccountId, Instant timestamp) {}
+
+    private static class PendingBatch {
+        final Map<SnapshotKey, SocialSnapshotRequest> records = new LinkedHashMap<>();
+        int lines;
+        int duplicates;
+        int rejected;
+    }
+}
@@ -0,0 +1,427 @@
+package com.nil.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nil.dto.CurrentSocialMetrics;
+import com.nil.dto.SocialMetricSeries;
+import com.nil.dto.SocialSnapshotRequest;
+import com.nil.entity.AthleteSocialAccount;
+import com.nil.entity.AthleteSocialSnapshot;
+import com.nil.entity.SocialMetricRollup;
+import com.nil.entity.converter.SnapshotJsonCodec;
+import com.nil.entity.enums.MetricResolution;
+import com.nil.exception.BadRequestException;
+import com.nil.exception.ResourceNotFoundException;
+import com.nil.repository.AthleteSocialAccountRepository;
+import com.nil.repository.AthleteSocialSnapshotRepository;
+import com.nil.repository.SocialMetricRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Records social account snapshots and serves their metrics as time series.
+ *
+ * Every snapshot is merged into the account's daily and weekly rollups in the same
+ * transaction. Full snapshot rows are only kept for {@code social.snapshots.raw-retention}
+ * (see {@link RetentionJob}), so series over longer or older ranges are read from
+ * the rollups: the resolution is the finest one whose point count stays small for the range.
+ *
+ * Each account also points at its newest snapshot, moved forward on ingest in the same
+ * transaction, with that snapshot's metrics copied onto the account; current metrics are
+ * read through the pointer rather than by searching the snapshot history.
+ */
+@Service
+public class SocialSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SocialSnapshotService.class);
+
+    private static final String INSERT_SNAPSHOT_SQL =
+            "INSERT INTO athlete_social_snapshots (id, social_account_id, snapshot_timestamp, followers, following, " +
+            "posts_count, engagement_rate, avg_likes, avg_comments, avg_views, avg_shares, avg_saves, " +
+            "posting_frequency, audience_age_distribution, audience_gender_distribution, audience_top_locations, " +
+            "audience_top_countries, top_content, source, raw_data, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    /**
+     * Outcome of {@link #recordSnapshots}: snapshots stored, skipped because already stored,
+     * and skipped because their social account does not exist.
+     */
+    public record BatchResult(int inserted, int duplicates, int unknownAccount) {}
+
+    private final AthleteSocialAccountRepository socialAccountRepository;
+    private final AthleteSocialSnapshotRepository snapshotRepository;
+    private final SocialMetricRollupRepository rollupRepository;
+    private final SocialMetricRollupService rollupService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration rawRetention;
+    private final Duration rawMaxRange;
+    private final Duration dailyMaxRange;
+    private final int maxRawPoints;
+
+    public SocialSnapshotService(
+            AthleteSocialAccountRepository socialAccountRepository,
+            AthleteSocialSnapshotRepository snapshotRepository,
+            SocialMetricRollupRepository rollupRepository,
+            SocialMetricRollupService rollupService,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            @Value("${social.snapshots.raw-retention:P90D}") Duration rawRetention,
+            @Value("${social.timeseries.raw-max-range:P7D}") Duration rawMaxRange,
+            @Value("${social.timeseries.daily-max-range:P180D}") Duration dailyMaxRange,
+            @Value("${social.timeseries.max-raw-points:2000}") int maxRawPoints) {
+        this.socialAccountRepository = socialAccountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.rollupRepository = rollupRepository;
+        this.rollupService = rollupService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rawRetention = rawRetention;
+        this.rawMaxRange = rawMaxRange;
+        this.dailyMaxRange = dailyMaxRange;
+        this.maxRawPoints = maxRawPoints;
+    }
+
+    /**
+     * Store a snapshot of an athlete's social account, fold it into the rollups and, if it is
+     * the newest, make it the account's latest snapshot. A snapshot with the same timestamp as
+     * a stored one is a retry and is not stored or counted again.
+     *
+     * @return the snapshot ID, or the stored snapshot's ID for a retry
+     */
+    @Transactional
+    public UUID recordSnapshot(UUID profileId, UUID socialId, SocialSnapshotRequest request) {
+        AthleteSocialAccount account = socialAccountRepository.findByIdForUpdate(socialId)
+                .filter(a -> a.getAthleteProfile().getId().equals(profileId))
+                .orElseThrow(() -> new ResourceNotFoundException("Social account not found: " + socialId));
+
+        // Stored with microsecond precision, so compare at that precision
+        Instant timestamp = (request.getSnapshotTimestamp() != null ? request.getSnapshotTimestamp() : Instant.now())
+                .truncatedTo(ChronoUnit.MICROS);
+        // The account lock serializes retries of the same snapshot
+        Optional<UUID> existing = snapshotRepository.findIdByAccountAndTimestamp(socialId, timestamp);
+        if (existing.isPresent()) {
+            log.debug("Skipped snapshot of social account {} at {}, already stored", socialId, timestamp);
+            return existing.get();
+        }
+
+        AthleteSocialSnapshot snapshot = toSnapshot(account, request, timestamp);
+        AthleteSocialSnapshot saved = snapshotRepository.save(snapshot);
+        rollupService.apply(socialId, List.of(saved));
+        if (advanceLatest(account, saved)) {
+            eventPublisher.publishEvent(AthleteProfileChangedEvent.changed(profileId));
+        }
+
+        log.debug("Recorded snapshot {} for social account {}", saved.getId(), socialId);
+        return saved.getId();
+    }
+
+    /**
+     * Store a batch of snapshots of any number of accounts in one transaction, written as a
+     * single batched JDBC insert rather than one persist and flush per row, then fold them into
+     * the rollups and latest-snapshot pointers like {@link #recordSnapshot}.
+     *
+     * Every record must carry a social account ID and a timestamp, and the pairs must be unique
+     * within the batch. Records matching a stored snapshot are skipped, so a failed batch can be
+     * resent as is.
+     */
+    @Transactional
+    public BatchResult recordSnapshots(List<SocialSnapshotRequest> records) {
+        if (records.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+        Set<UUID> accountIds = new HashSet<>();
+        Instant earliest = Instant.MAX;
+        Instant latest = Instant.MIN;
+        for (SocialSnapshotRequest record : records) {
+            accountIds.add(record.getSocialAccountId());
+            earliest = record.getSnapshotTimestamp().isBefore(earliest) ? record.getSnapshotTimestamp() : earliest;
+            latest = record.getSnapshotTimestamp().isAfter(latest) ? record.getSnapshotTimestamp() : latest;
+        }
+        Map<UUID, AthleteSocialAccount> accounts = new HashMap<>();
+        for (AthleteSocialAccount account : socialAccountRepository.findAllByIdForUpdate(accountIds)) {
+            accounts.put(account.getId(), account);
+        }
+        Map<UUID, Set<Instant>> stored = new HashMap<>();
+        for (AthleteSocialSnapshotRepository.SnapshotKeyView key
+                : snapshotRepository.findKeysByAccountsAndDateRange(accounts.keySet(), earliest, latest)) {
+            stored.computeIfAbsent(key.getSocialAccountId(), id -> new HashSet<>()).add(key.getSnapshotTimestamp());
+        }
+
+        Map<UUID, List<AthleteSocialSnapshot>> byAccount = new HashMap<>();
+        List<AthleteSocialSnapshot> inserts = new ArrayList<>(records.size());
+        int duplicates = 0;
+        int unknownAccount = 0;
+        for (SocialSnapshotRequest record : records) {
+            AthleteSocialAccount account = accounts.get(record.getSocialAccountId());
+            if (account == null) {
+                unknownAccount++;
+            } else if (stored.getOrDefault(account.getId(), Set.of()).contains(record.getSnapshotTimestamp())) {
+                duplicates++;
+            } else {
+                AthleteSocialSnapshot snapshot = toSnapshot(account, record, record.getSnapshotTimestamp());
+                snapshot.setId(UUID.randomUUID());
+                inserts.add(snapshot);
+                byAccount.computeIfAbsent(account.getId(), id -> new ArrayList<>()).add(snapshot);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return new BatchResult(0, duplicates, unknownAccount);
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, inserts, inserts.size(), (ps, snapshot) -> {
+            ps.setObject(1, snapshot.getId());
+            ps.setObject(2, snapshot.getSocialAccount().getId());
+            ps.setTimestamp(3, Timestamp.from(snapshot.getSnapshotTimestamp()));
+            ps.setObject(4, snapshot.getFollowers(), Types.BIGINT);
+            ps.setObject(5, snapshot.getFollowing(), Types.BIGINT);
+            ps.setObject(6, snapshot.getPostsCount(), Types.BIGINT);
+            ps.setObject(7, snapshot.getEngagementRate(), Types.DOUBLE);
+            ps.setObject(8, snapshot.getAvgLikes(), Types.BIGINT);
+            ps.setObject(9, snapshot.getAvgComments(), Types.BIGINT);
+            ps.setObject(10, snapshot.getAvgViews(), Types.BIGINT);
+            ps.setObject(11, snapshot.getAvgShares(), Types.BIGINT);
+            ps.setObject(12, snapshot.getAvgSaves(), Types.BIGINT);
+            ps.setObject(13, snapshot.getPostingFrequency(), Types.DOUBLE);
+            ps.setString(14, SnapshotJsonCodec.encode(snapshot.getAudienceAgeDistribution()));
+            ps.setString(15, snapshot.getAudienceGenderDistribution());
+            ps.setString(16, SnapshotJsonCodec.encode(snapshot.getAudienceTopLocations()));
+            ps.setString(17, snapshot.getAudienceTopCountries());
+            ps.setString(18, SnapshotJsonCodec.encode(snapshot.getTopContent()));
+            ps.setString(19, snapshot.getSource());
+            ps.setString(20, SnapshotJsonCodec.encode(snapshot.getRawData()));
+            ps.setTimestamp(21, now);
+            ps.setTimestamp(22, now);
+        });
+
+        Set<UUID> changedProfiles = new HashSet<>();
+        byAccount.forEach((accountId, snapshots) -> {
+            rollupService.apply(accountId, snapshots);
+            AthleteSocialAccount account = accounts.get(accountId);
+            AthleteSocialSnapshot newest = Collections.max(snapshots, Comparator.comparing(AthleteSocialSnapshot::getSnapshotTimestamp));
+            if (advanceLatest(account, newest)) {
+                changedProfiles.add(account.getAthleteProfile().getId());
+            }
+        });
+        changedProfiles.forEach(id -> eventPublisher.publishEvent(AthleteProfileChangedEvent.changed(id)));
+
+        return new BatchResult(inserts.size(), duplicates, unknownAccount);
+    }
+
+    private AthleteSocialSnapshot toSnapshot(AthleteSocialAccount account, SocialSnapshotRequest request, Instant timestamp) {
+        return AthleteSocialSnapshot.builder()
+                .socialAccount(account)
+                .snapshotTimestamp(timestamp)
+                .followers(request.getFollowers())
+                .following(request.getFollowing())
+                .postsCount(request.getPostsCount())
+                .engagementRate(request.getEngagementRate())
+                .avgLikes(request.getAvgLikes())
+                .avgComments(request.getAvgComments())
+                .avgViews(request.getAvgViews())
+                .avgShares(request.getAvgShares())
+                .avgSaves(request.getAvgSaves())
+                .postingFrequency(request.getPostingFrequency())
+                .audienceAgeDistribution(toJson(request.getAudienceAgeDistribution()))
+                .audienceGenderDistribution(toJson(request.getAudienceGenderDistribution()))
+                .audienceTopLocations(toJson(request.getAudienceTopLocations()))
+                .audienceTopCountries(toJson(request.getAudienceTopCountries()))
+                .topContent(toJson(request.getTopContent()))
+                .source(request.getSource())
+                .rawData(toJson(request.getRawData()))
+                .build();
+    }
+
+    /**
+     * Latest metrics of each of an athlete's social accounts that has snapshots, read through
+     * the accounts' latest-snapshot pointers.
+     */
+    @Transactional(readOnly = true)
+    public List<CurrentSocialMetrics> getCurrentMetrics(UUID profileId) {
+        return snapshotRepository.findLatestMetricsForAthlete(profileId).stream()
+                .map(row -> CurrentSocialMetrics.builder()
+                        .socialAccountId(row.getSocialAccountId())
+                        .platform(row.getPlatform())
+                        .snapshotId(row.getSnapshotId())
+                        .snapshotTimestamp(row.getSnapshotTimestamp())
+                        .followers(row.getFollowers())
+                        .following(row.getFollowing())
+                        .postsCount(row.getPostsCount())
+                        .engagementRate(row.getEngagementRate())
+                        .avgLikes(row.getAvgLikes())
+                        .avgComments(row.getAvgComments())
+                        .avgViews(row.getAvgViews())
+                        .avgShares(row.getAvgShares())
+                        .avgSaves(row.getAvgSaves())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Metrics of an athlete's social account between {@code from} and {@code to}.
+     *
+     * @param from       defaults to 30 days before {@code to}
+     * @param to         defaults to now
+     * @param resolution null to pick one for the range; RAW is only available within the raw retention window
+     */
+    @Transactional(readOnly = true)
+    public SocialMetricSeries getSeries(UUID profileId, UUID socialId, Instant from, Instant to,
+                                        MetricResolution resolution) {
+        AthleteSocialAccount account = socialAccountRepository.findById(socialId)
+                .filter(a -> a.getAthleteProfile().getId().equals(profileId))
+                .orElseThrow(() -> new ResourceNotFoundException("Social account not found: " + socialId));
+
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(30));
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        boolean rawAvailable = !start.isBefore(Instant.now().minus(rawRetention));
+        if (resolution == MetricResolution.RAW && !rawAvailable) {
+            throw new BadRequestException("Raw snapshots are only kept for " + rawRetention.toDays() + " days");
+        }
+        MetricResolution chosen = resolution != null ? resolution : chooseResolution(start, end, rawAvailable);
+
+        List<SocialMetricSeries.Point> points = chosen == MetricResolution.RAW
+                ? snapshotRepository.findMetricsByAccountAndDateRange(account.getId(), start, end, Limit.of(maxRawPoints))
+                        .stream().map(SocialSnapshotService::toPoint).toList()
+                : rollupRepository.findBySocialAccountIdAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+                                account.getId(), chosen, SocialMetricRollupService.bucketStart(start, chosen), end)
+                        .stream().map(SocialSnapshotService::toPoint).toList();
+
+        return SocialMetricSeries.builder()
+                .socialAccountId(account.getId())
+                .resolution(chosen)
+                .from(start)
+                .to(end)
+                .points(points)
+                .build();
+    }
+
+    /**
+     * Point up to {@code batchSize} accounts that have snapshots but no latest-snapshot pointer
+     * (ingested before the pointer existed) at their newest snapshot.
+     *
+     * @return number of accounts updated
+     */
+    @Transactional
+    public int backfillLatestSnapshots(int batchSize) {
+        List<UUID> ids = socialAccountRepository.findIdsMissingLatestSnapshot(Limit.of(batchSize));
+        for (UUID id : ids) {
+            AthleteSocialAccount account = socialAccountRepository.findByIdForUpdate(id).orElse(null);
+            if (account == null || account.getLatestSnapshotId() != null) {
+                continue;
+            }
+            snapshotRepository.findFirstBySocialAccountIdOrderBySnapshotTimestampDesc(id)
+                    .filter(latest -> advanceLatest(account, latest))
+                    .ifPresent(latest -> eventPublisher.publishEvent(
+                            AthleteProfileChangedEvent.changed(account.getAthleteProfile().getId())));
+        }
+        return ids.size();
+    }
+
+    /**
+     * Make {@code snapshot} the account's latest snapshot and copy its metrics onto the
+     * account, unless the account already points at a newer one. The caller holds the
+     * account's row lock.
+     *
+     * @return whether the pointer moved
+     */
+    static boolean advanceLatest(AthleteSocialAccount account, AthleteSocialSnapshot snapshot) {
+        Instant at = snapshot.getSnapshotTimestamp();
+        if (account.getLatestSnapshotAt() != null && at.isBefore(account.getLatestSnapshotAt())) {
+            return false;
+        }
+        account.setLatestSnapshotId(snapshot.getId());
+        account.setLatestSnapshotAt(at);
+        account.setFollowers(snapshot.getFollowers());
+        account.setFollowing(snapshot.getFollowing());
+        account.setPostsCount(snapshot.getPostsCount());
+        account.setEngagementRate(snapshot.getEngagementRate());
+        account.setAvgLikes(snapshot.getAvgLikes());
+        account.setAvgComments(snapshot.getAvgComments());
+        account.setAvgViews(snapshot.getAvgViews());
+        return true;
+    }
+
+    private MetricResolution chooseResolution(Instant start, Instant end, boolean rawAvailable) {
+        Duration range = Duration.between(start, end);
+        if (rawAvailable && range.compareTo(rawMaxRange) <= 0) {
+            return MetricResolution.RAW;
+        }
+        return range.compareTo(dailyMaxRange) <= 0 ? MetricResolution.DAY : MetricResolution.WEEK;
+    }
+
+    private String toJson(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid JSON in snapshot", e);
+        }
+    }
+
+    private static SocialMetricSeries.Point toPoint(AthleteSocialSnapshotRepository.MetricsView row) {
+        return SocialMetricSeries.Point.builder()
+                .timestamp(row.getSnapshotTimestamp())
+                .samples(1)
+                .followers(row.getFollowers())
+                .followersMin(row.getFollowers())
+                .followersMax(row.getFollowers())
+                .following(row.getFollowing())
+                .postsCount(row.getPostsCount())
+                .engagementRate(row.getEngagementRate())
+                .avgLikes(toDouble(row.getAvgLikes()))
+                .avgComments(toDouble(row.getAvgComments()))
+                .avgViews(toDouble(row.getAvgViews()))
+                .avgShares(toDouble(row.getAvgShares()))
+                .avgSaves(toDouble(row.getAvgSaves()))
+                .build();
+    }
+
+    private static SocialMetricSeries.Point toPoint(SocialMetricRollup rollup) {
+        return SocialMetricSeries.Point.builder()
+                .timestamp(rollup.getBucketStart())
+                .samples(rollup.getSampleCount())
+                .followers(rollup.getFollowersClose())
+                .followersMin(rollup.getFollowersMin())
+                .followersMax(rollup.getFollowersMax())
+                .following(rollup.getFollowingClose())
+                .postsCount(rollup.getPostsCountClose())
+                .engagementRate(mean(rollup.getEngagementRateSum(), rollup.getEngagementRateSamples()))
+                .avgLikes(mean(rollup.getAvgLikesSum(), rollup.getAvgLikesSamples()))
+                .avgComments(mean(rollup.getAvgCommentsSum(), rollup.getAvgCommentsSamples()))
+                .avgViews(mean(rollup.getAvgViewsSum(), rollup.getAvgViewsSamples()))
+                .avgShares(mean(rollup.getAvgSharesSum(), rollup.getAvgSharesSamples()))
+                .avgSaves(mean(rollup.getAvgSavesSum(), rollup.getAvgSavesSamples()))
+                .build();
+    }
+
+    private static Double mean(double sum, int samples) {
+        return samples > 0 ? sum / samples : null;
+    }
+
+    private static Double toDouble(Long value) {
+        return value != null ? value.doubleValue() : null;
+    }
+}
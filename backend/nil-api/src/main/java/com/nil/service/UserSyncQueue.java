@@ -0,0 +1,255 @@
+package com.nil.service;
+
+import com.nil.entity.User;
+import com.nil.service.ClerkUserService.ClerkUserClaims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background pipeline that writes Clerk users to the database off the request thread.
+ *
+ * The JWT filter submits the claims of each authenticated user; repeated submissions for
+ * the same clerkId are coalesced into one pending event holding the latest claims. A single
+ * worker drains pending events in batches, writes them through
+ * {@link ClerkUserService#syncClerkUsers} and then runs intake-based profile provisioning.
+ * Callers that need to see their own write (e.g. /api/v1/user/me) can wait on
+ * {@link #awaitPending(String)}, or look the user up through {@link #findUser(String)}.
+ */
+@Component
+public class UserSyncQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSyncQueue.class);
+
+    private final ClerkUserService clerkUserService;
+    private final UserSyncTracker userSyncTracker;
+    private final Map<String, PendingSync> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService worker;
+    private final int batchSize;
+    private final Duration readYourWritesTimeout;
+
+    private final Counter submitted;
+    private final Counter coalesced;
+    private final Timer flushTimer;
+
+    public UserSyncQueue(
+            ClerkUserService clerkUserService,
+            UserSyncTracker userSyncTracker,
+            MeterRegistry meterRegistry,
+            @Value("${clerk.user-sync.batch-size:50}") int batchSize,
+            @Value("${clerk.user-sync.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${clerk.user-sync.read-your-writes-timeout:PT3S}") Duration readYourWritesTimeout) {
+        this.clerkUserService = clerkUserService;
+        this.userSyncTracker = userSyncTracker;
+        this.batchSize = batchSize;
+        this.readYourWritesTimeout = readYourWritesTimeout;
+
+        this.submitted = Counter.builder("user.sync.submitted")
+                .description("User sync events submitted by the JWT filter")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("user.sync.coalesced")
+                .description("User sync events merged into an already pending event")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("user.sync.flush")
+                .description("Time to write one batch of user sync events")
+                .register(meterRegistry);
+        meterRegistry.gauge("user.sync.queue.depth", pending, Map::size);
+
+        this.worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "user-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalMs = flushInterval.toMillis();
+        this.worker.scheduleWithFixedDelay(this::flushAll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a sync for these claims. If the user already has a pending event, its claims are
+     * replaced with these and no new event is created.
+     */
+    public void submit(String clerkId, String email, String firstName, String lastName) {
+        ClerkUserClaims claims = new ClerkUserClaims(clerkId, email, firstName, lastName);
+        submitted.increment();
+        pending.compute(clerkId, (id, existing) -> {
+            if (existing == null || existing.taken) {
+                // A batch already holding the previous event is being written; queue a new one behind it
+                return new PendingSync(claims);
+            }
+            coalesced.increment();
+            existing.claims = claims;
+            return existing;
+        });
+        if (pending.size() >= batchSize) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Block until any pending or in-flight sync for this user has been written, up to the configured timeout.
+     */
+    public void awaitPending(String clerkId) {
+        PendingSync sync = pending.get(clerkId);
+        if (sync == null) {
+            return;
+        }
+        requestFlush();
+        try {
+            sync.done.get(readYourWritesTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Timed out waiting for pending user sync: {}", clerkId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Pending user sync failed for {}: {}", clerkId, e.getMessage());
+        }
+    }
+
+    /**
+     * The user with this clerkId, read once any pending or in-flight sync for it has been
+     * written. A new user's first request only queues their insert, so requests acting on the
+     * caller's own user should look it up here rather than straight from the repository.
+     */
+    public Optional<User> findUser(String clerkId) {
+        awaitPending(clerkId);
+        return clerkUserService.getUserByClerkId(clerkId);
+    }
+
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    private void requestFlush() {
+        try {
+            worker.execute(this::flushAll);
+        } catch (RejectedExecutionException e) {
+            log.debug("User sync worker is shutting down; flush not scheduled");
+        }
+    }
+
+    private void flushAll() {
+        try {
+            List<PendingSync> batch;
+            while (!(batch = drain()).isEmpty()) {
+                flushBatch(batch);
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the scheduled flush
+            log.error("User sync flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Mark up to one batch of pending events as taken. Taken events stay in the map until they
+     * are written so that {@link #awaitPending(String)} can still find them.
+     */
+    private List<PendingSync> drain() {
+        List<PendingSync> batch = new ArrayList<>(batchSize);
+        for (String clerkId : pending.keySet()) {
+            if (batch.size() >= batchSize) {
+                break;
+            }
+            pending.computeIfPresent(clerkId, (id, sync) -> {
+                if (!sync.taken) {
+                    sync.taken = true;
+                    batch.add(sync);
+                }
+                return sync;
+            });
+        }
+        return batch;
+    }
+
+    private void flushBatch(List<PendingSync> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ClerkUserClaims> claims = batch.stream().map(s -> s.claims).toList();
+        Timer.Sample sample = Timer.start();
+        try {
+            List<User> needsIntake;
+            try {
+                needsIntake = clerkUserService.syncClerkUsers(claims);
+            } catch (Exception e) {
+                // e.g. a concurrent insert of the same clerkId; fall back to one transaction per user
+                log.warn("Batched user sync failed ({}); retrying {} user(s) individually", e.getMessage(), claims.size());
+                for (ClerkUserClaims c : claims) {
+                    try {
+                        clerkUserService.syncClerkUser(c.clerkId(), c.email(), c.firstName(), c.lastName());
+                        userSyncTracker.markSynced(c.clerkId(), c.email(), c.firstName(), c.lastName());
+                    } catch (Exception inner) {
+                        log.error("Failed to sync user {}: {}", c.clerkId(), inner.getMessage());
+                    }
+                }
+                complete(batch, null);
+                return;
+            }
+
+            for (User user : needsIntake) {
+                try {
+                    clerkUserService.provisionFromIntake(user.getId(), user.getEmail());
+                } catch (Exception e) {
+                    log.error("Intake provisioning failed for user {}: {}", user.getClerkId(), e.getMessage(), e);
+                }
+            }
+            claims.forEach(c -> userSyncTracker.markSynced(c.clerkId(), c.email(), c.firstName(), c.lastName()));
+            complete(batch, null);
+        } catch (Exception e) {
+            complete(batch, e);
+            throw e;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void complete(List<PendingSync> batch, Exception error) {
+        for (PendingSync sync : batch) {
+            pending.remove(sync.claims.clerkId(), sync);
+            if (error == null) {
+                sync.done.complete(null);
+            } else {
+                sync.done.completeExceptionally(error);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        requestFlush();
+        worker.shutdown();
+        try {
+            // Give queued writes a chance to land before the context closes
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingSync {
+        volatile ClerkUserClaims claims;
+        boolean taken; // guarded by the map's per-key compute
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingSync(ClerkUserClaims claims) {
+            this.claims = claims;
+        }
+    }
+}
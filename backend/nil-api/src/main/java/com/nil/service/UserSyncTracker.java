@@ -0,0 +1,76 @@
+package com.nil.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which Clerk claims were last written to the users table.
+ *
+ * The JWT filter consults this before calling {@link ClerkUserService#syncClerkUser}, so an
+ * authenticated request only touches the database when the email or name in the token has
+ * changed, or when the last sync is older than the configured TTL.
+ */
+@Component
+public class UserSyncTracker {
+
+    private final Map<String, SyncedClaims> lastSynced = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public UserSyncTracker(
+            @Value("${clerk.user-sync.ttl:PT15M}") Duration ttl,
+            @Value("${clerk.user-sync.max-entries:50000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Check whether the user needs to be synced for these claims.
+     */
+    public boolean needsSync(String clerkId, String email, String firstName, String lastName) {
+        SyncedClaims synced = lastSynced.get(clerkId);
+        if (synced == null) {
+            return true;
+        }
+        if (System.currentTimeMillis() - synced.syncedAt >= ttlMillis) {
+            return true;
+        }
+        return !synced.matches(email, firstName, lastName);
+    }
+
+    /**
+     * Record a successful sync of these claims.
+     */
+    public void markSynced(String clerkId, String email, String firstName, String lastName) {
+        if (lastSynced.size() >= maxEntries) {
+            long cutoff = System.currentTimeMillis() - ttlMillis;
+            lastSynced.values().removeIf(s -> s.syncedAt < cutoff);
+            if (lastSynced.size() >= maxEntries) {
+                lastSynced.clear();
+            }
+        }
+        lastSynced.put(clerkId, new SyncedClaims(email, firstName, lastName, System.currentTimeMillis()));
+    }
+
+    /**
+     * Forget a user so the next request syncs again (e.g. after the user row was deleted).
+     */
+    public void invalidate(String clerkId) {
+        if (clerkId != null) {
+            lastSynced.remove(clerkId);
+        }
+    }
+
+    private record SyncedClaims(String email, String firstName, String lastName, long syncedAt) {
+        boolean matches(String email, String firstName, String lastName) {
+            return Objects.equals(this.email, email)
+                    && Objects.equals(this.firstName, firstName)
+                    && Objects.equals(this.lastName, lastName);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.nil.cache;
+
+import com.nil.dto.SearchHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link CompactRedisSerializer} round trips, and unreadable payloads reading as a cache miss.
+ */
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(64).register(1, SearchHit.class);
+
+    @Test
+    void roundTripsRegisteredAndGenericValues() {
+        SearchHit hit = new SearchHit(UUID.randomUUID(), "Stanford University", "Jane Doe", 3.5);
+
+        assertThat(serializer.deserialize(serializer.serialize(hit))).isEqualTo(hit);
+        assertThat(serializer.deserialize(serializer.serialize("plain"))).isEqualTo("plain");
+    }
+
+    @Test
+    void corruptBodyIsAMiss() {
+        byte[] payload = serializer.serialize(hit());
+        Arrays.fill(payload, 4, payload.length, (byte) 0x7F);
+
+        assertThat(serializer.deserialize(payload)).isNull();
+    }
+
+    @Test
+    void truncatedCompressedBodyIsAMiss() {
+        byte[] payload = serializer.serialize(hit());
+        assertThat(payload[2] & 0x01).as("deflated").isEqualTo(1);
+
+        assertThat(serializer.deserialize(Arrays.copyOf(payload, payload.length / 2))).isNull();
+    }
+
+    @Test
+    void bodyOfAnotherTypeIsAMiss() {
+        byte[] payload = serializer.serialize(new String[] {"not", "a", "hit"});
+        payload[3] = 1;
+
+        assertThat(serializer.deserialize(payload)).isNull();
+    }
+
+    private static SearchHit hit() {
+        return new SearchHit(UUID.randomUUID(), "University of North Carolina at Chapel Hill".repeat(3), "John Doe", 2.0);
+    }
+}
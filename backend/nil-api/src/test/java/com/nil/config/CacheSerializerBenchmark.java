@@ -0,0 +1,153 @@
+package com.nil.config;
+
+import com.nil.dto.AthleteMediaResponse;
+import com.nil.dto.AthleteProfileResponse;
+import com.nil.dto.SocialAccountResponse;
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.MediaType;
+import com.nil.entity.enums.SocialPlatform;
+import com.nil.entity.enums.Sport;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a cached {@link AthleteProfileResponse} with each
+ * {@code cache.redis.serializer} setting: the previous JSON format and the compact format,
+ * with and without compression. The payload size of each is printed when its trial starts.
+ *
+ * Run with:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) com.nil.config.CacheSerializerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+    /**
+     * json: the previous JSON format. compact: Smile without compression.
+     * compact-deflate: Smile, deflated above 1 KB.
+     */
+    @Param({"json", "compact", "compact-deflate"})
+    String serializer;
+
+    /**
+     * Social accounts and media items on the profile.
+     */
+    @Param({"2", "12"})
+    int items;
+
+    private RedisSerializer<Object> redisSerializer;
+    private AthleteProfileResponse profile;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redisSerializer = switch (serializer) {
+            case "json" -> RedisConfig.cacheValueSerializer("json", 0);
+            case "compact" -> RedisConfig.cacheValueSerializer("compact", 0);
+            case "compact-deflate" -> RedisConfig.cacheValueSerializer("compact", 1024);
+            default -> throw new IllegalArgumentException(serializer);
+        };
+        profile = profile(items);
+        payload = redisSerializer.serialize(profile);
+        System.out.printf("%n%s, %d items: %d bytes%n", serializer, items, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return redisSerializer.serialize(profile);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return redisSerializer.deserialize(payload);
+    }
+
+    private static AthleteProfileResponse profile(int items) {
+        Instant now = Instant.parse("2026-10-01T12:00:00Z");
+        List<SocialAccountResponse> socials = new ArrayList<>();
+        List<AthleteMediaResponse> media = new ArrayList<>();
+        SocialPlatform[] platforms = SocialPlatform.values();
+        for (int i = 0; i < items; i++) {
+            socials.add(SocialAccountResponse.builder()
+                    .id(UUID.randomUUID())
+                    .platform(platforms[i % platforms.length])
+                    .handle("jordan.avery" + i)
+                    .profileUrl("https://www.instagram.com/jordan.avery" + i + "/")
+                    .isVerified(i == 0)
+                    .isConnected(true)
+                    .followerCount(48_000L + i * 1_000)
+                    .engagementRate(4.2)
+                    .lastSyncedAt(now)
+                    .createdAt(now)
+                    .build());
+            media.add(AthleteMediaResponse.builder()
+                    .id(UUID.randomUUID())
+                    .mediaType(MediaType.ACTION_PHOTO)
+                    .url("https://cdn.example.com/athletes/media/" + UUID.randomUUID() + ".jpg")
+                    .thumbnailUrl("https://cdn.example.com/athletes/media/thumbs/" + UUID.randomUUID() + ".jpg")
+                    .title("Game day " + i)
+                    .description("Fourth quarter against State, senior night")
+                    .isPrimary(i == 0)
+                    .displayOrder(i)
+                    .createdAt(now)
+                    .build());
+        }
+        return AthleteProfileResponse.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .clerkId("user_2abcDEFghiJKLmnoPQRstu")
+                .firstName("Jordan")
+                .lastName("Avery")
+                .fullName("Jordan Avery")
+                .email("jordan.avery@example.edu")
+                .dateOfBirth(LocalDate.of(2004, 5, 17))
+                .gender("Female")
+                .sport(Sport.BASKETBALL)
+                .position("Guard")
+                .schoolName("State University")
+                .conference(Conference.SEC)
+                .classYear("Junior")
+                .jerseyNumber("23")
+                .height("5'10\"")
+                .city("Austin")
+                .state("TX")
+                .hometown("Houston, TX")
+                .bio("Three-year starter and team captain. Studying kinesiology, passionate about youth "
+                        + "basketball camps and community outreach. Looking for brand partners in fitness and nutrition.")
+                .headshotUrl("https://cdn.example.com/athletes/headshots/" + UUID.randomUUID() + ".jpg")
+                .statsSummary("{\"ppg\":17.4,\"apg\":5.1,\"rpg\":4.0,\"fg_pct\":46.2}")
+                .awards("[\"All-Conference First Team\",\"Academic All-American\"]")
+                .requestedRate(new BigDecimal("2500.00"))
+                .nilReady(true)
+                .completenessScore(92)
+                .isVerified(true)
+                .status("ACTIVE")
+                .socialAccounts(socials)
+                .media(media)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CacheSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
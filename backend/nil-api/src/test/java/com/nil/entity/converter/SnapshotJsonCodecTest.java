@@ -0,0 +1,83 @@
+package com.nil.entity.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link SnapshotJsonCodec} round trips, legacy and corrupt column values, and
+ * {@link CompressedJson} equality across its column and JSON forms.
+ */
+class SnapshotJsonCodecTest {
+
+    private static final String AUDIENCE = "{\"age_distribution\":{\"13-17\":0.08,\"18-24\":0.41,\"25-34\":0.32,"
+            + "\"35-44\":0.12,\"45+\":0.07},\"gender_distribution\":{\"male\":0.46,\"female\":0.52,\"other\":0.02},"
+            + "\"top_cities\":[{\"name\":\"Austin\",\"percentage\":0.11},{\"name\":\"Dallas\",\"percentage\":0.08},"
+            + "{\"name\":\"Houston\",\"percentage\":0.07}]}";
+
+    @Test
+    void compressesAndRestoresTypicalPayloads() {
+        String stored = SnapshotJsonCodec.encode(AUDIENCE);
+
+        assertThat(SnapshotJsonCodec.isEncoded(stored)).isTrue();
+        assertThat(stored.length()).isLessThan(AUDIENCE.length());
+        assertThat(SnapshotJsonCodec.decode(stored)).isEqualTo(AUDIENCE);
+    }
+
+    @Test
+    void leavesValuesPlainWhenCompressionDoesNotPay() {
+        String tiny = "[1]";
+
+        String stored = SnapshotJsonCodec.encode(tiny);
+
+        assertThat(stored).isEqualTo(tiny);
+        assertThat(SnapshotJsonCodec.isEncoded(stored)).isFalse();
+        assertThat(SnapshotJsonCodec.decode(stored)).isEqualTo(tiny);
+    }
+
+    @Test
+    void decodesLegacyValuesUnchanged() {
+        assertThat(SnapshotJsonCodec.decode(AUDIENCE)).isEqualTo(AUDIENCE);
+        assertThat(SnapshotJsonCodec.decode("")).isEmpty();
+        assertThat(SnapshotJsonCodec.decode(null)).isNull();
+    }
+
+    @Test
+    void truncatedValueFails() {
+        byte[] compressed = Base64.getDecoder().decode(SnapshotJsonCodec.encode(AUDIENCE).substring(3));
+        String truncated = SnapshotJsonCodec.PREFIX_V1
+                + Base64.getEncoder().encodeToString(Arrays.copyOf(compressed, compressed.length / 2));
+
+        assertThatThrownBy(() -> SnapshotJsonCodec.decode(truncated)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void corruptValueFails() {
+        byte[] compressed = Base64.getDecoder().decode(SnapshotJsonCodec.encode(AUDIENCE).substring(3));
+        Arrays.fill(compressed, 6, compressed.length, (byte) 0x7F);
+        String corrupt = SnapshotJsonCodec.PREFIX_V1 + Base64.getEncoder().encodeToString(compressed);
+
+        assertThatThrownBy(() -> SnapshotJsonCodec.decode(corrupt)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> SnapshotJsonCodec.decode(SnapshotJsonCodec.PREFIX_V1 + "not base64!"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void columnAndJsonFormsOfTheSameValueAreEqual() {
+        CompressedJson loaded = CompressedJson.fromColumn(SnapshotJsonCodec.encode(AUDIENCE));
+        CompressedJson built = CompressedJson.of(AUDIENCE);
+
+        assertThat(loaded).isEqualTo(built).hasSameHashCodeAs(built);
+        assertThat(built).isEqualTo(loaded);
+
+        // A value written since, and a row stored before compression existed
+        built.columnValue();
+        CompressedJson legacy = CompressedJson.fromColumn(AUDIENCE);
+        assertThat(legacy).isEqualTo(built).hasSameHashCodeAs(built);
+        assertThat(loaded).isNotEqualTo(CompressedJson.of("[1]"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.nil.matching;
+
+import com.nil.dto.AthleteExportRow;
+import com.nil.entity.enums.Conference;
+import com.nil.entity.enums.SocialPlatform;
+import com.nil.entity.enums.Sport;
+import com.nil.service.AthleteExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Shortlisting cost against a generated roster of 10k, 100k and 1M athletes: the hard filters
+ * alone, and the filters plus rule scoring of the top 50 that {@code /find-hybrid} forwards.
+ *
+ * Run with:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) com.nil.matching.CandidateIndexBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CandidateIndexBenchmark {
+
+    private static final int SHORTLIST_SIZE = 50;
+    private static final List<String> TAGS = List.of(
+            "Fitness", "Sports", "Health", "Fashion", "Gaming", "Music", "Food", "Travel", "Tech", "Finance");
+
+    @Param({"10000", "100000", "1000000"})
+    int athletes;
+
+    /**
+     * broad: no sport or conference preference, the brand default follower minimum.
+     * narrow: one sport and two conferences, as most brand profiles set.
+     */
+    @Param({"broad", "narrow"})
+    String brand;
+
+    private CandidateIndex index;
+    private MatchScoringEngine scoringEngine;
+    private CandidateFilter filter;
+    private ScoringCriteria scoring;
+
+    @Setup(Level.Trial)
+    public void load() throws Exception {
+        AthleteExportService exportService = mock(AthleteExportService.class);
+        doAnswer(invocation -> {
+            AthleteExportService.RowConsumer consumer = invocation.getArgument(1);
+            SplittableRandom random = new SplittableRandom(42);
+            for (int i = 0; i < athletes; i++) {
+                consumer.accept(row(random));
+            }
+            return (long) athletes;
+        }).when(exportService).forEachRow(isNull(), any());
+
+        index = new CandidateIndex(exportService, new SimpleMeterRegistry(), Duration.ofDays(1));
+        index.start();
+        while (index.findCandidates(new CandidateFilter(null, null, 0, 0, null)).isEmpty()) {
+            Thread.sleep(50);
+        }
+        scoringEngine = new MatchScoringEngine(25, 25, 20, 15, 15, 50_000);
+
+        List<String> sports = brand.equals("narrow") ? List.of("Basketball") : null;
+        List<String> conferences = brand.equals("narrow") ? List.of("SEC", "Big Ten") : null;
+        filter = new CandidateFilter(CandidateFilter.sportsMatching(sports),
+                CandidateFilter.conferencesMatching(conferences),
+                RuleMatcher.defaultMinFollowers("$15,000 - $50,000"), 0.0, "Sports & Fitness");
+        scoring = ScoringCriteria.of(sports, "Sports & Fitness");
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        index.shutdown();
+    }
+
+    @Benchmark
+    public int filter() {
+        return index.query(filter, (features, slots) -> slots.cardinality()).orElseThrow();
+    }
+
+    @Benchmark
+    public List<ScoredAthlete> shortlist() {
+        return index.query(filter, (features, slots) ->
+                scoringEngine.topK(features, slots, scoring, SHORTLIST_SIZE)).orElseThrow();
+    }
+
+    private static AthleteExportRow row(SplittableRandom random) {
+        Sport[] sports = Sport.values();
+        Conference[] conferences = Conference.values();
+        // Roughly log-uniform between 100 and 1M followers
+        long followers = (long) Math.pow(10, 2 + random.nextDouble() * 4);
+        return AthleteExportRow.builder()
+                .id(new UUID(random.nextLong(), random.nextLong()))
+                .fullName("Athlete")
+                .sport(sports[random.nextInt(sports.length)])
+                .conference(random.nextInt(10) == 0 ? null : conferences[random.nextInt(conferences.length)])
+                .engagementRate(random.nextInt(4) == 0 ? null : random.nextDouble() * 8)
+                .socialAccounts(List.of(AthleteExportRow.SocialMetric.builder()
+                        .platform(SocialPlatform.INSTAGRAM)
+                        .followerCount(followers)
+                        .build()))
+                .interestTags(List.of(TAGS.get(random.nextInt(TAGS.size())), TAGS.get(random.nextInt(TAGS.size()))))
+                .excludedCategories(random.nextInt(20) == 0 ? List.of("Sports & Fitness") : null)
+                .isActive(true)
+                .isAcceptingDeals(true)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CandidateIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.nil.matching;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nil.service.AthleteProfileChangedEvent;
+import com.nil.service.AthleteRosterVersion;
+import com.nil.service.BrandProfileChangedEvent;
+import com.nil.service.BrandProfileVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link MatchResultCache} keys against local roster and brand versions.
+ */
+class MatchResultCacheTest {
+
+    private final UUID brandId = UUID.randomUUID();
+    private final UUID otherBrandId = UUID.randomUUID();
+
+    private AthleteRosterVersion rosterVersion;
+    private BrandProfileVersion brandVersion;
+    private MatchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<RedisConnectionFactory> noRedis = mock(ObjectProvider.class);
+        rosterVersion = new AthleteRosterVersion(noRedis, false);
+        brandVersion = new BrandProfileVersion(noRedis, false);
+        cache = new MatchResultCache(new ConcurrentMapCacheManager("matches"), rosterVersion, brandVersion,
+                new ObjectMapper(), new SimpleMeterRegistry(), true);
+    }
+
+    @Test
+    void equivalentBodiesShareAKey() {
+        String key = cache.key("find-hybrid", request(brandId)).orElseThrow();
+
+        assertThat(cache.key("find-hybrid", "{ \"max_results\": 10, \"brand_id\": \"" + brandId + "\" }"))
+                .contains(key);
+    }
+
+    @Test
+    void brandWriteHidesOnlyThatBrandsResults() {
+        String key = cache.key("find-hybrid", request(brandId)).orElseThrow();
+        String otherKey = cache.key("find-hybrid", request(otherBrandId)).orElseThrow();
+        cache.put(key, "cached");
+        cache.put(otherKey, "other");
+
+        brandVersion.onBrandChanged(BrandProfileChangedEvent.changed(brandId));
+
+        String newKey = cache.key("find-hybrid", request(brandId)).orElseThrow();
+        assertThat(newKey).isNotEqualTo(key);
+        assertThat(cache.get(newKey)).isEmpty();
+        assertThat(cache.key("find-hybrid", request(otherBrandId))).contains(otherKey);
+        assertThat(cache.get(otherKey)).contains("other");
+    }
+
+    @Test
+    void athleteWriteHidesEveryResult() {
+        String key = cache.key("find-hybrid", request(brandId)).orElseThrow();
+
+        rosterVersion.onAthleteChanged(AthleteProfileChangedEvent.changed(UUID.randomUUID()));
+
+        assertThat(cache.key("find-hybrid", request(brandId))).isPresent().get().isNotEqualTo(key);
+    }
+
+    private static String request(UUID brandId) {
+        return "{\"brand_id\":\"" + brandId + "\",\"max_results\":10}";
+    }
+}
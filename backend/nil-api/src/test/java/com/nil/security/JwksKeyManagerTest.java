@@ -0,0 +1,193 @@
+package com.nil.security;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * {@link JwksKeyManager} against a local HTTP server standing in for Clerk's JWKS endpoint.
+ */
+class JwksKeyManagerTest {
+
+    private static final Duration LONG = Duration.ofHours(1);
+
+    private HttpServer server;
+    private final AtomicInteger fetches = new AtomicInteger();
+    // What the stand-in serves: the published keys, a delay and an error status (0 for none)
+    private volatile Map<String, RSAPublicKey> published = Map.of();
+    private volatile long delayMs;
+    private volatile int failWith;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/jwks.json", exchange -> {
+            fetches.incrementAndGet();
+            sleep(delayMs);
+            int status = failWith != 0 ? failWith : 200;
+            byte[] body = (failWith != 0 ? "{}" : jwks(published)).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchesOnceAndServesFromTheSnapshot() throws Exception {
+        RSAPublicKey key = newKey();
+        published = Map.of("k1", key);
+        JwksKeyManager manager = manager(LONG, Duration.ZERO, Duration.ofSeconds(30), LONG);
+
+        assertThat(manager.getKey("k1")).isEqualTo(key);
+        assertThat(manager.getKey("k1")).isEqualTo(key);
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void concurrentFirstCallsShareOneFetch() throws Exception {
+        RSAPublicKey key = newKey();
+        published = Map.of("k1", key);
+        delayMs = 300;
+        JwksKeyManager manager = manager(LONG, Duration.ZERO, Duration.ofSeconds(30), LONG);
+
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PublicKey>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return manager.getKey("k1");
+            }));
+        }
+        start.countDown();
+        for (Future<PublicKey> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(key);
+        }
+        pool.shutdown();
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void unknownKidRefreshesOncePerInterval() throws Exception {
+        RSAPublicKey oldKey = newKey();
+        RSAPublicKey rotated = newKey();
+        published = Map.of("k1", oldKey);
+        JwksKeyManager manager = manager(LONG, Duration.ZERO, Duration.ofMillis(500), LONG);
+        manager.getKey("k1");
+        sleep(600);
+
+        // Keys rotated: the unknown kid is fetched straight away
+        published = Map.of("k1", oldKey, "k2", rotated);
+        assertThat(manager.getKey("k2")).isEqualTo(rotated);
+        assertThat(fetches).hasValue(2);
+
+        // A kid that is still unknown does not refetch within the interval
+        assertThat(manager.getKey("bogus")).isNull();
+        assertThat(fetches).hasValue(2);
+
+        sleep(600);
+        assertThat(manager.getKey("bogus")).isNull();
+        assertThat(fetches).hasValue(3);
+    }
+
+    @Test
+    void refreshesInTheBackgroundBeforeExpiry() throws Exception {
+        RSAPublicKey key = newKey();
+        published = Map.of("k1", key);
+        JwksKeyManager manager = manager(Duration.ofSeconds(2), Duration.ofMillis(1900), Duration.ZERO, LONG);
+        manager.getKey("k1");
+
+        // Inside the refresh-ahead window: served at once while a refresh runs
+        sleep(200);
+        delayMs = 1000;
+        long start = System.nanoTime();
+        assertThat(manager.getKey("k1")).isEqualTo(key);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+        await().atMost(Duration.ofSeconds(3)).untilAsserted(() -> assertThat(fetches).hasValue(2));
+    }
+
+    @Test
+    void servesStaleKeysWhileTheEndpointFails() throws Exception {
+        RSAPublicKey key = newKey();
+        published = Map.of("k1", key);
+        JwksKeyManager manager = manager(Duration.ofMillis(200), Duration.ZERO, Duration.ZERO, LONG);
+        manager.getKey("k1");
+
+        sleep(300);
+        failWith = 503;
+        assertThat(manager.getKey("k1")).isEqualTo(key);
+        await().atMost(Duration.ofSeconds(3)).untilAsserted(() -> assertThat(fetches).hasValue(2));
+    }
+
+    @Test
+    void dropsStaleKeysPastTheMaximumStaleness() throws Exception {
+        published = Map.of("k1", newKey());
+        JwksKeyManager manager = manager(Duration.ofMillis(100), Duration.ZERO, Duration.ZERO, Duration.ofMillis(100));
+        manager.getKey("k1");
+
+        sleep(300);
+        failWith = 503;
+        assertThat(manager.getKey("k1")).isNull();
+    }
+
+    private JwksKeyManager manager(Duration ttl, Duration refreshAhead, Duration minRefreshInterval, Duration maxStale) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/jwks.json";
+        return new JwksKeyManager(url, ttl, refreshAhead, minRefreshInterval, maxStale, Duration.ofSeconds(2));
+    }
+
+    private static RSAPublicKey newKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair pair = generator.generateKeyPair();
+        return (RSAPublicKey) pair.getPublic();
+    }
+
+    private static String jwks(Map<String, RSAPublicKey> keys) {
+        return keys.entrySet().stream()
+                .map(e -> "{\"kty\":\"RSA\",\"kid\":\"" + e.getKey() + "\",\"n\":\"" + base64Url(e.getValue().getModulus().toByteArray())
+                        + "\",\"e\":\"" + base64Url(e.getValue().getPublicExponent().toByteArray()) + "\"}")
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
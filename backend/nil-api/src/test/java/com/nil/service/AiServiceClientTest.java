@@ -0,0 +1,110 @@
+package com.nil.service;
+
+import com.nil.exception.AiServiceBusyException;
+import com.nil.exception.AiServiceCircuitOpenException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * {@link AiServiceClient} bulkhead and circuit breaker against a local HTTP server standing
+ * in for the AI service.
+ */
+class AiServiceClientTest {
+
+    private HttpServer server;
+    private final CountDownLatch releaseSlowCalls = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/slow", exchange -> {
+            try {
+                releaseSlowCalls.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.createContext("/api/v1/health", exchange -> respond(exchange, 200, "{\"status\":\"healthy\"}"));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        releaseSlowCalls.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void fullBulkheadRejectsCalls() {
+        AiServiceClient client = client(breaker(), 1);
+        CompletableFuture<?> slow = client.postJson("/slow", "{}", "slow");
+
+        assertThatThrownBy(() -> client.postJson("/slow", "{}", "slow").get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AiServiceBusyException.class);
+
+        releaseSlowCalls.countDown();
+        slow.join();
+    }
+
+    @Test
+    void halfOpenProbeIsNotBlockedByAFullBulkhead() {
+        AiCircuitBreaker breaker = breaker();
+        AiServiceClient client = client(breaker, 1);
+        CompletableFuture<?> slow = client.postJson("/slow", "{}", "slow");
+
+        breaker.onResult(0, true);
+        assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.OPEN);
+
+        // Refused while open, but starts the health probe
+        assertThatThrownBy(() -> client.postJson("/slow", "{}", "slow").get())
+                .hasCauseInstanceOf(AiServiceCircuitOpenException.class);
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(breaker.getState()).isEqualTo(AiCircuitBreaker.State.CLOSED));
+
+        releaseSlowCalls.countDown();
+        slow.join();
+    }
+
+    private AiServiceClient client(AiCircuitBreaker breaker, int maxConcurrentCalls) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+        return new AiServiceClient(breaker, new SimpleMeterRegistry(), url,
+                Duration.ofSeconds(2), Duration.ofSeconds(10), maxConcurrentCalls);
+    }
+
+    /**
+     * Opens on the first failed call and probes as soon as a call is attempted.
+     */
+    private static AiCircuitBreaker breaker() {
+        return new AiCircuitBreaker(new SimpleMeterRegistry(), true, Duration.ofSeconds(60), 1,
+                50, Duration.ofSeconds(30), 80, Duration.ZERO);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
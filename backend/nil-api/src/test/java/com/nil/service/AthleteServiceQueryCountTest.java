@@ -0,0 +1,116 @@
+package com.nil.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nil.entity.AthleteMedia;
+import com.nil.entity.AthleteProfile;
+import com.nil.entity.AthleteSocialAccount;
+import com.nil.entity.User;
+import com.nil.entity.enums.MediaType;
+import com.nil.entity.enums.SocialPlatform;
+import com.nil.entity.enums.Sport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements issued by the athlete list and detail reads. Each test runs in one transaction,
+ * standing in for the request-scoped session the controllers run with.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(AthleteService.class)
+class AthleteServiceQueryCountTest {
+
+    @Autowired
+    private AthleteService athleteService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ClerkUserService clerkUserService;
+
+    @MockBean
+    private UserSyncTracker userSyncTracker;
+
+    @MockBean
+    private UserSyncQueue userSyncQueue;
+
+    @MockBean
+    private ObjectMapper objectMapper;
+
+    private final List<UUID> profileIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 25; i++) {
+            User user = User.builder()
+                    .clerkId("user_" + i)
+                    .email("athlete" + i + "@example.com")
+                    .firstName("Athlete")
+                    .lastName(String.valueOf(i))
+                    .build();
+            entityManager.persist(user);
+
+            AthleteProfile profile = AthleteProfile.builder()
+                    .user(user)
+                    .sport(Sport.values()[i % Sport.values().length])
+                    .school("State University")
+                    .build();
+            profile.addSocialAccount(AthleteSocialAccount.builder()
+                    .platform(SocialPlatform.INSTAGRAM).handle("@athlete" + i).followers(1000L * i).build());
+            profile.addSocialAccount(AthleteSocialAccount.builder()
+                    .platform(SocialPlatform.TIKTOK).handle("@athlete" + i).followers(500L * i).build());
+            profile.addMedia(AthleteMedia.builder()
+                    .mediaType(MediaType.HEADSHOT).url("https://cdn.example.com/" + i + ".jpg").isPrimary(true).build());
+            entityManager.persist(profile);
+            profileIds.add(profile.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listPageCostIsIndependentOfPageSize() {
+        long small = statementsFor(() -> athleteService.getAllProfiles(PageRequest.of(0, 5)).getContent());
+        long large = statementsFor(() -> athleteService.getAllProfiles(PageRequest.of(0, 20)).getContent());
+
+        // Page, count, then one batch each for social accounts and media
+        assertThat(large).isLessThanOrEqualTo(4).isEqualTo(small);
+    }
+
+    @Test
+    void detailIsLoadedInBoundedStatements() {
+        long statements = statementsFor(() -> athleteService.getProfile(profileIds.get(0)));
+
+        // Read model lookup (no row yet), profile with user, preferences and social accounts, then media
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+
+    private long statementsFor(Runnable read) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
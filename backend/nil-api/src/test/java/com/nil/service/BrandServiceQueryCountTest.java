@@ -0,0 +1,105 @@
+package com.nil.service;
+
+import com.nil.entity.BrandProfile;
+import com.nil.entity.BrandSocialAccount;
+import com.nil.entity.User;
+import com.nil.entity.enums.SocialPlatform;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements issued by the brand list and detail reads. Each test runs in one transaction,
+ * standing in for the request-scoped session the controllers run with.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(BrandService.class)
+class BrandServiceQueryCountTest {
+
+    @Autowired
+    private BrandService brandService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ClerkUserService clerkUserService;
+
+    @MockBean
+    private UserSyncTracker userSyncTracker;
+
+    @MockBean
+    private UserSyncQueue userSyncQueue;
+
+    private final List<UUID> profileIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 25; i++) {
+            User user = User.builder()
+                    .clerkId("user_" + i)
+                    .email("brand" + i + "@example.com")
+                    .build();
+            entityManager.persist(user);
+
+            BrandProfile profile = BrandProfile.builder()
+                    .user(user)
+                    .companyName("Brand " + i)
+                    .build();
+            BrandSocialAccount account = BrandSocialAccount.builder()
+                    .brandProfile(profile)
+                    .platform(SocialPlatform.INSTAGRAM)
+                    .handle("@brand" + i)
+                    .build();
+            profile.setSocialAccounts(new ArrayList<>(List.of(account)));
+            entityManager.persist(profile);
+            profileIds.add(profile.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listPageCostIsIndependentOfPageSize() {
+        long small = statementsFor(() -> brandService.getAllProfiles(PageRequest.of(0, 5)).getContent());
+        long large = statementsFor(() -> brandService.getAllProfiles(PageRequest.of(0, 20)).getContent());
+
+        // Page, count, then one batch for social accounts
+        assertThat(large).isLessThanOrEqualTo(3).isEqualTo(small);
+    }
+
+    @Test
+    void detailIsLoadedInOneStatement() {
+        long statements = statementsFor(() -> brandService.getProfile(profileIds.get(0)));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    private long statementsFor(Runnable read) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+}